@@ -0,0 +1,133 @@
+package petitus.petcareplus.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import vn.payos.PayOS;
+import vn.payos.type.CheckoutResponseData;
+import vn.payos.type.PaymentData;
+import vn.payos.type.PaymentLinkData;
+import vn.payos.type.Webhook;
+import vn.payos.type.WebhookData;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for the PayOS API, enabled with {@code payos.local-stub.enabled=true}.
+ * Keeps payment links in memory, answers with a configurable latency and skips signature checks,
+ * so payment flows can run locally and in tests without reaching api-merchant.payos.vn.
+ */
+@Slf4j
+public class LocalPayOS extends PayOS {
+
+    private final Map<Long, PaymentLinkData> paymentLinks = new ConcurrentHashMap<>();
+    private final String defaultStatus;
+    private final long latencyMs;
+
+    public LocalPayOS(String clientId, String apiKey, String checksumKey, String defaultStatus, long latencyMs) {
+        super(clientId, apiKey, checksumKey);
+        this.defaultStatus = defaultStatus;
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public CheckoutResponseData createPaymentLink(PaymentData paymentData) throws Exception {
+        simulateLatency();
+
+        String paymentLinkId = UUID.randomUUID().toString().replace("-", "");
+        paymentLinks.put(paymentData.getOrderCode(), PaymentLinkData.builder()
+                .id(paymentLinkId)
+                .orderCode(paymentData.getOrderCode())
+                .amount(paymentData.getAmount())
+                .amountPaid(0)
+                .amountRemaining(paymentData.getAmount())
+                .status("PENDING")
+                .createdAt(OffsetDateTime.now().toString())
+                .build());
+
+        return CheckoutResponseData.builder()
+                .bin("970422")
+                .accountNumber("0000000000")
+                .accountName("PETCAREPLUS STUB")
+                .paymentLinkId(paymentLinkId)
+                .orderCode(paymentData.getOrderCode())
+                .amount(paymentData.getAmount())
+                .description(paymentData.getDescription())
+                .currency("VND")
+                .status("PENDING")
+                .checkoutUrl("http://localhost/payos-stub/" + paymentLinkId)
+                .qrCode("")
+                .build();
+    }
+
+    @Override
+    public PaymentLinkData getPaymentLinkInformation(Long orderCode) throws Exception {
+        simulateLatency();
+
+        PaymentLinkData paymentLink = paymentLinks.get(orderCode);
+        if (paymentLink != null) {
+            return paymentLink;
+        }
+
+        // Links created before startup are unknown to the stub
+        PaymentLinkData unknownLink = unknownLink(orderCode);
+        unknownLink.setStatus(defaultStatus);
+        return unknownLink;
+    }
+
+    @Override
+    public PaymentLinkData cancelPaymentLink(long orderCode, String cancellationReason) throws Exception {
+        simulateLatency();
+
+        PaymentLinkData paymentLink = paymentLinks.computeIfAbsent(orderCode, this::unknownLink);
+        paymentLink.setStatus("CANCELLED");
+        paymentLink.setCancellationReason(cancellationReason);
+        paymentLink.setCanceledAt(OffsetDateTime.now().toString());
+        return paymentLink;
+    }
+
+    @Override
+    public String confirmWebhook(String webhookUrl) {
+        return webhookUrl;
+    }
+
+    @Override
+    public WebhookData verifyPaymentWebhookData(Webhook webhookBody) throws Exception {
+        if (webhookBody.getData() == null) {
+            throw new IllegalArgumentException("Missing webhook data");
+        }
+        return webhookBody.getData();
+    }
+
+    /**
+     * Move a stored link to another PayOS status ("PAID", "CANCELLED", "EXPIRED", ...).
+     */
+    public void setStatus(long orderCode, String status) {
+        PaymentLinkData paymentLink = paymentLinks.computeIfAbsent(orderCode, this::unknownLink);
+        paymentLink.setStatus(status);
+        if ("PAID".equals(status) && paymentLink.getAmount() != null) {
+            paymentLink.setAmountPaid(paymentLink.getAmount());
+            paymentLink.setAmountRemaining(0);
+        }
+    }
+
+    // The SDK type requires every summary field, so links the stub never created get zero amounts
+    private PaymentLinkData unknownLink(long orderCode) {
+        return PaymentLinkData.builder()
+                .id("")
+                .orderCode(orderCode)
+                .amount(0)
+                .amountPaid(0)
+                .amountRemaining(0)
+                .status("PENDING")
+                .createdAt(OffsetDateTime.now().toString())
+                .build();
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import lombok.Data;
+import petitus.petcareplus.utils.OrderCodeGenerator;
 import vn.payos.PayOS;
 
 @Configuration
@@ -28,8 +29,29 @@ public class PayOSConfig {
     @Value("${payos.webhook-url}")
     private String webhookUrl;
 
+    @Value("${payos.local-stub.enabled:false}")
+    private boolean localStubEnabled;
+
+    @Value("${payos.local-stub.default-status:PENDING}")
+    private String localStubDefaultStatus;
+
+    @Value("${payos.local-stub.latency-ms:0}")
+    private long localStubLatencyMs;
+
+    // Distinct per running instance (0-31) so order codes never collide across nodes
+    @Value("${payos.order-code.node-id:0}")
+    private long orderCodeNodeId;
+
+    @Bean
+    public OrderCodeGenerator orderCodeGenerator() {
+        return new OrderCodeGenerator(orderCodeNodeId);
+    }
+
     @Bean
     public PayOS payOS() {
+        if (localStubEnabled) {
+            return new LocalPayOS(clientId, apiKey, checkSumKey, localStubDefaultStatus, localStubLatencyMs);
+        }
         return new PayOS(clientId, apiKey, checkSumKey);
     }
 }
@@ -0,0 +1,32 @@
+package petitus.petcareplus.configuration;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String OUTBOX_SCHEDULER = "outboxScheduler";
+
+    // Shared scheduler for @Scheduled jobs, sized by spring.task.scheduling.*; declared because a second
+    // TaskScheduler bean turns off Boot's default one
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    // The outbox dispatcher waits for each batch, so it polls on its own thread instead of holding one of
+    // the shared ones
+    @Bean(OUTBOX_SCHEDULER)
+    public ThreadPoolTaskScheduler outboxScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("outbox-poller-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+}
@@ -18,4 +18,10 @@ public class WalletConfig {
 
     @Value("${wallet.withdrawal.max-fee}")
     private BigDecimal maxFee;
+
+    @Value("${wallet.withdrawal.daily-limit:10000000}")
+    private BigDecimal dailyLimit;
+
+    @Value("${wallet.withdrawal.monthly-limit:100000000}")
+    private BigDecimal monthlyLimit;
 }
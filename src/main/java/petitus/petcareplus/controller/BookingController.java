@@ -5,21 +5,32 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import petitus.petcareplus.dto.request.booking.BookingRequest;
 import petitus.petcareplus.dto.request.booking.BookingStatusUpdateRequest;
 import petitus.petcareplus.dto.response.StandardPaginationResponse;
 import petitus.petcareplus.dto.response.booking.BookingResponse;
+import petitus.petcareplus.dto.response.booking.BookingSyncResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
 import petitus.petcareplus.security.jwt.JwtUserDetails;
 import petitus.petcareplus.service.BookingService;
+import petitus.petcareplus.service.IdempotencyService;
 import petitus.petcareplus.service.MessageSourceService;
 import petitus.petcareplus.utils.enums.BookingStatus;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -30,15 +41,23 @@ public class BookingController {
 
         private final BookingService bookingService;
         private final MessageSourceService messageSourceService;
+        private final IdempotencyService idempotencyService;
+
+        private static final int MAX_SYNC_LIMIT = 500;
+        private static final int MAX_CALENDAR_RANGE_DAYS = 366;
 
         @PostMapping
         @PreAuthorize("hasAuthority('USER')")
-        @Operation(summary = "Create a new booking", description = "Creates a new booking for a service provider")
+        @Operation(summary = "Create a new booking", description = "Creates a new booking for a service provider. "
+                        + "Retries sent with the same Idempotency-Key replay the first response")
         public ResponseEntity<BookingResponse> createBooking(
                         @AuthenticationPrincipal JwtUserDetails userDetails,
+                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                         @Valid @RequestBody BookingRequest request) {
 
-                BookingResponse response = bookingService.createBooking(userDetails.getId(), request);
+                BookingResponse response = idempotencyService.execute("booking", userDetails.getId(),
+                                idempotencyKey, request, BookingResponse.class,
+                                () -> bookingService.createBooking(userDetails.getId(), request));
                 return ResponseEntity.status(HttpStatus.CREATED).body(response);
         }
 
@@ -180,4 +199,46 @@ public class BookingController {
                                 bookings.getContent());
                 return ResponseEntity.ok(response);
         }
+
+        @GetMapping("/provider/sync")
+        @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
+        @Operation(summary = "Sync provider's bookings", description = "Get bookings changed since the given sync token. "
+                        + "Omit the token for a full sync, then pass back the returned token to receive only deltas")
+        public ResponseEntity<BookingSyncResponse> syncProviderBookings(
+                        @AuthenticationPrincipal JwtUserDetails userDetails,
+                        @RequestParam(required = false) String syncToken,
+                        @RequestParam(defaultValue = "100") Integer limit) {
+
+                if (limit < 1 || limit > MAX_SYNC_LIMIT) {
+                        throw new BadRequestException(messageSourceService.get("invalid_page_size"));
+                }
+
+                BookingSyncResponse response = bookingService.getProviderBookingChanges(userDetails.getId(), syncToken,
+                                limit);
+                return ResponseEntity.ok(response);
+        }
+
+        @GetMapping(value = "/provider/calendar.ics", produces = "text/calendar")
+        @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
+        @Operation(summary = "Export provider's calendar", description = "Stream the provider's bookings in a date range as an iCalendar file")
+        public ResponseEntity<StreamingResponseBody> exportProviderCalendar(
+                        @AuthenticationPrincipal JwtUserDetails userDetails,
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+                if (!from.isBefore(to) || from.plusDays(MAX_CALENDAR_RANGE_DAYS).isBefore(to)) {
+                        throw new BadRequestException(messageSourceService.get("invalid_calendar_range"));
+                }
+
+                UUID providerId = userDetails.getId();
+                StreamingResponseBody body = outputStream -> {
+                        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                        bookingService.writeProviderCalendar(providerId, from, to, writer);
+                };
+
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ics\"")
+                                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                                .body(body);
+        }
 }
\ No newline at end of file
@@ -9,7 +9,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import petitus.petcareplus.dto.request.notification.NotificationRequest;
+import petitus.petcareplus.dto.response.notification.NotificationPageResponse;
 import petitus.petcareplus.dto.response.notification.NotificationResponse;
+import petitus.petcareplus.dto.response.notification.UnreadNotificationCountResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.service.MessageSourceService;
 import petitus.petcareplus.service.NotificationService;
 
 import java.util.List;
@@ -21,7 +25,10 @@ import java.util.UUID;
 @Tag(name = "Notifications", description = "Các API quản lý thông báo")
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationService notificationService;
+    private final MessageSourceService messageSourceService;
 
     @PostMapping
     @Operation(summary = "Push Notification", description = "Gửi thông báo mới", security = @SecurityRequirement(name = "bearerAuth"))
@@ -35,6 +42,24 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getAllNotifications());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get notifications page", description = "Lấy danh sách thông báo theo trang, mới nhất trước; truyền nextCursor để tải trang tiếp theo", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<NotificationPageResponse> getNotificationPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException(messageSourceService.get("invalid_page_size"));
+        }
+
+        return ResponseEntity.ok(notificationService.getNotificationPage(cursor, limit));
+    }
+
+    @GetMapping("/unread-count")
+    @Operation(summary = "Get unread count", description = "Lấy số thông báo chưa đọc", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<UnreadNotificationCountResponse> getUnreadCount() {
+        return ResponseEntity.ok(notificationService.getUnreadCount());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a notifications", description = "Lấy chi tiết thông báo", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<NotificationResponse> getNotification(@PathVariable @Valid UUID id)  {
@@ -48,6 +73,13 @@ public class NotificationController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/read-all")
+    @Operation(summary = "Mark all as read", description = "Đánh dấu tất cả đã đọc")
+    public ResponseEntity<Void> markAllAsRead() {
+        notificationService.markAllAsRead();
+        return ResponseEntity.ok().build();
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete notification", description = "Xóa thông báo")
     public ResponseEntity<NotificationResponse> deleteNotification(@PathVariable @Valid UUID id) {
@@ -11,8 +11,13 @@ import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import petitus.petcareplus.dto.request.payment.CreatePayOSPaymentRequest;
+import petitus.petcareplus.dto.response.payment.PaymentStatusResponse;
 import petitus.petcareplus.dto.response.payment.PaymentUrlResponse;
+import petitus.petcareplus.service.IdempotencyService;
 import petitus.petcareplus.service.PayOSPaymentService;
+import petitus.petcareplus.service.PayOSWebhookInboxService;
+import petitus.petcareplus.service.PaymentStatusService;
+import petitus.petcareplus.service.UserService;
 import vn.payos.type.Webhook;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -25,15 +30,22 @@ import jakarta.validation.Valid;
 public class PayOSPaymentController {
 
     private final PayOSPaymentService payOSPaymentService;
+    private final PayOSWebhookInboxService payOSWebhookInboxService;
+    private final PaymentStatusService paymentStatusService;
+    private final IdempotencyService idempotencyService;
+    private final UserService userService;
 
     @PostMapping("/create")
     public ResponseEntity<PaymentUrlResponse> createPayOSPayment(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreatePayOSPaymentRequest request) {
 
         log.info("Creating PayOS payment for booking: {}, amount: {}",
                 request.getBookingId(), request.getAmount());
 
-        PaymentUrlResponse response = payOSPaymentService.createPayOSPayment(request);
+        PaymentUrlResponse response = idempotencyService.execute("payos_payment", userService.getCurrentUserId(),
+                idempotencyKey, request, PaymentUrlResponse.class,
+                () -> payOSPaymentService.createPayOSPayment(request));
         return ResponseEntity.ok(response);
     }
 
@@ -49,7 +61,8 @@ public class PayOSPaymentController {
         try {
             log.info("PayOS webhook received");
 
-            payOSPaymentService.handlePayOSWebhook(webhookBody);
+            // Verified and stored only; the inbox workers apply it to the payment
+            payOSWebhookInboxService.ingest(webhookBody);
             return ResponseEntity.ok("OK");
 
         } catch (Exception e) {
@@ -74,6 +87,12 @@ public class PayOSPaymentController {
         }
     }
 
+    @GetMapping("/status/{orderCode}")
+    public ResponseEntity<PaymentStatusResponse> getPaymentStatus(@PathVariable String orderCode) {
+        // Served from cache, cheap enough for return pages and apps to poll
+        return ResponseEntity.ok(paymentStatusService.getPaymentStatus(orderCode));
+    }
+
     @GetMapping("/info/{orderCode}")
     public ResponseEntity<?> getPaymentInfo(@PathVariable String orderCode) {
         try {
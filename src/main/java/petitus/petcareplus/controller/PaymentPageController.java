@@ -96,6 +96,11 @@ public class PaymentPageController {
                         // Get payment details from your PayOS service
                         PaymentLinkData paymentLinkData = payOSPaymentService.getPaymentLinkInfo(orderCode);
 
+                        // Prefer the live status so a reload after polling shows the settled page
+                        if (paymentLinkData.getStatus() != null) {
+                                status = paymentLinkData.getStatus();
+                        }
+
                         // For now, using the params directly
                         model.addAttribute("id", paymentLinkId);
                         model.addAttribute("orderCode", orderCode);
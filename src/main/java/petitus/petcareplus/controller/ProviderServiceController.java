@@ -12,13 +12,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import petitus.petcareplus.controller.annotation.ConditionalGet;
 import petitus.petcareplus.dto.request.service.ProviderServicePatchRequest;
 import petitus.petcareplus.dto.request.service.ProviderServiceRequest;
 import petitus.petcareplus.dto.response.StandardPaginationResponse;
 import petitus.petcareplus.dto.response.service.ProviderServiceResponse;
+import petitus.petcareplus.dto.response.service.ProviderServiceSearchResponse;
+import petitus.petcareplus.dto.response.service.RecommendedProviderServiceResponse;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
 import petitus.petcareplus.model.spec.criteria.ProviderServiceCriteria;
 import petitus.petcareplus.security.jwt.JwtUserDetails;
+import petitus.petcareplus.service.ProviderRecommendationService;
+import petitus.petcareplus.service.ProviderSearchService;
 import petitus.petcareplus.service.ProviderServiceService;
 
 import java.math.BigDecimal;
@@ -32,8 +37,11 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class ProviderServiceController {
         private final ProviderServiceService providerServiceService;
+        private final ProviderSearchService providerSearchService;
+        private final ProviderRecommendationService providerRecommendationService;
 
         @GetMapping
+        @ConditionalGet
         @Operation(summary = "Get all provider services with pagination and filtering")
         public ResponseEntity<StandardPaginationResponse<ProviderServiceResponse>> getAllProviderServices(
                         // Search & Filter parameters
@@ -73,8 +81,8 @@ public class ProviderServiceController {
                                 .size(size)
                                 .sortBy(sortBy)
                                 .sort(sort)
-                                .columns(new String[] { "customPrice", "createdAt", "updatedAt" }) // Allowed sort
-                                                                                                   // columns
+                                .columns(new String[] { "customPrice", "rating", "createdAt", "updatedAt" }) // Allowed
+                                                                                                             // sort columns
                                 .build();
 
                 Page<ProviderServiceResponse> pageResult = providerServiceService.getAllProviderServices(criteria,
@@ -93,7 +101,41 @@ public class ProviderServiceController {
         // return ResponseEntity.ok(providerServiceService.getAllProviderServices());
         // }
 
+        @GetMapping("/search")
+        @Operation(summary = "Search provider services", description = "Accent-insensitive full-text search over business, provider and service names, ranked by relevance")
+        public ResponseEntity<StandardPaginationResponse<ProviderServiceSearchResponse>> searchProviderServices(
+                        @RequestParam String q,
+                        @RequestParam(required = false) Double minRating,
+                        @RequestParam(required = false) BigDecimal minPrice,
+                        @RequestParam(required = false) BigDecimal maxPrice,
+
+                        @RequestParam(defaultValue = "1") Integer page,
+                        @RequestParam(defaultValue = "10") Integer size) {
+
+                PaginationCriteria pagination = PaginationCriteria.builder()
+                                .page(page)
+                                .size(size)
+                                .build();
+
+                Page<ProviderServiceSearchResponse> pageResult = providerSearchService.search(q, minRating, minPrice,
+                                maxPrice, pagination);
+
+                return ResponseEntity.ok(new StandardPaginationResponse<>(pageResult, pageResult.getContent()));
+        }
+
+        @GetMapping("/recommended")
+        @ConditionalGet
+        @Operation(summary = "Get recommended provider services", description = "Top provider services for a service, an area (from lat/lon) or both, ranked by precomputed score")
+        public ResponseEntity<List<RecommendedProviderServiceResponse>> getRecommendedProviderServices(
+                        @RequestParam(required = false) UUID serviceId,
+                        @RequestParam(required = false) Double lat,
+                        @RequestParam(required = false) Double lon,
+                        @RequestParam(defaultValue = "10") int limit) {
+                return ResponseEntity.ok(providerRecommendationService.getRecommendations(serviceId, lat, lon, limit));
+        }
+
         @GetMapping("/{id}")
+        @ConditionalGet
         @Operation(summary = "Get a provider service by ID")
         public ResponseEntity<ProviderServiceResponse> getProviderServiceById(@PathVariable UUID id) {
                 return ResponseEntity.ok(providerServiceService.getProviderServiceById(id));
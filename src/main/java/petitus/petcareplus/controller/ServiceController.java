@@ -1,19 +1,28 @@
 package petitus.petcareplus.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import petitus.petcareplus.controller.annotation.ConditionalGet;
 import petitus.petcareplus.dto.response.service.ServiceResponse;
 import petitus.petcareplus.dto.response.service.ServiceResponseForProvider;
 import petitus.petcareplus.model.spec.criteria.ServiceCriteria;
 import petitus.petcareplus.security.jwt.JwtUserDetails;
+import petitus.petcareplus.service.ServiceCatalogCache;
 import petitus.petcareplus.service.ServiceService;
 
 import java.math.BigDecimal;
@@ -28,14 +37,26 @@ import java.util.UUID;
 public class ServiceController {
     private final ServiceService serviceService;
 
-    @GetMapping
-    @Operation(summary = "Get all default services")
-    public ResponseEntity<List<ServiceResponse>> getAllServices() {
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get all default services", responses = @ApiResponse(responseCode = "200",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ServiceResponse.class)))))
+    public ResponseEntity<byte[]> getAllServices(WebRequest request) {
+        ServiceCatalogCache.Snapshot catalog = serviceService.getCatalog();
 
-        return ResponseEntity.ok(serviceService.getAllServices());
+        // Clients holding the current catalog skip the download entirely
+        if (request.checkNotModified(catalog.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
     }
 
     @GetMapping("/for-current-provider")
+    @ConditionalGet
     @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
     @Operation(summary = "Get all services for current provider with availability status")
     public ResponseEntity<List<ServiceResponseForProvider>> getAllServicesForProvider(
@@ -8,8 +8,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import petitus.petcareplus.controller.annotation.ConditionalGet;
 import petitus.petcareplus.dto.request.profile.ServiceProviderProfileRequest;
 import petitus.petcareplus.dto.response.SuccessResponse;
+import petitus.petcareplus.dto.response.profile.NearbyProviderResponse;
 import petitus.petcareplus.dto.response.profile.ProfilePaginationResponse;
 import petitus.petcareplus.dto.response.profile.ServiceProviderProfileResponse;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
@@ -17,7 +19,6 @@ import petitus.petcareplus.model.spec.criteria.ServiceProviderProfileCriteria;
 import petitus.petcareplus.model.profile.ServiceProviderProfile;
 import petitus.petcareplus.service.MessageSourceService;
 import petitus.petcareplus.service.ServiceProviderProfileService;
-import petitus.petcareplus.service.ServiceReviewService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,7 +32,6 @@ public class ServiceProviderProfileController extends BaseController {
 
     private final String[] SORT_COLUMNS = new String[]{"id", "rating", "businessName", "businessAddress", "createdAt", "updatedAt", "deletedAt", "reviews"};
     private final ServiceProviderProfileService serviceProviderProfileService;
-    private final ServiceReviewService serviceReviewService;
     private final MessageSourceService messageSourceService;
 
     @PostMapping
@@ -63,6 +63,7 @@ public class ServiceProviderProfileController extends BaseController {
     }
 
     @GetMapping
+    @ConditionalGet
     @Operation(tags = {"Service Provider Profile"}, summary = "Get all service provider profiles", description = "API để lấy danh sách tất cả service provider profile")
     public ResponseEntity<ProfilePaginationResponse<ServiceProviderProfileResponse>> list(
             @RequestParam(required = false) final String query,
@@ -121,15 +122,29 @@ public class ServiceProviderProfileController extends BaseController {
                         .build());
 
         return ResponseEntity.ok(new ProfilePaginationResponse<>(serviceProviderProfiles, serviceProviderProfiles.getContent().stream()
-                .map(profile -> {
-                    UUID providerId = profile.getProfile().getUser().getId();
-                    Long reviewCount = serviceReviewService.getProviderReviewCount(providerId);
-                    return ServiceProviderProfileResponse.convert(profile, reviewCount.intValue());
-                })
+                .map(profile -> ServiceProviderProfileResponse.convert(profile, profile.getRatingCount().intValue()))
                 .toList()));
     }
 
+    @GetMapping("/nearby")
+    @Operation(
+            tags = {"Service Provider Profile"},
+            summary = "Find nearby service providers",
+            description = "API để tìm nhà cung cấp dịch vụ gần một vị trí, sắp xếp theo khoảng cách"
+    )
+    public ResponseEntity<List<NearbyProviderResponse>> getNearbyServiceProviders(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) UUID serviceId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(serviceProviderProfileService.findNearby(lat, lon, radiusKm, minRating, serviceId,
+                limit));
+    }
+
     @GetMapping("/{id}")
+    @ConditionalGet
     @Operation(
             tags = {"Service Provider Profile"},
             summary = "Get service provider profile by ID",
@@ -140,9 +155,8 @@ public class ServiceProviderProfileController extends BaseController {
         if (serviceProviderProfile == null) {
             throw new RuntimeException(messageSourceService.get("service_provider_profile_not_found"));
         }
-        UUID providerId = serviceProviderProfile.getProfile().getUser().getId();
-        Long reviewCount = serviceReviewService.getProviderReviewCount(providerId);
-        return ResponseEntity.ok(ServiceProviderProfileResponse.convert(serviceProviderProfile, reviewCount.intValue()));
+        return ResponseEntity.ok(ServiceProviderProfileResponse.convert(serviceProviderProfile,
+                serviceProviderProfile.getRatingCount().intValue()));
     }
 
     @GetMapping("/me")
@@ -156,8 +170,7 @@ public class ServiceProviderProfileController extends BaseController {
         if (serviceProviderProfile == null) {
             throw new RuntimeException(messageSourceService.get("service_provider_profile_not_found"));
         }
-        UUID providerId = serviceProviderProfile.getProfile().getUser().getId();
-        Long reviewCount = serviceReviewService.getProviderReviewCount(providerId);
-        return ResponseEntity.ok(ServiceProviderProfileResponse.convert(serviceProviderProfile, reviewCount.intValue()));
+        return ResponseEntity.ok(ServiceProviderProfileResponse.convert(serviceProviderProfile,
+                serviceProviderProfile.getRatingCount().intValue()));
     }
 } 
@@ -14,10 +14,13 @@ import org.springframework.web.bind.annotation.*;
 import petitus.petcareplus.dto.request.review.ServiceReviewRequest;
 import petitus.petcareplus.dto.request.review.ServiceReviewUpdateRequest;
 import petitus.petcareplus.dto.response.StandardPaginationResponse;
+import petitus.petcareplus.dto.response.review.ReviewSummaryResponse;
 import petitus.petcareplus.dto.response.review.ServiceReviewResponse;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
 import petitus.petcareplus.model.spec.criteria.ServiceReviewCriteria;
+import petitus.petcareplus.service.ReviewSummaryService;
 import petitus.petcareplus.service.ServiceReviewService;
+import petitus.petcareplus.utils.enums.ReviewSummaryScope;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -30,6 +33,7 @@ import java.util.UUID;
 public class ServiceReviewController {
 
     private final ServiceReviewService serviceReviewService;
+    private final ReviewSummaryService reviewSummaryService;
 
     @PostMapping
     @PreAuthorize("hasAuthority('USER')")
@@ -165,4 +169,18 @@ public class ServiceReviewController {
         Double averageRating = serviceReviewService.getProviderAverageRating(providerId);
         return ResponseEntity.ok(averageRating);
     }
+
+    @GetMapping("/provider/{providerId}/summary")
+    @Operation(summary = "Get provider review summary", description = "Review count, average rating, star histogram and latest review ids for a service provider")
+    public ResponseEntity<ReviewSummaryResponse> getProviderReviewSummary(@PathVariable UUID providerId) {
+        return ResponseEntity.ok(reviewSummaryService.getSummary(ReviewSummaryScope.PROVIDER, providerId));
+    }
+
+    @GetMapping("/provider-services/{providerServiceId}/summary")
+    @Operation(summary = "Get provider service review summary", description = "Review count, average rating, star histogram and latest review ids for a provider service")
+    public ResponseEntity<ReviewSummaryResponse> getProviderServiceReviewSummary(
+            @PathVariable UUID providerServiceId) {
+        return ResponseEntity.ok(reviewSummaryService.getSummary(ReviewSummaryScope.PROVIDER_SERVICE,
+                providerServiceId));
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import petitus.petcareplus.controller.annotation.ConditionalGet;
 import petitus.petcareplus.dto.response.terms.TermsResponse;
 import petitus.petcareplus.service.TermsService;
 import petitus.petcareplus.utils.enums.TermsType;
@@ -21,6 +22,7 @@ public class TermsController {
     private final TermsService termsService;
 
     @GetMapping("/{type}")
+    @ConditionalGet(strategy = ConditionalGet.Strategy.VERSION, maxAge = 300, publicCache = true)
     @Operation(summary = "Get terms by type", description = "Get terms and conditions by type and language")
     public ResponseEntity<TermsResponse> getTermsByType(
             @Parameter(description = "Type of terms", example = "USER_TERMS") @PathVariable TermsType type,
@@ -31,6 +33,7 @@ public class TermsController {
     }
 
     @GetMapping
+    @ConditionalGet(strategy = ConditionalGet.Strategy.VERSION, maxAge = 300, publicCache = true)
     @Operation(summary = "Get all terms", description = "Get all terms and conditions for a specific language")
     public ResponseEntity<List<TermsResponse>> getAllTerms(
             @Parameter(description = "Language code", example = "vi") @RequestParam(defaultValue = "vi") String language) {
@@ -40,6 +43,7 @@ public class TermsController {
     }
 
     @GetMapping("/all-languages")
+    @ConditionalGet(strategy = ConditionalGet.Strategy.VERSION, maxAge = 300, publicCache = true)
     @Operation(summary = "Get all terms (all languages)", description = "Get all terms and conditions for all languages")
     public ResponseEntity<List<TermsResponse>> getAllTermsAllLanguages() {
         List<TermsResponse> terms = termsService.getAllTermsAllLanguages();
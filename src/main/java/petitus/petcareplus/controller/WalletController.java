@@ -1,19 +1,28 @@
 package petitus.petcareplus.controller;
 
+import java.time.YearMonth;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import petitus.petcareplus.dto.response.wallet.WalletResponse;
+import petitus.petcareplus.dto.response.wallet.WalletStatementResponse;
+import petitus.petcareplus.dto.response.wallet.WalletTransactionPageResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.security.jwt.JwtUserDetails;
+import petitus.petcareplus.service.MessageSourceService;
 import petitus.petcareplus.service.WalletService;
 
 @RestController
@@ -22,7 +31,10 @@ import petitus.petcareplus.service.WalletService;
 @Tag(name = "Wallets", description = "APIs for managing wallets")
 public class WalletController {
 
+    private static final int MAX_TRANSACTION_PAGE_SIZE = 100;
+
     private final WalletService walletService;
+    private final MessageSourceService messageSourceService;
 
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
@@ -33,6 +45,30 @@ public class WalletController {
         return ResponseEntity.ok(walletResponse);
     }
 
+    @GetMapping("/me/transactions")
+    @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
+    @Operation(summary = "Get my wallet transactions", description = "Newest first, with running balance; pass nextCursor to load the next page")
+    public ResponseEntity<WalletTransactionPageResponse> getMyWalletTransactions(
+            @AuthenticationPrincipal JwtUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer limit) {
+
+        if (limit < 1 || limit > MAX_TRANSACTION_PAGE_SIZE) {
+            throw new BadRequestException(messageSourceService.get("invalid_page_size"));
+        }
+
+        return ResponseEntity.ok(walletService.getWalletTransactionPage(userDetails.getId(), cursor, limit));
+    }
+
+    @GetMapping("/me/statements/{month}")
+    @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
+    @Operation(summary = "Get my monthly statement", description = "Opening/closing balance and totals for a month (yyyy-MM)")
+    public ResponseEntity<WalletStatementResponse> getMyMonthlyStatement(
+            @AuthenticationPrincipal JwtUserDetails userDetails,
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(walletService.getMonthlyStatement(userDetails.getId(), month));
+    }
+
     @PostMapping("/me")
     @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
     @Operation(summary = "Create my wallet", description = "Create a wallet for the current user")
@@ -20,6 +20,7 @@ import petitus.petcareplus.dto.request.wallet.WithdrawalRequest;
 import petitus.petcareplus.dto.response.StandardPaginationResponse;
 import petitus.petcareplus.dto.response.wallet.WithdrawalResponse;
 import petitus.petcareplus.security.jwt.JwtUserDetails;
+import petitus.petcareplus.service.IdempotencyService;
 import petitus.petcareplus.service.WithdrawalService;
 
 @RestController
@@ -30,15 +31,19 @@ import petitus.petcareplus.service.WithdrawalService;
 public class WithdrawalController {
 
     private final WithdrawalService withdrawalService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @PreAuthorize("hasAuthority('SERVICE_PROVIDER')")
     @Operation(summary = "Create withdrawal request", description = "Create a new withdrawal request for service provider")
     public ResponseEntity<WithdrawalResponse> createWithdrawalRequest(
             @AuthenticationPrincipal JwtUserDetails userDetails,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody WithdrawalRequest request) {
 
-        WithdrawalResponse response = withdrawalService.createWithdrawalRequest(userDetails.getId(), request);
+        WithdrawalResponse response = idempotencyService.execute("withdrawal", userDetails.getId(), idempotencyKey,
+                request, WithdrawalResponse.class,
+                () -> withdrawalService.createWithdrawalRequest(userDetails.getId(), request));
         return ResponseEntity.ok(response);
     }
 
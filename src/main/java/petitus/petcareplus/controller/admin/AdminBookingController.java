@@ -1,8 +1,11 @@
 package petitus.petcareplus.controller.admin;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -21,6 +25,7 @@ import petitus.petcareplus.model.spec.criteria.BookingCriteria;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
 import petitus.petcareplus.service.BookingService;
 import petitus.petcareplus.utils.enums.BookingStatus;
+import petitus.petcareplus.utils.enums.ExportFormat;
 import petitus.petcareplus.utils.enums.PaymentStatus;
 
 @RestController
@@ -79,6 +84,42 @@ public class AdminBookingController {
                 return ResponseEntity.ok(response);
         }
 
+        @GetMapping("/export")
+        @Operation(summary = "Export bookings", description = "Stream all bookings matching the filters as CSV or NDJSON")
+        public ResponseEntity<StreamingResponseBody> exportBookings(
+                        @RequestParam(required = false) String query,
+                        @RequestParam(required = false) BookingStatus status,
+                        @RequestParam(required = false) PaymentStatus paymentStatus,
+                        @RequestParam(required = false) UUID userId,
+                        @RequestParam(required = false) UUID providerId,
+                        @RequestParam(required = false) Boolean isDeleted,
+                        @RequestParam(required = false) String mail,
+                        @RequestParam(defaultValue = "CSV") ExportFormat format) {
+
+                BookingCriteria criteria = BookingCriteria.builder()
+                                .query(query)
+                                .status(status)
+                                .paymentStatus(paymentStatus)
+                                .userId(userId)
+                                .providerId(providerId)
+                                .isDeleted(isDeleted)
+                                .mail(mail)
+                                .build();
+
+                StreamingResponseBody body = outputStream -> bookingService.exportBookingsForAdmin(criteria, format,
+                                outputStream);
+
+                MediaType contentType = format == ExportFormat.NDJSON
+                                ? new MediaType("application", "x-ndjson", StandardCharsets.UTF_8)
+                                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+                String filename = "bookings." + format.name().toLowerCase();
+
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                                .contentType(contentType)
+                                .body(body);
+        }
+
         @GetMapping("/{id}")
         @Operation(summary = "Get booking by ID")
         public ResponseEntity<AdminBookingResponse> getBookingById(@PathVariable UUID id) {
@@ -0,0 +1,30 @@
+package petitus.petcareplus.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import petitus.petcareplus.dto.response.payment.PaymentReconciliationResponse;
+import petitus.petcareplus.service.PaymentReconciliationService;
+
+@RestController
+@RequestMapping("/admin/payments")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Admin - Payments", description = "Admin APIs for managing payments")
+public class AdminPaymentController {
+
+    private final PaymentReconciliationService paymentReconciliationService;
+
+    @PostMapping("/reconcile")
+    @Operation(summary = "Reconcile stale payments", description = "Poll PayOS for stale PENDING payments and apply their final status")
+    public ResponseEntity<PaymentReconciliationResponse> reconcilePayments() {
+        return ResponseEntity.ok(paymentReconciliationService.reconcileNow());
+    }
+}
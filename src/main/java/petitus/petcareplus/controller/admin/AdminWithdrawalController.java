@@ -3,12 +3,15 @@ package petitus.petcareplus.controller.admin;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import petitus.petcareplus.dto.request.wallet.BulkWithdrawalRequest;
 import petitus.petcareplus.dto.response.StandardPaginationResponse;
+import petitus.petcareplus.dto.response.wallet.BulkWithdrawalResponse;
 import petitus.petcareplus.dto.response.wallet.WithdrawalResponse;
 import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
@@ -101,6 +104,22 @@ public class AdminWithdrawalController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{withdrawalId}/fail")
+    @Operation(summary = "Fail withdrawal", description = "Mark an approved withdrawal as failed and refund the wallet")
+    public ResponseEntity<WithdrawalResponse> failWithdrawal(
+            @PathVariable UUID withdrawalId,
+            @RequestBody Map<String, String> request) {
+
+        String failureReason = request.get("failureReason");
+        if (failureReason == null || failureReason.trim().isEmpty()) {
+            throw new BadRequestException("Failure reason is required");
+        }
+
+        WithdrawalResponse response = withdrawalService.failWithdrawal(withdrawalId, failureReason);
+
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{withdrawalId}/complete")
     @Operation(summary = "Complete withdrawal", description = "Mark withdrawal as completed after bank transfer")
     public ResponseEntity<WithdrawalResponse> completeWithdrawal(
@@ -112,4 +131,28 @@ public class AdminWithdrawalController {
 
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/bulk/approve")
+    @Operation(summary = "Bulk approve withdrawals", description = "Approve pending withdrawals in chunks and report the result per withdrawal")
+    public ResponseEntity<BulkWithdrawalResponse> bulkApproveWithdrawals(
+            @RequestBody @Valid BulkWithdrawalRequest request) {
+
+        String adminNote = request.getNote() != null ? request.getNote() : "Approved by admin";
+        BulkWithdrawalResponse response = withdrawalService.bulkApproveWithdrawals(request.getWithdrawalIds(),
+                adminNote);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/bulk/complete")
+    @Operation(summary = "Bulk complete withdrawals", description = "Mark withdrawals as completed in chunks and report the result per withdrawal")
+    public ResponseEntity<BulkWithdrawalResponse> bulkCompleteWithdrawals(
+            @RequestBody @Valid BulkWithdrawalRequest request) {
+
+        String transactionNote = request.getNote() != null ? request.getNote() : "Bank transfer completed";
+        BulkWithdrawalResponse response = withdrawalService.bulkCompleteWithdrawals(request.getWithdrawalIds(),
+                transactionNote);
+
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
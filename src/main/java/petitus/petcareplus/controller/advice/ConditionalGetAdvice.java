@@ -0,0 +1,147 @@
+package petitus.petcareplus.controller.advice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import petitus.petcareplus.controller.annotation.ConditionalGet;
+import petitus.petcareplus.dto.response.Versioned;
+import petitus.petcareplus.utils.ETags;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link ConditionalGet}. The tag is computed from the handler's return value, so a 304 saves
+ * the response transfer and client work, not the handler's own queries; endpoints that can tell their
+ * version cheaply (the service catalog) check If-None-Match themselves before loading anything.
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ConditionalGetAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(ConditionalGet.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (body == null || !isSuccessfulGet(request, response)) {
+            return body;
+        }
+
+        ConditionalGet conditionalGet = returnType.getMethodAnnotation(ConditionalGet.class);
+        response.getHeaders().setCacheControl(cacheControl(conditionalGet));
+
+        // Handlers that already computed their own ETag are left alone
+        if (response.getHeaders().getETag() != null) {
+            return body;
+        }
+
+        String versions = conditionalGet.strategy() == ConditionalGet.Strategy.VERSION ? versions(body) : null;
+        Object payload = body;
+        String etag;
+        if (versions != null) {
+            etag = ETags.of(versions.getBytes(StandardCharsets.UTF_8));
+        } else {
+            String json = serialize(body);
+            if (json == null) {
+                return body;
+            }
+            etag = ETags.of(json.getBytes(StandardCharsets.UTF_8));
+            // Hand the hashed JSON to Jackson as is, so the body is serialized only once
+            if (AbstractJackson2HttpMessageConverter.class.isAssignableFrom(selectedConverterType)) {
+                payload = new RawValue(json);
+            }
+        }
+
+        response.getHeaders().setETag(etag);
+        if (matches(request.getHeaders().getIfNoneMatch(), etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+
+        return payload;
+    }
+
+    private boolean isSuccessfulGet(ServerHttpRequest request, ServerHttpResponse response) {
+        if (request.getMethod() != HttpMethod.GET && request.getMethod() != HttpMethod.HEAD) {
+            return false;
+        }
+        return !(response instanceof ServletServerHttpResponse servletResponse)
+                || servletResponse.getServletResponse().getStatus() == HttpStatus.OK.value();
+    }
+
+    private CacheControl cacheControl(ConditionalGet conditionalGet) {
+        CacheControl cacheControl = conditionalGet.maxAge() > 0
+                ? CacheControl.maxAge(conditionalGet.maxAge(), TimeUnit.SECONDS)
+                : CacheControl.noCache();
+        return conditionalGet.publicCache() ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            log.warn("Error hashing response body for ETag: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // id@updatedAt of every versioned item, or null when the body is not fully versioned
+    private static String versions(Object body) {
+        if (body instanceof Versioned versioned) {
+            return versioned.getId() + "@" + versioned.getUpdatedAt();
+        }
+
+        if (!(body instanceof Collection<?> items)) {
+            return null;
+        }
+
+        StringBuilder versions = new StringBuilder().append(items.size());
+        for (Object item : items) {
+            if (!(item instanceof Versioned versioned)) {
+                return null;
+            }
+            versions.append('|').append(versioned.getId()).append('@').append(versioned.getUpdatedAt());
+        }
+        return versions.toString();
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            // If-None-Match uses weak comparison
+            String tag = candidate.startsWith(WEAK_PREFIX) ? candidate.substring(WEAK_PREFIX.length()) : candidate;
+            if (etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package petitus.petcareplus.controller.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Adds a strong ETag and Cache-Control to a GET handler and answers a matching
+ * If-None-Match with 304 Not Modified. The handler still runs; the 304 only saves the body transfer.
+ */
+@Documented
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+    /**
+     * VERSION hashes id/updatedAt of {@link petitus.petcareplus.dto.response.Versioned} bodies without
+     * serializing them; other bodies fall back to CONTENT_HASH, which serializes the body once and
+     * writes that same JSON.
+     */
+    Strategy strategy() default Strategy.CONTENT_HASH;
+
+    /**
+     * Seconds a client may reuse the response without revalidating; 0 means always revalidate.
+     */
+    long maxAge() default 0;
+
+    boolean publicCache() default false;
+
+    enum Strategy {
+        VERSION,
+        CONTENT_HASH
+    }
+}
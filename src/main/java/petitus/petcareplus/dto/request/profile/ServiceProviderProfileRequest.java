@@ -19,6 +19,13 @@ public class ServiceProviderProfileRequest {
 
     private String businessAddress;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    // Removes the stored coordinates; omitting both coordinates leaves them as they are
+    private Boolean clearLocation;
+
     private String contactPhone;
 
     private String contactEmail;
@@ -0,0 +1,20 @@
+package petitus.petcareplus.dto.request.wallet;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkWithdrawalRequest {
+
+    @NotEmpty(message = "Withdrawal ids are required")
+    @Size(max = 500, message = "At most 500 withdrawals can be processed at once")
+    private List<@NotNull UUID> withdrawalIds;
+
+    @Size(max = 255, message = "Note must not exceed 255 characters")
+    private String note;
+}
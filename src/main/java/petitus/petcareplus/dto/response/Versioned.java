@@ -0,0 +1,13 @@
+package petitus.petcareplus.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response whose ETag can be derived from the row identity and last update time.
+ */
+public interface Versioned {
+    UUID getId();
+
+    LocalDateTime getUpdatedAt();
+}
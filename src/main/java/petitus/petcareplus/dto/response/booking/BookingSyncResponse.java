@@ -0,0 +1,20 @@
+package petitus.petcareplus.dto.response.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSyncResponse {
+    private List<BookingResponse> changed;
+    private List<UUID> deletedIds;
+    private String syncToken; // Pass back on the next call to receive only newer changes
+    private boolean hasMore;
+}
@@ -22,6 +22,7 @@ public class AdminNotificationResponse {
     private String message;
     private String title;
     private UUID relatedId;
+    private Integer messageCount;
     private Boolean isRead;
     private LocalDateTime createdAt;
     private LocalDateTime deletedAt;
@@ -0,0 +1,18 @@
+package petitus.petcareplus.dto.response.notification;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageResponse {
+    private List<NotificationResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
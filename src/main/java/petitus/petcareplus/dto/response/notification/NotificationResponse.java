@@ -19,6 +19,7 @@ public class NotificationResponse {
     private String message;
     private String title;
     private UUID relatedId;
+    private Integer messageCount;
     private Boolean isRead;
     private LocalDateTime createdAt;
     private LocalDateTime deletedAt;
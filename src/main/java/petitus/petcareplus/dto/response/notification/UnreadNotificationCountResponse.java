@@ -0,0 +1,14 @@
+package petitus.petcareplus.dto.response.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadNotificationCountResponse {
+    private long unreadCount;
+}
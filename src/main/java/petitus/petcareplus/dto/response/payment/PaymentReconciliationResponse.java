@@ -0,0 +1,23 @@
+package petitus.petcareplus.dto.response.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconciliationResponse {
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private int scanned;
+    private int completed;
+    private int cancelled;
+    private int failed;
+    private int stillPending;
+    private int errors;
+}
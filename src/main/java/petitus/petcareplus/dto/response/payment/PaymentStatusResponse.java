@@ -0,0 +1,17 @@
+package petitus.petcareplus.dto.response.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import petitus.petcareplus.utils.enums.PaymentStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+// Served without authentication to the PayOS return page, so it carries no payment details
+public class PaymentStatusResponse {
+    private String orderCode;
+    private PaymentStatus status;
+}
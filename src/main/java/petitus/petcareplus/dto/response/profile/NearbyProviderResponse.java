@@ -0,0 +1,25 @@
+package petitus.petcareplus.dto.response.profile;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyProviderResponse {
+    private UUID id;
+    private UUID providerId;
+    private String businessName;
+    private String businessAddress;
+    private String avatarUrl;
+    private Double rating;
+    private Long reviews;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
+}
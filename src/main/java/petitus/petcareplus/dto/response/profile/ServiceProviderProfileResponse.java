@@ -24,6 +24,10 @@ public class ServiceProviderProfileResponse {
 
     private String businessAddress;
 
+    private Double latitude;
+
+    private Double longitude;
+
     private String contactPhone;
 
     private String contactEmail;
@@ -51,6 +55,8 @@ public class ServiceProviderProfileResponse {
                 .businessName(serviceProviderProfile.getBusinessName())
                 .businessBio(serviceProviderProfile.getBusinessBio())
                 .businessAddress(serviceProviderProfile.getBusinessAddress())
+                .latitude(serviceProviderProfile.getLatitude())
+                .longitude(serviceProviderProfile.getLongitude())
                 .contactPhone(serviceProviderProfile.getContactPhone())
                 .contactEmail(serviceProviderProfile.getContactEmail())
                 .availableTime(serviceProviderProfile.getAvailableTime())
@@ -73,6 +79,8 @@ public class ServiceProviderProfileResponse {
                 .businessName(serviceProviderProfile.getBusinessName())
                 .businessBio(serviceProviderProfile.getBusinessBio())
                 .businessAddress(serviceProviderProfile.getBusinessAddress())
+                .latitude(serviceProviderProfile.getLatitude())
+                .longitude(serviceProviderProfile.getLongitude())
                 .contactPhone(serviceProviderProfile.getContactPhone())
                 .contactEmail(serviceProviderProfile.getContactEmail())
                 .availableTime(serviceProviderProfile.getAvailableTime())
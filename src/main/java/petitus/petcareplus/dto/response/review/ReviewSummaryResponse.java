@@ -0,0 +1,21 @@
+package petitus.petcareplus.dto.response.review;
+
+import lombok.*;
+import petitus.petcareplus.utils.enums.ReviewSummaryScope;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummaryResponse {
+    private ReviewSummaryScope scope;
+    private UUID subjectId;
+    private long reviewCount;
+    private double averageRating;
+    private Map<Integer, Long> histogram; // star rating -> number of reviews
+    private List<UUID> latestReviewIds; // newest first
+}
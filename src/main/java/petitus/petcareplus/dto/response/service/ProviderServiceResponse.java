@@ -19,6 +19,9 @@ public class ProviderServiceResponse {
     private UUID serviceId;
     private String serviceName;
     private String providerName;
+    private String providerAvatar;
+    private Double rating;
+    private Long reviewCount;
     private BigDecimal basePrice;
     private BigDecimal customPrice;
     private String customDescription;
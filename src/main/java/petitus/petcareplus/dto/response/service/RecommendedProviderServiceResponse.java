@@ -0,0 +1,27 @@
+package petitus.petcareplus.dto.response.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendedProviderServiceResponse {
+    private UUID providerServiceId;
+    private UUID providerId;
+    private UUID serviceId;
+    private String businessName;
+    private String providerName;
+    private String avatarUrl;
+    private String serviceName;
+    private BigDecimal price;
+    private Double rating;
+    private Long reviewCount;
+    private Double score;
+}
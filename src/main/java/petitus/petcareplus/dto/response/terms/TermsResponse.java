@@ -1,6 +1,7 @@
 package petitus.petcareplus.dto.response.terms;
 
 import lombok.*;
+import petitus.petcareplus.dto.response.Versioned;
 import petitus.petcareplus.utils.enums.TermsType;
 
 import java.time.LocalDateTime;
@@ -10,7 +11,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TermsResponse {
+public class TermsResponse implements Versioned {
     private UUID id;
     private TermsType type;
     private String language;
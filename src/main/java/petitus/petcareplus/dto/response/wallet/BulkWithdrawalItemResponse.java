@@ -0,0 +1,18 @@
+package petitus.petcareplus.dto.response.wallet;
+
+import lombok.*;
+import petitus.petcareplus.utils.enums.WithdrawalStatus;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWithdrawalItemResponse {
+    private UUID withdrawalId;
+    private boolean success;
+    private WithdrawalStatus status;
+    private String transactionRef;
+    private String message;
+}
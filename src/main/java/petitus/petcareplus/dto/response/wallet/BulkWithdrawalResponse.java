@@ -0,0 +1,15 @@
+package petitus.petcareplus.dto.response.wallet;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWithdrawalResponse {
+    private int succeeded;
+    private int failed;
+    private List<BulkWithdrawalItemResponse> results;
+}
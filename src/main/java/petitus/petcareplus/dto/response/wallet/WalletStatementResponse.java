@@ -0,0 +1,24 @@
+package petitus.petcareplus.dto.response.wallet;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletStatementResponse {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal totalCredits;
+    private BigDecimal totalDebits;
+    private long transactionCount;
+    private boolean snapshot; // false while the month is still open
+}
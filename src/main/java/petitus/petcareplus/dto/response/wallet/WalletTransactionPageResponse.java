@@ -0,0 +1,18 @@
+package petitus.petcareplus.dto.response.wallet;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTransactionPageResponse {
+    private List<WalletTransactionResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
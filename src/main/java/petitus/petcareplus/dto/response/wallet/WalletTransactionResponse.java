@@ -23,4 +23,5 @@ public class WalletTransactionResponse {
     private String description;
     private LocalDateTime createdAt;
     private UUID bookingId;
+    private BigDecimal balanceAfter;
 }
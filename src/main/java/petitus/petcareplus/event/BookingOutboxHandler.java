@@ -0,0 +1,73 @@
+package petitus.petcareplus.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import petitus.petcareplus.dto.request.notification.NotificationRequest;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.service.MessageSourceService;
+import petitus.petcareplus.service.NotificationService;
+import petitus.petcareplus.service.PushNotificationService;
+import petitus.petcareplus.utils.enums.Notifications;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-app notification and push for booking and payment status changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutboxHandler implements OutboxEventHandler {
+    private final NotificationService notificationService;
+    private final PushNotificationService pushNotificationService;
+    private final MessageSourceService messageSourceService;
+
+    @Override
+    public Set<OutboxEventType> types() {
+        return Set.of(OutboxEventType.BOOKING_STATUS_CHANGED, OutboxEventType.PAYMENT_STATUS_CHANGED);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        UUID bookingId = uuid(event, "bookingId");
+        String status = String.valueOf(event.getPayload().get("status"));
+
+        if (event.getType() == OutboxEventType.BOOKING_STATUS_CHANGED) {
+            // Whoever made the change already knows about it
+            UUID actorId = uuid(event, "actorId");
+            UUID providerId = uuid(event, "providerId");
+            UUID recipientId = providerId.equals(actorId) ? uuid(event, "userId") : providerId;
+
+            String message = "PENDING".equals(status)
+                    ? messageSourceService.get("notification_booking_created")
+                    : messageSourceService.get("notification_booking_status", new Object[] { status });
+            notify(event.getId(), recipientId, actorId, Notifications.BOOKING, bookingId, status,
+                    messageSourceService.get("notification_booking_title"), message);
+        } else {
+            // Payments are received on the provider's behalf, so the provider is the sender
+            notify(event.getId(), uuid(event, "userId"), uuid(event, "providerId"), Notifications.PAYMENT, bookingId, status,
+                    messageSourceService.get("notification_payment_title"),
+                    messageSourceService.get("notification_payment_status", new Object[] { status }));
+        }
+    }
+
+    private void notify(UUID eventId, UUID recipientId, UUID senderId, Notifications type, UUID bookingId, String status,
+            String title, String message) {
+        notificationService.pushNotificationForEvent(eventId, NotificationRequest.builder()
+                .userIdReceive(recipientId)
+                .type(type)
+                .title(title)
+                .message(message)
+                .relatedId(bookingId)
+                .build(), senderId);
+
+        // Collapsed per booking, so a quick run of status changes ends in a single push
+        pushNotificationService.send(recipientId, type.name().toLowerCase() + ":" + bookingId,
+                title, message, Map.of(
+                        "type", type.name(),
+                        "bookingId", bookingId.toString(),
+                        "status", status));
+    }
+}
@@ -0,0 +1,42 @@
+package petitus.petcareplus.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.service.ChatNotificationService;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ChatOutboxHandler implements OutboxEventHandler {
+    private final ChatNotificationService chatNotificationService;
+
+    @Override
+    public Set<OutboxEventType> types() {
+        return Set.of(OutboxEventType.CHAT_MESSAGE_SENT);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        handleAll(List.of(event));
+    }
+
+    // A claimed batch becomes one notification transaction and one push per recipient and sender
+    @Override
+    public boolean batched() {
+        return true;
+    }
+
+    @Override
+    public void handleAll(List<OutboxEvent> events) {
+        Map<UUID, UUID> messageIdsByEventId = new LinkedHashMap<>();
+        events.forEach(event -> messageIdsByEventId.put(event.getId(), uuid(event, "messageId")));
+        chatNotificationService.deliverMessagesSent(messageIdsByEventId);
+    }
+}
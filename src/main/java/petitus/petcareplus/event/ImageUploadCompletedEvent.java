@@ -1,11 +0,0 @@
-package petitus.petcareplus.event;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import petitus.petcareplus.dto.response.chat.ImageUploadResponse;
-
-@Data
-@AllArgsConstructor
-public class ImageUploadCompletedEvent {
-    private ImageUploadResponse imageUploadResponse;
-} 
\ No newline at end of file
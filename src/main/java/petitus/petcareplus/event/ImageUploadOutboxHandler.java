@@ -0,0 +1,62 @@
+package petitus.petcareplus.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import petitus.petcareplus.dto.response.chat.ChatMessageResponse;
+import petitus.petcareplus.dto.response.chat.ImageUploadResponse;
+import petitus.petcareplus.model.ChatImageMessage;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.repository.ChatImageMessageRepository;
+import petitus.petcareplus.service.ChatMessageDecryptionUtil;
+import petitus.petcareplus.service.WebSocketService;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageUploadOutboxHandler implements OutboxEventHandler {
+    private final ChatImageMessageRepository chatImageMessageRepository;
+    private final ChatMessageDecryptionUtil decryptionUtil;
+    private final WebSocketService webSocketService;
+
+    @Override
+    public Set<OutboxEventType> types() {
+        return Set.of(OutboxEventType.IMAGE_UPLOAD_COMPLETED);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        UUID messageId = uuid(event, "messageId");
+        ChatImageMessage message = chatImageMessageRepository.findById(messageId).orElse(null);
+        if (message == null) {
+            log.debug("Skipping image upload completion - message {} no longer exists", messageId);
+            return;
+        }
+
+        // Built from the stored message so decrypted URLs never sit in the outbox
+        ChatMessageResponse decrypted = decryptionUtil.createDecryptedImageMessageResponse(message);
+        webSocketService.sendImageUploadCompleted(ImageUploadResponse.builder()
+                .id(message.getId())
+                .senderId(message.getSenderId())
+                .recipientId(message.getRecipientId())
+                .caption(decrypted.getCaption())
+                .imageUrl(decrypted.getImageUrl())
+                .publicId(decrypted.getPublicId())
+                .imageName(message.getImageName())
+                .mimeType(message.getMimeType())
+                .fileSize(message.getFileSize())
+                .width(message.getWidth())
+                .height(message.getHeight())
+                .thumbnailUrl(decrypted.getThumbnailUrl())
+                .mediumUrl(decrypted.getMediumUrl())
+                .largeUrl(decrypted.getLargeUrl())
+                .uploadedAt(message.getCreatedAt())
+                .isRead(message.getIsRead())
+                .uploadStatus(message.getUploadStatus())
+                .build());
+    }
+}
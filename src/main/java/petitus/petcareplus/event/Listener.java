@@ -1,22 +0,0 @@
-package petitus.petcareplus.event;
-
-import lombok.RequiredArgsConstructor;
-import org.springframework.context.event.EventListener;
-import org.springframework.stereotype.Component;
-import petitus.petcareplus.service.MailSenderService;
-
-@Component
-@RequiredArgsConstructor
-public class Listener {
-    private final MailSenderService mailSenderService;
-
-    @EventListener
-    public void onUserEmailVerificationSendEvent(UserEmailVerificationSendEvent event) {
-        mailSenderService.sendUserEmailVerification(event.getEmailVerificationToken());
-    }
-    
-    @EventListener
-    public void onPasswordResetSendEvent(PasswordResetSendEvent event) {
-        mailSenderService.sendPasswordResetEmail(event.getPasswordResetToken());
-    }
-}
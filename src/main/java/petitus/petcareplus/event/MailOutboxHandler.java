@@ -0,0 +1,51 @@
+package petitus.petcareplus.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import petitus.petcareplus.model.EmailVerificationToken;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.model.PasswordResetToken;
+import petitus.petcareplus.repository.EmailVerificationTokenRepository;
+import petitus.petcareplus.repository.PasswordResetTokenRepository;
+import petitus.petcareplus.service.MailSenderService;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailOutboxHandler implements OutboxEventHandler {
+    private final MailSenderService mailSenderService;
+    private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Override
+    public Set<OutboxEventType> types() {
+        return Set.of(OutboxEventType.EMAIL_VERIFICATION_REQUESTED, OutboxEventType.PASSWORD_RESET_REQUESTED);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        UUID tokenId = uuid(event, "tokenId");
+
+        // A token that is gone was used or replaced in the meantime; there is nothing left to send
+        if (event.getType() == OutboxEventType.EMAIL_VERIFICATION_REQUESTED) {
+            EmailVerificationToken token = emailVerificationTokenRepository.findById(tokenId).orElse(null);
+            if (token == null) {
+                log.info("Skipping email verification mail, token {} no longer exists", tokenId);
+                return;
+            }
+            mailSenderService.sendUserEmailVerification(token);
+        } else {
+            PasswordResetToken token = passwordResetTokenRepository.findById(tokenId).orElse(null);
+            if (token == null) {
+                log.info("Skipping password reset mail, token {} no longer exists", tokenId);
+                return;
+            }
+            mailSenderService.sendPasswordResetEmail(token);
+        }
+    }
+}
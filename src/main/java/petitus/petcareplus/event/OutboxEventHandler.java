@@ -0,0 +1,38 @@
+package petitus.petcareplus.event;
+
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Delivers one kind of outbox event. Delivery is at least once: a handler that throws is retried
+ * with backoff, so handlers should tolerate seeing the same event again.
+ */
+public interface OutboxEventHandler {
+
+    Set<OutboxEventType> types();
+
+    void handle(OutboxEvent event) throws Exception;
+
+    /**
+     * Whether the dispatcher hands this handler's events of a claimed batch over together through
+     * {@link #handleAll}. A failure then retries all of them.
+     */
+    default boolean batched() {
+        return false;
+    }
+
+    default void handleAll(List<OutboxEvent> events) throws Exception {
+        for (OutboxEvent event : events) {
+            handle(event);
+        }
+    }
+
+    default UUID uuid(OutboxEvent event, String key) {
+        Object value = event.getPayload() == null ? null : event.getPayload().get(key);
+        return value == null ? null : UUID.fromString(value.toString());
+    }
+}
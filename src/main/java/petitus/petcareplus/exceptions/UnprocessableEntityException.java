@@ -0,0 +1,7 @@
+package petitus.petcareplus.exceptions;
+
+public class UnprocessableEntityException extends RuntimeException {
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
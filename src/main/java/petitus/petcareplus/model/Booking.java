@@ -19,7 +19,11 @@ import org.hibernate.annotations.CreationTimestamp;
 @Getter
 @Setter
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(columnList = "provider_service_id, created_at", name = "idx_bookings_provider_service_created_at"),
+        @Index(columnList = "change_seq", name = "idx_bookings_change_seq"),
+        @Index(columnList = "provider_id, change_xid, change_seq", name = "idx_bookings_provider_change_xid")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -67,12 +71,26 @@ public class Booking extends AbstractBaseEntity {
     @Column(name = "actual_endtime")
     private LocalDateTime actualEndTime;
 
+    // When the provider accepted; drives the response-time ranking signal
+    @Column(name = "accepted_at")
+    private LocalDateTime acceptedAt;
+
     @Column(name = "cancellation_reason")
     private String cancellationReason;
 
     @Column(name = "note")
     private String note;
 
+    // Assigned by the database on insert/update (sequence default and trigger in schema-supplement.sql),
+    // used by the provider sync feed
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    // Id of the transaction that wrote change_seq; orders the sync feed by transaction, see BookingRepository
+    @Column(name = "change_xid", insertable = false, updatable = false,
+            columnDefinition = "xid8 not null default pg_current_xact_id()")
+    private String changeXid;
+
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<PetBooking> petBookings = new HashSet<>();
@@ -6,7 +6,9 @@ import lombok.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "fcm_tokens")
+@Table(name = "fcm_tokens", indexes = {
+        @Index(columnList = "user_id", name = "idx_fcm_tokens_user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
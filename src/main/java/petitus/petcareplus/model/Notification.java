@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name ="Notification")
+// Inbox index; the migration makes it partial (WHERE deleted_at IS NULL)
+@Table(name ="Notification", indexes = {
+        @Index(columnList = "user_id_receive, created_at DESC, id DESC", name = "idx_notification_receiver_created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,9 +43,15 @@ public class Notification {
 
     private String message;
 
+    // Chat notifications: the latest message of the collapsed conversation
     @Column(nullable = false)
     private UUID relatedId;
 
+    // Chat notifications collapse one row per (recipient, sender); this counts the messages it stands for
+    @Column(name = "message_count", nullable = false, columnDefinition = "integer not null default 1")
+    @Builder.Default
+    private Integer messageCount = 1;
+
     private Boolean isRead;
 
     private LocalDateTime createdAt;
@@ -0,0 +1,27 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Outbox events whose notification writes are committed; written in the same transaction as those writes
+@Getter
+@Setter
+@Entity
+@Table(name = "notification_event_receipts")
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationEventReceipt {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
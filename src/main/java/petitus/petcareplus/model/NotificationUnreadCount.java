@@ -0,0 +1,30 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Unread notifications per recipient, kept by atomic increments in the same transaction as the notification change
+@Getter
+@Setter
+@Entity
+@Table(name = "notification_unread_counts")
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationUnreadCount {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
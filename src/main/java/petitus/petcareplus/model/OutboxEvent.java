@@ -0,0 +1,59 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import petitus.petcareplus.utils.enums.OutboxEventStatus;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// Side effect of a business change, written in the same transaction and delivered by OutboxDispatcher
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(columnList = "status, next_attempt_at", name = "idx_outbox_events_status_next_attempt_at")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent extends AbstractBaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private OutboxEventType type;
+
+    @Column(name = "aggregate_id")
+    private UUID aggregateId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", columnDefinition = "jsonb")
+    private Map<String, Object> payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private OutboxEventStatus status = OutboxEventStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // Earliest time a dispatcher may pick the event up; also the lease of a claimed event
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
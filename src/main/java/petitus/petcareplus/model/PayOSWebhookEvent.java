@@ -0,0 +1,71 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import petitus.petcareplus.utils.enums.WebhookEventStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+// Verified PayOS webhook, persisted before it is applied so the HTTP ack never waits on payment updates
+@Getter
+@Setter
+@Entity
+@Table(name = "payos_webhook_inbox", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "order_code", "code" }, name = "uk_payos_webhook_inbox_order_code_code")
+}, indexes = {
+        @Index(columnList = "status, created_at", name = "idx_payos_webhook_inbox_status_created_at"),
+        @Index(columnList = "status, next_attempt_at", name = "idx_payos_webhook_inbox_status_next_attempt_at")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayOSWebhookEvent extends AbstractBaseEntity {
+
+    @Column(name = "order_code", nullable = false)
+    private String orderCode;
+
+    @Column(name = "code", nullable = false)
+    private String code;
+
+    @Column(name = "amount", nullable = false)
+    private Integer amount;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "transaction_date_time")
+    private String transactionDateTime;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", columnDefinition = "jsonb")
+    private Map<String, Object> payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private WebhookEventStatus status = WebhookEventStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // Earliest time the worker poll retries the event, pushed back exponentially after each failure
+    @Column(name = "next_attempt_at", nullable = false, columnDefinition = "timestamp not null default now()")
+    @Builder.Default
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    // Outcome of the last apply attempt, or the error that made it fail
+    @Column(name = "result")
+    private String result;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -23,7 +23,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @Getter
 @Setter
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "ux_payments_order_code", columnList = "order_code", unique = true),
+        @Index(name = "idx_payments_booking_id", columnList = "booking_id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,55 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Precomputed ranking score per provider service, written only by ProviderRecommendationRepository native upserts.
+// Area is the 4-character geohash prefix (~39 x 20 km) of the provider's business location.
+@Getter
+@Setter
+@Entity
+@Table(name = "provider_recommendations", indexes = {
+        @Index(columnList = "score DESC", name = "idx_provider_recommendations_score"),
+        @Index(columnList = "service_id, score DESC", name = "idx_provider_recommendations_service_score"),
+        @Index(columnList = "area, score DESC", name = "idx_provider_recommendations_area_score"),
+        @Index(columnList = "area, service_id, score DESC", name = "idx_provider_recommendations_area_service_score")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderRecommendation {
+
+    @Id
+    @Column(name = "provider_service_id")
+    private UUID providerServiceId;
+
+    @Column(name = "provider_id", nullable = false)
+    private UUID providerId;
+
+    @Column(name = "service_id", nullable = false)
+    private UUID serviceId;
+
+    @Column(name = "area", columnDefinition = "varchar(4) COLLATE \"C\"")
+    private String area;
+
+    @Column(name = "score", nullable = false)
+    private double score;
+
+    // Completed bookings, each weighted by exp(-age / 30 days)
+    @Column(name = "booking_score", nullable = false)
+    private double bookingScore;
+
+    @Column(name = "cancellation_rate", nullable = false)
+    private double cancellationRate;
+
+    @Column(name = "avg_response_minutes")
+    private Double avgResponseMinutes;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Search text per provider service, written only by ProviderSearchDocumentRepository native upserts.
+// GIN indexes on document and search_text live in db/schema-supplement.sql.
+@Getter
+@Setter
+@Entity
+@Table(name = "provider_search_documents", indexes = {
+        @Index(columnList = "provider_id", name = "idx_provider_search_documents_provider_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderSearchDocument {
+
+    @Id
+    @Column(name = "provider_service_id")
+    private UUID providerServiceId;
+
+    @Column(name = "provider_id", nullable = false)
+    private UUID providerId;
+
+    // Weighted, unaccented: names (A), business address (B), business bio (C)
+    @Column(name = "document", nullable = false, columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String document;
+
+    // Unaccented lower-case names for trigram matching of partial or misspelled words
+    @Column(name = "search_text", nullable = false, columnDefinition = "TEXT")
+    private String searchText;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -15,7 +15,10 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "provider_services", uniqueConstraints = {
-        @UniqueConstraint(columnNames = { "provider_id", "service_id" }) })
+        @UniqueConstraint(columnNames = { "provider_id", "service_id" }) }, indexes = {
+        @Index(name = "idx_provider_services_rating", columnList = "rating DESC, id"),
+        @Index(name = "idx_provider_services_custom_price", columnList = "custom_price, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -38,6 +41,20 @@ public class ProviderService {
     @Column(name = "custom_description", columnDefinition = "TEXT")
     private String customDescription;
 
+    // Copy of the review summary totals, written only by SQL so entity saves cannot overwrite them
+    @Column(name = "rating_sum", nullable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    @Builder.Default
+    private Long ratingCount = 0L;
+
+    // Average of the totals above, stored so listings can sort on an index
+    @Column(name = "rating", nullable = false, updatable = false, columnDefinition = "double precision not null default 0")
+    @Builder.Default
+    private Double rating = 0.0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,51 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Pre-aggregated booking counters, updated incrementally on booking status changes
+@Getter
+@Setter
+@Entity
+@Table(name = "provider_service_stats", indexes = {
+        @Index(columnList = "total_bookings DESC", name = "idx_provider_service_stats_total_bookings")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderServiceStats {
+
+    @Id
+    @Column(name = "provider_service_id")
+    private UUID providerServiceId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "provider_service_id")
+    private ProviderService providerService;
+
+    // Non-cancelled bookings
+    @Column(name = "total_bookings", nullable = false)
+    private long totalBookings;
+
+    @Column(name = "completed_bookings", nullable = false)
+    private long completedBookings;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private long cancelledBookings;
+
+    // Sum of completed booking totals
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
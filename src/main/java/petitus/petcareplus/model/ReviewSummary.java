@@ -0,0 +1,56 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Review read model per provider and per provider service, updated incrementally on review writes
+@Getter
+@Setter
+@Entity
+@Table(name = "review_summaries")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummary {
+
+    @EmbeddedId
+    private ReviewSummaryId id;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // Histogram: number of reviews per star rating
+    @Column(name = "star_1", nullable = false)
+    private long star1;
+
+    @Column(name = "star_2", nullable = false)
+    private long star2;
+
+    @Column(name = "star_3", nullable = false)
+    private long star3;
+
+    @Column(name = "star_4", nullable = false)
+    private long star4;
+
+    @Column(name = "star_5", nullable = false)
+    private long star5;
+
+    // Newest first
+    @Column(name = "latest_review_ids", nullable = false, columnDefinition = "JSONB")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<UUID> latestReviewIds;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
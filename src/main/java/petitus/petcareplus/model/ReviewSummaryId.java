@@ -0,0 +1,28 @@
+package petitus.petcareplus.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import petitus.petcareplus.utils.enums.ReviewSummaryScope;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummaryId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", length = 20)
+    private ReviewSummaryScope scope;
+
+    // Provider user id or provider service id, depending on scope
+    @Column(name = "subject_id")
+    private UUID subjectId;
+}
@@ -11,7 +11,10 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
-@Table(name = "service_reviews")
+@Table(name = "service_reviews", indexes = {
+        @Index(columnList = "provider_service_id, created_at", name = "idx_service_reviews_provider_service_created_at"),
+        @Index(columnList = "updated_at", name = "idx_service_reviews_updated_at")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,43 @@
+package petitus.petcareplus.model.profile;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+// Weekly availability window derived from ServiceProviderProfile.availableTime on every save
+@Getter
+@Setter
+@Entity
+@Table(name = "provider_availability", indexes = {
+        @Index(columnList = "weekday, start_minute, end_minute", name = "idx_provider_availability_window"),
+        @Index(columnList = "service_provider_profile_id", name = "idx_provider_availability_profile")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderAvailability {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_provider_profile_id", nullable = false)
+    private ServiceProviderProfile serviceProviderProfile;
+
+    // ISO weekday, 1 = Monday
+    @Column(name = "weekday", nullable = false)
+    private int weekday;
+
+    // Minutes since midnight; the window is [startMinute, endMinute)
+    @Column(name = "start_minute", nullable = false)
+    private int startMinute;
+
+    @Column(name = "end_minute", nullable = false)
+    private int endMinute;
+}
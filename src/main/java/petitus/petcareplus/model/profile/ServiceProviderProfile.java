@@ -11,7 +11,9 @@ import java.util.Map;
 import java.util.Set;
 
 @Entity
-@Table(name = "service_provider_profiles")
+@Table(name = "service_provider_profiles", indexes = {
+        @Index(columnList = "geohash", name = "idx_service_provider_profiles_geohash")
+})
 @Getter
 @Setter
 @Builder
@@ -42,11 +44,29 @@ public class ServiceProviderProfile extends AbstractBaseEntity{
     @Column(name = "contact_email", length = 100)
     private String contactEmail;
 
+    // Business location, with its geohash for prefix range scans (C collation keeps prefixes contiguous)
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(name = "geohash", columnDefinition = "varchar(12) COLLATE \"C\"")
+    private String geohash;
+
     @Column(name = "available_time", columnDefinition = "JSONB")
     @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> availableTime;
 
-    @Column(name = "rating", nullable = false)
+    @Column(name = "rating", nullable = false, updatable = false)
     @Builder.Default
     private Double rating = 0.0;
+
+    // Copy of the review summary totals, written only by SQL so entity saves cannot
+    // overwrite them; rating is kept equal to ratingSum / ratingCount
+    @Column(name = "rating_sum", nullable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    @Builder.Default
+    private Long ratingCount = 0L;
 }
@@ -0,0 +1,18 @@
+package petitus.petcareplus.model.spec;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+// Substring match that ignores case and Vietnamese diacritics, using the unaccent extension
+final class AccentInsensitive {
+
+    private AccentInsensitive() {
+    }
+
+    static Predicate contains(CriteriaBuilder builder, Expression<String> column, String query) {
+        return builder.like(
+                builder.function("unaccent", String.class, builder.lower(column)),
+                builder.function("unaccent", String.class, builder.literal("%" + query.toLowerCase() + "%")));
+    }
+}
@@ -33,16 +33,16 @@ public final class ProviderServiceSpecification implements Specification<Provide
 
         List<Predicate> predicates = new ArrayList<>();
 
-        // Search by service name or provider name
+        // Search by service name or provider name, with or without diacritics
         if (criteria.getQuery() != null && !criteria.getQuery().isBlank()) {
-            String searchPattern = "%" + criteria.getQuery().toLowerCase() + "%";
+            String search = criteria.getQuery();
             Join<ProviderService, DefaultService> serviceJoin = root.join("service");
             Join<ProviderService, User> providerJoin = root.join("provider");
 
             predicates.add(builder.or(
-                    builder.like(builder.lower(serviceJoin.get("name")), searchPattern),
-                    builder.like(builder.lower(providerJoin.get("name")), searchPattern),
-                    builder.like(builder.lower(providerJoin.get("lastName")), searchPattern)));
+                    AccentInsensitive.contains(builder, serviceJoin.get("name"), search),
+                    AccentInsensitive.contains(builder, providerJoin.get("name"), search),
+                    AccentInsensitive.contains(builder, providerJoin.get("lastName"), search)));
         }
 
         // Filter by provider ID
@@ -6,11 +6,16 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import petitus.petcareplus.model.User;
 import petitus.petcareplus.model.profile.Profile;
+import petitus.petcareplus.model.profile.ProviderAvailability;
 import petitus.petcareplus.model.profile.ServiceProviderProfile;
 import petitus.petcareplus.model.spec.criteria.ServiceProviderProfileCriteria;
+import petitus.petcareplus.utils.AvailableTimeParser;
 
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 public final class ServiceProviderProfileFilterSpecification implements Specification<ServiceProviderProfile> {
@@ -40,33 +45,46 @@ public final class ServiceProviderProfileFilterSpecification implements Specific
                     root.get("skills").in(criteria.getSkills()));
         }
 
-        // Example of handling JSONB field (availableTime) using PostgreSQL functions
-        if (criteria.getAvailableAtStart() != null) {
-            predicates.add(
-                    builder.greaterThanOrEqualTo(root.get("availableTime"), criteria.getAvailableAtStart()));
-        }
-
-        if (criteria.getAvailableAtEnd() != null) {
-            predicates.add(
-                    builder.lessThanOrEqualTo(root.get("availableTime"), criteria.getAvailableAtEnd()));
+        // Availability is matched against provider_availability windows (same-day ranges only;
+        // ServiceProviderProfileService validates the criteria)
+        LocalDateTime availableFrom = criteria.getAvailableAtStart();
+        LocalDateTime availableTo = criteria.getAvailableAtEnd();
+        if (availableFrom != null && availableTo != null) {
+            // A window containing the whole interval
+            predicates.add(builder.exists(availabilitySubquery(root, query, builder,
+                    availableFrom.getDayOfWeek().getValue(),
+                    window -> builder.and(
+                            builder.le(window.get("startMinute"), minuteOfDay(availableFrom)),
+                            builder.ge(window.get("endMinute"), minuteOfDay(availableTo))))));
+        } else if (availableFrom != null || availableTo != null) {
+            // A window containing that moment
+            LocalDateTime moment = availableFrom != null ? availableFrom : availableTo;
+            predicates.add(builder.exists(availabilitySubquery(root, query, builder,
+                    moment.getDayOfWeek().getValue(),
+                    window -> builder.and(
+                            builder.le(window.get("startMinute"), minuteOfDay(moment)),
+                            builder.gt(window.get("endMinute"), minuteOfDay(moment))))));
         }
 
         if (criteria.getAvailableTime() != null) {
-            predicates.add(
-                    (Predicate) builder.function("jsonb_exists", Boolean.class, root.get("availableTime"),
-                            builder.literal(criteria.getAvailableTime())));
+            // Any window on that weekday
+            DayOfWeek day = AvailableTimeParser.parseWeekday(criteria.getAvailableTime());
+            if (day != null) {
+                predicates.add(builder.exists(availabilitySubquery(root, query, builder, day.getValue(),
+                        window -> builder.conjunction())));
+            }
         }
 
         if (criteria.getQuery() != null) {
-            String q = String.format("%%%s%%", criteria.getQuery().toLowerCase());
+            String q = criteria.getQuery();
             Join<ServiceProviderProfile, Profile> profileJoin = root.join("profile", JoinType.LEFT);
             Join<Profile, User> userJoin = profileJoin.join("user", JoinType.LEFT);
             predicates.add(
                     builder.or(
-                            builder.like(builder.lower(userJoin.get("name")), q),
-                            builder.like(builder.lower(userJoin.get("lastName")), q),
-                            builder.like(builder.lower(root.get("businessName")), q),
-                            builder.like(builder.lower(root.get("businessBio")), q)));
+                            AccentInsensitive.contains(builder, userJoin.get("name"), q),
+                            AccentInsensitive.contains(builder, userJoin.get("lastName"), q),
+                            AccentInsensitive.contains(builder, root.get("businessName"), q),
+                            AccentInsensitive.contains(builder, root.get("businessBio"), q)));
         }
 
         if (criteria.getLocation() != null) {
@@ -100,4 +118,20 @@ public final class ServiceProviderProfileFilterSpecification implements Specific
 
         return query.distinct(true).getRestriction();
     }
+
+    private Subquery<Integer> availabilitySubquery(Root<ServiceProviderProfile> root, CriteriaQuery<?> query,
+            CriteriaBuilder builder, int weekday,
+            Function<Root<ProviderAvailability>, Predicate> windowPredicate) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<ProviderAvailability> window = subquery.from(ProviderAvailability.class);
+
+        return subquery.select(builder.literal(1))
+                .where(builder.equal(window.get("serviceProviderProfile"), root),
+                        builder.equal(window.get("weekday"), weekday),
+                        windowPredicate.apply(window));
+    }
+
+    private static int minuteOfDay(LocalDateTime dateTime) {
+        return dateTime.getHour() * 60 + dateTime.getMinute();
+    }
 }
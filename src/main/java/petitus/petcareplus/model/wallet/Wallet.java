@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -34,4 +35,11 @@ public class Wallet extends AbstractBaseEntity {
     @Column(nullable = false)
     private BigDecimal pendingBalance;
 
+    // Balances only change through WalletRepository.applyDelta, which bumps the version too,
+    // so a stale entity can never overwrite them
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint not null default 0")
+    @Builder.Default
+    private Long version = 0L;
+
 }
@@ -0,0 +1,46 @@
+package petitus.petcareplus.model.wallet;
+
+import jakarta.persistence.*;
+import lombok.*;
+import petitus.petcareplus.model.AbstractBaseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Monthly snapshot of a wallet's ledger, written once the month is over.
+ */
+@Entity
+@Table(name = "wallet_statements", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_wallet_statements_wallet_period", columnNames = { "wallet_id", "period_start" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletStatement extends AbstractBaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id", nullable = false)
+    private Wallet wallet;
+
+    // First day of the month
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "opening_balance", nullable = false)
+    private BigDecimal openingBalance;
+
+    @Column(name = "closing_balance", nullable = false)
+    private BigDecimal closingBalance;
+
+    @Column(name = "total_credits", nullable = false)
+    private BigDecimal totalCredits;
+
+    @Column(name = "total_debits", nullable = false)
+    private BigDecimal totalDebits;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+}
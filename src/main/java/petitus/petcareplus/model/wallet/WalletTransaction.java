@@ -2,6 +2,7 @@ package petitus.petcareplus.model.wallet;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Immutable;
 import petitus.petcareplus.model.AbstractBaseEntity;
 import petitus.petcareplus.model.Booking;
 import petitus.petcareplus.utils.enums.TransactionStatus;
@@ -9,8 +10,15 @@ import petitus.petcareplus.utils.enums.TransactionType;
 
 import java.math.BigDecimal;
 
+/**
+ * Append-only wallet ledger. The sum of {@code balanceDelta} / {@code pendingDelta} over a wallet's
+ * entries equals its {@code balance} / {@code pendingBalance}; entries are never updated.
+ */
 @Entity
-@Table(name = "wallet_transactions")
+@Immutable
+@Table(name = "wallet_transactions", indexes = {
+        @Index(name = "idx_wallet_transactions_wallet_created", columnList = "wallet_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,11 +26,11 @@ import java.math.BigDecimal;
 @Builder
 public class WalletTransaction extends AbstractBaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "wallet_id")
     private Wallet wallet;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
@@ -33,6 +41,25 @@ public class WalletTransaction extends AbstractBaseEntity {
     @Column(nullable = false)
     private BigDecimal amount;
 
+    // Change applied to the available balance by this entry
+    @Column(name = "balance_delta", nullable = false, columnDefinition = "numeric(38,2) not null default 0")
+    @Builder.Default
+    private BigDecimal balanceDelta = BigDecimal.ZERO;
+
+    // Change applied to the held (pending withdrawal) balance by this entry
+    @Column(name = "pending_delta", nullable = false, columnDefinition = "numeric(38,2) not null default 0")
+    @Builder.Default
+    private BigDecimal pendingDelta = BigDecimal.ZERO;
+
+    // Wallet balances right after this entry was posted (running balance)
+    @Column(name = "balance_after", nullable = false, columnDefinition = "numeric(38,2) not null default 0")
+    @Builder.Default
+    private BigDecimal balanceAfter = BigDecimal.ZERO;
+
+    @Column(name = "pending_balance_after", nullable = false, columnDefinition = "numeric(38,2) not null default 0")
+    @Builder.Default
+    private BigDecimal pendingBalanceAfter = BigDecimal.ZERO;
+
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private TransactionType type;
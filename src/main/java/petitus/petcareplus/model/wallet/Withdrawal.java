@@ -61,4 +61,10 @@ public class Withdrawal extends AbstractBaseEntity {
     // Transaction reference
     private String transactionRef;
     private String rejectionReason;
+
+    // Concurrent approve/reject/complete of the same withdrawal fail instead of double-posting
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint not null default 0")
+    @Builder.Default
+    private Long version = 0L;
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package petitus.petcareplus.model.wallet;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount a provider has requested for withdrawal in one day or month, excluding rejected requests.
+ * Maintained by WithdrawalLimitCounterRepository so limit checks never scan withdrawals.
+ */
+@Entity
+@Table(name = "withdrawal_limit_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WithdrawalLimitCounter {
+
+    @EmbeddedId
+    private WithdrawalLimitCounterId id;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total;
+}
@@ -0,0 +1,32 @@
+package petitus.petcareplus.model.wallet;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import petitus.petcareplus.utils.enums.WithdrawalLimitPeriod;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class WithdrawalLimitCounterId implements Serializable {
+
+    @Column(name = "provider_id")
+    private UUID providerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type")
+    private WithdrawalLimitPeriod periodType;
+
+    // First day of the period (the day itself, or the first of the month)
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+}
@@ -2,6 +2,7 @@ package petitus.petcareplus.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import petitus.petcareplus.utils.enums.BookingStatus;
 import petitus.petcareplus.model.Booking;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -66,6 +68,49 @@ public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpec
                         @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
                         Pageable pageable);
 
+        interface ChangeRow {
+                UUID getId();
+
+                String getChangeXid();
+
+                Long getChangeSeq();
+        }
+
+        // Sync feed in writer-transaction order. Only transactions older than the snapshot xmin are
+        // returned: they have all finished, and every later write gets a larger xid, so a page
+        // boundary can never be overtaken by a late commit. Includes soft-deleted rows for tombstones.
+        @Query(value = """
+                        SELECT b.id AS id, CAST(b.change_xid AS text) AS changeXid, b.change_seq AS changeSeq
+                        FROM bookings b
+                        WHERE b.provider_id = :providerId
+                                AND (b.change_xid, b.change_seq) > (CAST(:sinceXid AS xid8), :sinceSeq)
+                                AND b.change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                        ORDER BY b.change_xid, b.change_seq, b.id
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<ChangeRow> findChangesByProviderIdAfter(@Param("providerId") UUID providerId,
+                        @Param("sinceXid") String sinceXid, @Param("sinceSeq") long sinceSeq,
+                        @Param("limit") int limit);
+
+        @Query("""
+                        SELECT b FROM Booking b
+                        JOIN FETCH b.user JOIN FETCH b.provider
+                        JOIN FETCH b.providerService ps JOIN FETCH ps.service
+                        WHERE b.id IN :ids
+                        """)
+        List<Booking> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
+        @Query("""
+                        SELECT b FROM Booking b
+                        JOIN FETCH b.user JOIN FETCH b.providerService ps JOIN FETCH ps.service
+                        WHERE b.deletedAt IS NULL AND b.provider.id = :providerId
+                                AND b.scheduledStartTime >= :startDate AND b.scheduledEndTime <= :endDate
+                        ORDER BY b.scheduledStartTime ASC, b.id ASC
+                        """)
+        Slice<Booking> findCalendarByProviderId(@Param("providerId") UUID providerId,
+                        @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+                        Pageable pageable);
+
         @Query("SELECT COUNT(b) FROM Booking b WHERE b.deletedAt IS NULL AND b.status <> 'CANCELLED' AND b.provider.id = :providerId AND ((b.scheduledStartTime <= :endTime AND b.scheduledEndTime >= :startTime) OR (b.scheduledStartTime <= :startTime AND b.scheduledEndTime >= :startTime)) AND b.status NOT IN ('CANCELLED', 'COMPLETED')")
         Long countOverlappingBookings(@Param("providerId") UUID providerId, @Param("startTime") LocalDateTime startTime,
                         @Param("endTime") LocalDateTime endTime);
@@ -1,9 +1,14 @@
 package petitus.petcareplus.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import petitus.petcareplus.model.FcmToken;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +16,11 @@ import java.util.UUID;
 public interface FcmTokenRepository extends JpaRepository<FcmToken, UUID> {
     List<FcmToken> findByUserId(UUID userId);
     void deleteByToken(String token);
+
+    List<FcmToken> findByUserIdIn(Collection<UUID> userIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FcmToken t WHERE t.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
 } 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import petitus.petcareplus.model.NotificationEventReceipt;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface NotificationEventReceiptRepository extends JpaRepository<NotificationEventReceipt, UUID> {
+
+    // Returns the event id when this call recorded it, empty when the event was already applied
+    @Transactional
+    @Query(value = "INSERT INTO notification_event_receipts (event_id, created_at) VALUES (:eventId, NOW()) " +
+            "ON CONFLICT (event_id) DO NOTHING RETURNING event_id", nativeQuery = true)
+    Optional<UUID> insertIfAbsent(@Param("eventId") UUID eventId);
+
+    // Batched form of insertIfAbsent; returns the ids this call recorded
+    @Transactional
+    @Query(value = "INSERT INTO notification_event_receipts (event_id, created_at) " +
+            "SELECT t.event_id, NOW() FROM unnest(CAST(:eventIds AS uuid[])) AS t(event_id) " +
+            "ON CONFLICT (event_id) DO NOTHING RETURNING event_id", nativeQuery = true)
+    List<UUID> insertAllIfAbsent(@Param("eventIds") UUID[] eventIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notification_event_receipts WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
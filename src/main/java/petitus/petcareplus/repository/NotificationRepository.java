@@ -3,16 +3,20 @@ package petitus.petcareplus.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import petitus.petcareplus.model.Notification;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Integer> {
+public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     @Query("SELECT n FROM Notification n WHERE n.userIdReceive = :userIdReceive AND n.deletedAt IS NULL")
     List<Notification> findByUserIdReceive(UUID userIdReceive);
 
@@ -21,4 +25,63 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
 
     Page<Notification> findByDeletedAtIsNull(Pageable pageable);
 
+    // Keyset page of the inbox, newest first, strictly after the (createdAt, id) cursor
+    @Query(value = "SELECT * FROM notification n WHERE n.user_id_receive = :userId AND n.deleted_at IS NULL " +
+            "AND (n.created_at, n.id) < (:beforeCreatedAt, :beforeId) " +
+            "ORDER BY n.created_at DESC, n.id DESC LIMIT :limit", nativeQuery = true)
+    List<Notification> findInboxPageBefore(@Param("userId") UUID userId,
+            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+            @Param("beforeId") UUID beforeId,
+            @Param("limit") int limit);
+
+    // Returns 1 only when the notification was unread, so the counter is decremented once
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false AND n.deletedAt IS NULL")
+    int markAsRead(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+            "WHERE n.userIdReceive = :userId AND n.isRead = false AND n.deletedAt IS NULL")
+    int markAllAsRead(@Param("userId") UUID userId);
+
+    // Collapsed chat notifications, one statement per batch: adds to a row while it is unread, otherwise
+    // starts it over as unread. Returns [recipientId, count] of rows that became unread, read from the
+    // upserted row itself (inserted, or its count restarted), so concurrent flushes cannot both add one.
+    @Transactional
+    @Query(value = """
+            WITH input AS (
+                    SELECT * FROM unnest(CAST(:ids AS uuid[]), CAST(:recipientIds AS uuid[]),
+                            CAST(:senderIds AS uuid[]), CAST(:lastMessageIds AS uuid[]), CAST(:messageCounts AS int[]))
+                            AS t(id, recipient_id, sender_id, last_message_id, message_count)
+            ), upserted AS (
+                    INSERT INTO notification (id, user_id_send, user_id_receive, type, title, message, related_id,
+                            is_read, message_count, created_at)
+                    SELECT i.id, i.sender_id, i.recipient_id, 'CHAT', 'New Message',
+                            CASE WHEN i.message_count = 1 THEN 'New message' ELSE i.message_count || ' new messages' END,
+                            i.last_message_id, false, i.message_count, NOW()
+                    FROM input i
+                    ON CONFLICT (id) DO UPDATE SET
+                            message_count = CASE WHEN notification.is_read = false AND notification.deleted_at IS NULL
+                                    THEN notification.message_count + EXCLUDED.message_count
+                                    ELSE EXCLUDED.message_count END,
+                            message = CASE WHEN notification.is_read = false AND notification.deleted_at IS NULL
+                                    THEN (notification.message_count + EXCLUDED.message_count) || ' new messages'
+                                    ELSE EXCLUDED.message END,
+                            related_id = EXCLUDED.related_id,
+                            is_read = false,
+                            deleted_at = NULL,
+                            created_at = EXCLUDED.created_at
+                    RETURNING notification.id, notification.user_id_receive, notification.message_count,
+                            (xmax = 0) AS inserted
+            )
+            SELECT u.user_id_receive, COUNT(*)
+            FROM upserted u JOIN input i ON i.id = u.id
+            WHERE u.inserted OR u.message_count = i.message_count
+            GROUP BY u.user_id_receive
+            """, nativeQuery = true)
+    List<Object[]> upsertChatNotifications(@Param("ids") UUID[] ids,
+            @Param("recipientIds") UUID[] recipientIds,
+            @Param("senderIds") UUID[] senderIds,
+            @Param("lastMessageIds") UUID[] lastMessageIds,
+            @Param("messageCounts") Integer[] messageCounts);
 }
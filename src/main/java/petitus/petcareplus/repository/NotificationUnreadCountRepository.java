@@ -0,0 +1,55 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import petitus.petcareplus.model.NotificationUnreadCount;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface NotificationUnreadCountRepository extends JpaRepository<NotificationUnreadCount, UUID> {
+
+    // Atomic upsert-increment; never goes below zero
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_unread_counts (user_id, unread_count, updated_at)
+            VALUES (:userId, GREATEST(:delta, 0), NOW())
+            ON CONFLICT (user_id) DO UPDATE SET
+                    unread_count = GREATEST(notification_unread_counts.unread_count + :delta, 0),
+                    updated_at = NOW()
+            """, nativeQuery = true)
+    void increment(@Param("userId") UUID userId, @Param("delta") long delta);
+
+    // Batched increment by non-negative deltas; userIds must be distinct
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_unread_counts (user_id, unread_count, updated_at)
+            SELECT t.user_id, GREATEST(t.delta, 0), NOW()
+            FROM unnest(CAST(:userIds AS uuid[]), CAST(:deltas AS bigint[])) AS t(user_id, delta)
+            ON CONFLICT (user_id) DO UPDATE SET
+                    unread_count = notification_unread_counts.unread_count + EXCLUDED.unread_count,
+                    updated_at = NOW()
+            """, nativeQuery = true)
+    void incrementAll(@Param("userIds") UUID[] userIds, @Param("deltas") Long[] deltas);
+
+    @Query("SELECT c.unreadCount FROM NotificationUnreadCount c WHERE c.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("userId") UUID userId);
+
+    // Recompute every counter from the notifications table; returns the number of corrected rows
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_unread_counts (user_id, unread_count, updated_at)
+            SELECT n.user_id_receive,
+                    COUNT(*) FILTER (WHERE n.is_read = false AND n.deleted_at IS NULL),
+                    NOW()
+            FROM notification n
+            GROUP BY n.user_id_receive
+            ON CONFLICT (user_id) DO UPDATE SET
+                    unread_count = EXCLUDED.unread_count,
+                    updated_at = NOW()
+            WHERE notification_unread_counts.unread_count <> EXCLUDED.unread_count
+            """, nativeQuery = true)
+    int reconcileAll();
+}
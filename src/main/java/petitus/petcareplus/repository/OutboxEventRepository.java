@@ -0,0 +1,74 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.utils.enums.OutboxEventStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+        // Due events, oldest first; rows locked by another dispatcher are skipped instead of waited on
+        @Query(value = """
+                        SELECT * FROM outbox_events
+                        WHERE status = 'PENDING' AND next_attempt_at <= :now
+                        ORDER BY next_attempt_at, id
+                        LIMIT :limit
+                        FOR UPDATE SKIP LOCKED
+                        """, nativeQuery = true)
+        List<OutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+        // Claimed events stay PENDING; if the dispatcher dies they are due again once the lease ends
+        @Modifying(flushAutomatically = true)
+        @Query("""
+                        UPDATE OutboxEvent e SET e.nextAttemptAt = :leaseUntil, e.attempts = e.attempts + 1
+                        WHERE e.id IN :ids
+                        """)
+        int lease(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+        @Modifying
+        @Transactional
+        @Query("""
+                        UPDATE OutboxEvent e
+                        SET e.status = petitus.petcareplus.utils.enums.OutboxEventStatus.PROCESSED,
+                                e.processedAt = :processedAt, e.lastError = NULL
+                        WHERE e.id = :id
+                        """)
+        int markProcessed(@Param("id") UUID id, @Param("processedAt") LocalDateTime processedAt);
+
+        @Modifying
+        @Transactional
+        @Query("""
+                        UPDATE OutboxEvent e
+                        SET e.status = petitus.petcareplus.utils.enums.OutboxEventStatus.PROCESSED,
+                                e.processedAt = :processedAt, e.lastError = NULL
+                        WHERE e.id IN :ids
+                        """)
+        int markAllProcessed(@Param("ids") Collection<UUID> ids, @Param("processedAt") LocalDateTime processedAt);
+
+        @Modifying
+        @Transactional
+        @Query("""
+                        UPDATE OutboxEvent e
+                        SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError
+                        WHERE e.id = :id
+                        """)
+        int reschedule(@Param("id") UUID id,
+                        @Param("status") OutboxEventStatus status,
+                        @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                        @Param("lastError") String lastError);
+
+        @Modifying
+        @Transactional
+        @Query(value = "DELETE FROM outbox_events WHERE status = 'PROCESSED' AND processed_at < :cutoff", nativeQuery = true)
+        int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,43 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import petitus.petcareplus.model.PayOSWebhookEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PayOSWebhookEventRepository extends JpaRepository<PayOSWebhookEvent, UUID> {
+
+        // Duplicate deliveries (same order code and result code) are dropped by the unique constraint
+        @Modifying
+        @Query(value = """
+                        INSERT INTO payos_webhook_inbox (id, order_code, code, amount, description,
+                                transaction_date_time, payload, status, attempts, next_attempt_at, created_at, updated_at)
+                        VALUES (:id, :orderCode, :code, :amount, :description, :transactionDateTime,
+                                CAST(:payload AS jsonb), 'PENDING', 0, NOW(), NOW(), NOW())
+                        ON CONFLICT (order_code, code) DO NOTHING
+                        """, nativeQuery = true)
+        int insertIfAbsent(@Param("id") UUID id,
+                        @Param("orderCode") String orderCode,
+                        @Param("code") String code,
+                        @Param("amount") Integer amount,
+                        @Param("description") String description,
+                        @Param("transactionDateTime") String transactionDateTime,
+                        @Param("payload") String payload);
+
+        @Query("SELECT e.id FROM PayOSWebhookEvent e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt ASC")
+        List<UUID> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+        // Row lock for a single worker; other workers skip the row instead of waiting
+        @Query(value = "SELECT * FROM payos_webhook_inbox WHERE id = :id AND status = 'PENDING' FOR UPDATE SKIP LOCKED", nativeQuery = true)
+        Optional<PayOSWebhookEvent> lockPendingById(@Param("id") UUID id);
+}
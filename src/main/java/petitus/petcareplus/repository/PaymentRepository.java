@@ -1,13 +1,19 @@
 package petitus.petcareplus.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import petitus.petcareplus.model.Payment;
 import petitus.petcareplus.utils.enums.PaymentMethod;
 import petitus.petcareplus.utils.enums.PaymentStatus;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +23,16 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
         // Primary method for finding by order code
         Optional<Payment> findByOrderCode(String orderCode);
 
+        // Row locks for status transitions, so a webhook, the reconciler and status checks apply
+        // one after another instead of overwriting each other
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT p FROM Payment p WHERE p.orderCode = :orderCode")
+        Optional<Payment> findByOrderCodeForUpdate(@Param("orderCode") String orderCode);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT p FROM Payment p WHERE p.id = :id")
+        Optional<Payment> findByIdForUpdate(@Param("id") UUID id);
+
         // For VNPay compatibility - sử dụng native query thay vì HQL
         @Query(value = "SELECT * FROM payments p WHERE p.transaction_code = :transactionCode OR " +
                         "(p.gateway_data IS NOT NULL AND p.gateway_data::jsonb ->> 'transaction_code' = :transactionCode)", nativeQuery = true)
@@ -44,4 +60,31 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
         @Query(value = "SELECT * FROM payments p WHERE p.order_code = :orderCode OR " +
                         "(p.gateway_data IS NOT NULL AND p.gateway_data::jsonb ->> 'order_code' = :orderCode)", nativeQuery = true)
         Optional<Payment> findByPayOSOrderCode(@Param("orderCode") String orderCode);
-}
\ No newline at end of file
+
+        // Keyset page of stale PENDING payments for the reconciler, ordered by (created_at, id)
+        @Query(value = "SELECT * FROM payments p WHERE p.status = 'PENDING' AND p.payment_method = :paymentMethod " +
+                        "AND p.deleted_at IS NULL AND p.created_at < :staleBefore " +
+                        "AND (p.created_at, p.id) > (:afterCreatedAt, :afterId) " +
+                        "ORDER BY p.created_at, p.id LIMIT :limit", nativeQuery = true)
+        List<Payment> findStalePendingPayments(@Param("paymentMethod") String paymentMethod,
+                        @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                        @Param("afterId") UUID afterId,
+                        @Param("limit") int limit);
+
+        // Insert a PENDING payment unless the booking already has one (partial unique index
+        // ux_payments_booking_pending). Returns the new id, or empty when a pending payment exists;
+        // any other constraint violation, such as a reused order code, still fails.
+        @Transactional
+        @Query(value = "INSERT INTO payments (id, booking_id, amount, payment_method, order_code, status, " +
+                        "payment_description, gateway_data, created_at, updated_at) " +
+                        "VALUES (:id, :bookingId, :amount, :paymentMethod, :orderCode, 'PENDING', :description, " +
+                        "CAST('{}' AS jsonb), now(), now()) " +
+                        "ON CONFLICT (booking_id) WHERE status = 'PENDING' DO NOTHING RETURNING id", nativeQuery = true)
+        Optional<UUID> insertPendingIfAbsent(@Param("id") UUID id,
+                        @Param("bookingId") UUID bookingId,
+                        @Param("amount") BigDecimal amount,
+                        @Param("paymentMethod") String paymentMethod,
+                        @Param("orderCode") String orderCode,
+                        @Param("description") String description);
+}
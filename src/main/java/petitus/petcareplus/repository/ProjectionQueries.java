@@ -0,0 +1,83 @@
+package petitus.petcareplus.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Pages a specification straight into response DTOs: one tuple select of the given columns plus one
+ * count query, with no entities loaded. Rows are ordered by id last so pages stay stable when the
+ * requested sort keys tie.
+ */
+final class ProjectionQueries {
+
+    private ProjectionQueries() {
+    }
+
+    static <T, R> Page<R> findPage(EntityManager entityManager, Class<T> entityClass,
+            Specification<T> specification, Pageable pageable,
+            BiFunction<Root<T>, CriteriaBuilder, List<Selection<?>>> columns, Function<Tuple, R> mapper) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        query.multiselect(columns.apply(root, builder));
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        if (pageable.getSort().getOrderFor("id") == null) {
+            orders.add(builder.asc(root.get("id")));
+        }
+        query.orderBy(orders);
+
+        List<R> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList()
+                .stream()
+                .map(mapper)
+                .toList();
+
+        return new PageImpl<>(content, pageable, count(entityManager, entityClass, specification));
+    }
+
+    // Combined the same way as User.getFullName()
+    static String fullName(Tuple row, String lastNameAlias, String firstNameAlias) {
+        return row.get(lastNameAlias, String.class) + " " + row.get(firstNameAlias, String.class);
+    }
+
+    private static <T> long count(EntityManager entityManager, Class<T> entityClass,
+            Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        query.select(builder.count(root));
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
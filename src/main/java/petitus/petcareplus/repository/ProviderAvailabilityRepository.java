@@ -0,0 +1,16 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import petitus.petcareplus.model.profile.ProviderAvailability;
+
+import java.util.UUID;
+
+public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAvailability, UUID> {
+
+    @Modifying
+    @Query("DELETE FROM ProviderAvailability pa WHERE pa.serviceProviderProfile.id = :serviceProviderProfileId")
+    void deleteByServiceProviderProfileId(@Param("serviceProviderProfileId") UUID serviceProviderProfileId);
+}
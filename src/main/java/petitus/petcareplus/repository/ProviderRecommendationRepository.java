@@ -0,0 +1,149 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import petitus.petcareplus.model.ProviderRecommendation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProviderRecommendationRepository extends JpaRepository<ProviderRecommendation, UUID> {
+
+        // Score in [0, 1]: 0.4 demand (saturating recency-weighted completed bookings), 0.3 Bayesian rating
+        // (prior 3.5 stars worth 5 reviews), 0.2 non-cancellation rate, 0.1 responsiveness (1h to accept = 0.5).
+        // Booking signals cover the last 180 days.
+        String UPSERT_SCORES = """
+                        INSERT INTO provider_recommendations (provider_service_id, provider_id, service_id, area, score,
+                                booking_score, cancellation_rate, avg_response_minutes, updated_at)
+                        SELECT ps.id, ps.provider_id, ps.service_id, LEFT(spp.geohash, 4),
+                                0.4 * (1 - EXP(-b.booking_score / 10))
+                                        + 0.3 * (ps.rating_sum + 3.5 * 5) / (ps.rating_count + 5) / 5
+                                        + 0.2 * (1 - b.cancellation_rate)
+                                        + 0.1 * COALESCE(60 / (60 + b.avg_response_minutes), 0.5),
+                                b.booking_score, b.cancellation_rate, b.avg_response_minutes, NOW()
+                        FROM provider_services ps
+                        LEFT JOIN profiles p ON p.user_id = ps.provider_id
+                        LEFT JOIN service_provider_profiles spp ON spp.profile_id = p.id
+                        CROSS JOIN LATERAL (
+                                SELECT COALESCE(SUM(EXP(-EXTRACT(EPOCH FROM NOW() - COALESCE(bk.actual_endtime, bk.updated_at))
+                                                / 2592000)) FILTER (WHERE bk.status = 'COMPLETED'), 0) AS booking_score,
+                                        COALESCE(CAST(COUNT(*) FILTER (WHERE bk.status = 'CANCELLED') AS double precision)
+                                                / NULLIF(COUNT(*), 0), 0) AS cancellation_rate,
+                                        AVG(EXTRACT(EPOCH FROM bk.accepted_at - bk.created_at) / 60) AS avg_response_minutes
+                                FROM bookings bk
+                                WHERE bk.provider_service_id = ps.id
+                                AND bk.created_at >= NOW() - INTERVAL '180 days'
+                        ) b
+                        WHERE ps.deleted_at IS NULL
+                        """;
+
+        String ON_CONFLICT = """
+
+                        ON CONFLICT (provider_service_id) DO UPDATE SET
+                                provider_id = EXCLUDED.provider_id,
+                                service_id = EXCLUDED.service_id,
+                                area = EXCLUDED.area,
+                                score = EXCLUDED.score,
+                                booking_score = EXCLUDED.booking_score,
+                                cancellation_rate = EXCLUDED.cancellation_rate,
+                                avg_response_minutes = EXCLUDED.avg_response_minutes,
+                                updated_at = EXCLUDED.updated_at
+                        """;
+
+        // Provider services touched since the last run: booking changes, reviews, listing or business profile edits
+        String CHANGED_SINCE = """
+                        AND ps.id IN (
+                                SELECT bk.provider_service_id FROM bookings bk WHERE bk.change_seq > :sinceSeq
+                                UNION
+                                SELECT sr.provider_service_id FROM service_reviews sr WHERE sr.updated_at > :since
+                                UNION
+                                SELECT ps2.id FROM provider_services ps2 WHERE ps2.updated_at > :since
+                                UNION
+                                SELECT ps3.id FROM provider_services ps3
+                                JOIN profiles p3 ON p3.user_id = ps3.provider_id
+                                JOIN service_provider_profiles spp3 ON spp3.profile_id = p3.id
+                                WHERE spp3.updated_at > :since)
+                        """;
+
+        String TOP_SELECT = """
+                        SELECT r.provider_service_id AS providerServiceId, r.provider_id AS providerId,
+                                r.service_id AS serviceId, spp.business_name AS businessName,
+                                concat_ws(' ', u.last_name, u.name) AS providerName, p.avatar_url AS avatarUrl,
+                                ds.name AS serviceName, ps.custom_price AS price, ps.rating AS rating,
+                                ps.rating_count AS reviewCount, r.score AS score
+                        FROM provider_recommendations r
+                        JOIN provider_services ps ON ps.id = r.provider_service_id
+                        JOIN users u ON u.id = r.provider_id
+                        JOIN services ds ON ds.id = r.service_id
+                        LEFT JOIN profiles p ON p.user_id = r.provider_id
+                        LEFT JOIN service_provider_profiles spp ON spp.profile_id = p.id
+                        WHERE ps.deleted_at IS NULL
+                        """;
+
+        String TOP_ORDER = """
+
+                        ORDER BY r.score DESC
+                        LIMIT :limit
+                        """;
+
+        interface RecommendationRow {
+                UUID getProviderServiceId();
+
+                UUID getProviderId();
+
+                UUID getServiceId();
+
+                String getBusinessName();
+
+                String getProviderName();
+
+                String getAvatarUrl();
+
+                String getServiceName();
+
+                BigDecimal getPrice();
+
+                Double getRating();
+
+                Long getReviewCount();
+
+                Double getScore();
+        }
+
+        @Modifying
+        @Query(value = UPSERT_SCORES + CHANGED_SINCE + ON_CONFLICT, nativeQuery = true)
+        int refreshChanged(@Param("sinceSeq") long sinceSeq, @Param("since") LocalDateTime since);
+
+        @Modifying
+        @Query(value = UPSERT_SCORES + ON_CONFLICT, nativeQuery = true)
+        int rebuildAll();
+
+        @Modifying
+        @Query(value = """
+                        DELETE FROM provider_recommendations r
+                        USING provider_services ps
+                        WHERE ps.id = r.provider_service_id AND ps.deleted_at IS NOT NULL
+                        """, nativeQuery = true)
+        int deleteInactive();
+
+        @Query(value = "SELECT COALESCE(MAX(change_seq), 0) FROM bookings", nativeQuery = true)
+        long findMaxBookingChangeSeq();
+
+        // Top-K reads use the matching (..., score DESC) index; area reads take the best rows of each cell
+        @Query(value = TOP_SELECT + "AND r.service_id = :serviceId" + TOP_ORDER, nativeQuery = true)
+        List<RecommendationRow> findTopByService(@Param("serviceId") UUID serviceId, @Param("limit") int limit);
+
+        @Query(value = TOP_SELECT + "AND r.area IN (:areas)" + TOP_ORDER, nativeQuery = true)
+        List<RecommendationRow> findTopByAreas(@Param("areas") Collection<String> areas, @Param("limit") int limit);
+
+        @Query(value = TOP_SELECT + "AND r.area IN (:areas) AND r.service_id = :serviceId" + TOP_ORDER,
+                        nativeQuery = true)
+        List<RecommendationRow> findTopByAreasAndService(@Param("areas") Collection<String> areas,
+                        @Param("serviceId") UUID serviceId,
+                        @Param("limit") int limit);
+}
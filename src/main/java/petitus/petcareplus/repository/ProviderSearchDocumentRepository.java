@@ -0,0 +1,103 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import petitus.petcareplus.model.ProviderSearchDocument;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Repository
+public interface ProviderSearchDocumentRepository extends JpaRepository<ProviderSearchDocument, UUID> {
+
+        String UPSERT_DOCUMENTS = """
+                        INSERT INTO provider_search_documents (provider_service_id, provider_id, document, search_text, updated_at)
+                        SELECT ps.id, ps.provider_id,
+                                setweight(to_tsvector('simple', unaccent(concat_ws(' ', spp.business_name, u.last_name, u.name, ds.name))), 'A')
+                                || setweight(to_tsvector('simple', unaccent(COALESCE(spp.business_address, ''))), 'B')
+                                || setweight(to_tsvector('simple', unaccent(COALESCE(spp.business_bio, ''))), 'C'),
+                                lower(unaccent(concat_ws(' ', spp.business_name, u.last_name, u.name, ds.name))),
+                                NOW()
+                        FROM provider_services ps
+                        JOIN users u ON u.id = ps.provider_id
+                        JOIN services ds ON ds.id = ps.service_id
+                        LEFT JOIN profiles p ON p.user_id = ps.provider_id
+                        LEFT JOIN service_provider_profiles spp ON spp.profile_id = p.id
+                        """;
+
+        String ON_CONFLICT = """
+                         ON CONFLICT (provider_service_id) DO UPDATE SET
+                                document = EXCLUDED.document,
+                                search_text = EXCLUDED.search_text,
+                                updated_at = NOW()
+                        """;
+
+        String SEARCH_FROM = """
+                        FROM provider_search_documents d
+                        JOIN provider_services ps ON ps.id = d.provider_service_id
+                        JOIN users u ON u.id = ps.provider_id
+                        JOIN services ds ON ds.id = ps.service_id
+                        LEFT JOIN profiles p ON p.user_id = ps.provider_id
+                        LEFT JOIN service_provider_profiles spp ON spp.profile_id = p.id
+                        WHERE (d.document @@ plainto_tsquery('simple', unaccent(:query))
+                                OR lower(unaccent(:query)) <% d.search_text)
+                        AND ps.deleted_at IS NULL
+                        AND (CAST(:minRating AS double precision) IS NULL OR spp.rating >= :minRating)
+                        AND (CAST(:minPrice AS numeric) IS NULL OR ps.custom_price >= :minPrice)
+                        AND (CAST(:maxPrice AS numeric) IS NULL OR ps.custom_price <= :maxPrice)
+                        """;
+
+        interface SearchRow {
+                UUID getProviderServiceId();
+
+                UUID getProviderId();
+
+                UUID getServiceId();
+
+                String getBusinessName();
+
+                String getProviderName();
+
+                String getServiceName();
+
+                BigDecimal getPrice();
+
+                Double getRating();
+
+                Double getRelevance();
+        }
+
+        @Modifying(flushAutomatically = true)
+        @Query(value = UPSERT_DOCUMENTS + "WHERE ps.provider_id = :providerId" + ON_CONFLICT, nativeQuery = true)
+        int refreshProvider(@Param("providerId") UUID providerId);
+
+        @Modifying(flushAutomatically = true)
+        @Query(value = UPSERT_DOCUMENTS + "WHERE ps.service_id = :serviceId" + ON_CONFLICT, nativeQuery = true)
+        int refreshService(@Param("serviceId") UUID serviceId);
+
+        @Modifying
+        @Query(value = UPSERT_DOCUMENTS + ON_CONFLICT, nativeQuery = true)
+        int rebuildAll();
+
+        // Full-text match or trigram word similarity, ranked by relevance and then rating
+        @Query(value = """
+                        SELECT ps.id AS providerServiceId, ps.provider_id AS providerId, ps.service_id AS serviceId,
+                                spp.business_name AS businessName, concat_ws(' ', u.last_name, u.name) AS providerName,
+                                ds.name AS serviceName, ps.custom_price AS price, spp.rating AS rating,
+                                ts_rank(d.document, plainto_tsquery('simple', unaccent(:query)))
+                                        + word_similarity(lower(unaccent(:query)), d.search_text) AS relevance
+                        """ + SEARCH_FROM + """
+                        ORDER BY relevance DESC, spp.rating DESC NULLS LAST, ps.id
+                        """, countQuery = "SELECT COUNT(*) " + SEARCH_FROM, nativeQuery = true)
+        Page<SearchRow> search(@Param("query") String query,
+                        @Param("minRating") Double minRating,
+                        @Param("minPrice") BigDecimal minPrice,
+                        @Param("maxPrice") BigDecimal maxPrice,
+                        Pageable pageable);
+}
@@ -2,15 +2,19 @@ package petitus.petcareplus.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import petitus.petcareplus.model.ProviderService;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ProviderServiceRepository
-        extends JpaRepository<ProviderService, UUID>, JpaSpecificationExecutor<ProviderService> {
+        extends JpaRepository<ProviderService, UUID>, JpaSpecificationExecutor<ProviderService>,
+        ProviderServiceRepositoryCustom {
 
     @Query("SELECT ps FROM ProviderService ps WHERE ps.deletedAt IS NULL AND ps.provider.id = :providerId")
     List<ProviderService> findByProviderId(UUID providerId);
@@ -21,15 +25,35 @@ public interface ProviderServiceRepository
     @Query("SELECT ps FROM ProviderService ps WHERE ps.deletedAt IS NULL AND ps.provider.id = :providerId")
     List<ProviderService> findActiveServicesByProviderId(UUID providerId);
 
+    @Query("SELECT ps.service.id FROM ProviderService ps WHERE ps.deletedAt IS NULL AND ps.provider.id = :providerId")
+    Set<UUID> findActiveServiceIdsByProviderId(UUID providerId);
+
     @Query("SELECT ps FROM ProviderService ps WHERE ps.deletedAt IS NULL AND ps.provider.id = :providerId AND ps.service.id = :serviceId")
     Optional<ProviderService> findActiveByProviderIdAndServiceId(UUID providerId, UUID serviceId);
 
     // Tìm bao gồm cả soft deleted
     Optional<ProviderService> findByProviderIdAndServiceId(UUID providerId, UUID serviceId);
 
-    @Query("SELECT ps FROM ProviderService ps WHERE ps.deletedAt IS NULL")
-    List<ProviderService> findAllActiveService();
-
     @Query("SELECT ps FROM ProviderService ps WHERE ps.deletedAt IS NULL AND ps.id = :id")
     Optional<ProviderService> findById(UUID id);
-}
\ No newline at end of file
+
+    // Copies the service's totals from its review summary row, the single source of rating totals
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE provider_services ps SET rating_sum = rs.rating_sum, rating_count = rs.review_count, " +
+            "rating = CASE WHEN rs.review_count > 0 " +
+            "THEN CAST(rs.rating_sum AS double precision) / rs.review_count ELSE 0 END " +
+            "FROM review_summaries rs " +
+            "WHERE rs.scope = 'PROVIDER_SERVICE' AND rs.subject_id = ps.id AND ps.id = :id", nativeQuery = true)
+    int copyRatingFromSummary(@Param("id") UUID id);
+
+    // Rewrites totals that drifted from the review summaries; returns the number of fixed rows
+    @Modifying
+    @Query(value = "UPDATE provider_services ps SET rating_sum = t.rating_sum, rating_count = t.rating_count, " +
+            "rating = CASE WHEN t.rating_count > 0 THEN CAST(t.rating_sum AS double precision) / t.rating_count ELSE 0 END " +
+            "FROM (SELECT p.id, COALESCE(rs.rating_sum, 0) AS rating_sum, COALESCE(rs.review_count, 0) AS rating_count " +
+            "      FROM provider_services p " +
+            "      LEFT JOIN review_summaries rs ON rs.scope = 'PROVIDER_SERVICE' AND rs.subject_id = p.id) t " +
+            "WHERE ps.id = t.id AND (ps.rating_sum <> t.rating_sum OR ps.rating_count <> t.rating_count)",
+            nativeQuery = true)
+    int reconcileRatings();
+}
@@ -0,0 +1,14 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import petitus.petcareplus.dto.response.service.ProviderServiceResponse;
+import petitus.petcareplus.model.ProviderService;
+
+public interface ProviderServiceRepositoryCustom {
+
+    // Listing with the provider's name and avatar and the service joined in; see ProjectionQueries
+    Page<ProviderServiceResponse> findAllAsResponses(Specification<ProviderService> specification,
+            Pageable pageable);
+}
@@ -0,0 +1,76 @@
+package petitus.petcareplus.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import petitus.petcareplus.dto.response.service.ProviderServiceResponse;
+import petitus.petcareplus.model.DefaultService;
+import petitus.petcareplus.model.ProviderService;
+import petitus.petcareplus.model.User;
+import petitus.petcareplus.model.profile.Profile;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class ProviderServiceRepositoryImpl implements ProviderServiceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProviderServiceResponse> findAllAsResponses(Specification<ProviderService> specification,
+            Pageable pageable) {
+        return ProjectionQueries.findPage(entityManager, ProviderService.class, specification, pageable,
+                this::columns, this::mapToProviderServiceResponse);
+    }
+
+    private List<Selection<?>> columns(Root<ProviderService> root, CriteriaBuilder builder) {
+        Join<ProviderService, User> provider = root.join("provider");
+        Join<User, Profile> providerProfile = provider.join("profile", JoinType.LEFT);
+        Join<ProviderService, DefaultService> service = root.join("service");
+
+        return List.of(
+                root.get("id").alias("id"),
+                provider.get("id").alias("providerId"),
+                provider.get("lastName").alias("providerLastName"),
+                provider.get("name").alias("providerFirstName"),
+                providerProfile.get("avatarUrl").alias("providerAvatar"),
+                service.get("id").alias("serviceId"),
+                service.get("name").alias("serviceName"),
+                service.get("basePrice").alias("basePrice"),
+                service.get("iconUrl").alias("iconUrl"),
+                root.get("customPrice").alias("customPrice"),
+                root.get("customDescription").alias("customDescription"),
+                root.get("rating").alias("rating"),
+                root.get("ratingCount").alias("reviewCount"),
+                root.get("createdAt").alias("createdAt"));
+    }
+
+    private ProviderServiceResponse mapToProviderServiceResponse(Tuple row) {
+        return ProviderServiceResponse.builder()
+                .id(row.get("id", UUID.class))
+                .providerId(row.get("providerId", UUID.class))
+                .serviceId(row.get("serviceId", UUID.class))
+                .serviceName(row.get("serviceName", String.class))
+                .providerName(ProjectionQueries.fullName(row, "providerLastName", "providerFirstName"))
+                .providerAvatar(row.get("providerAvatar", String.class))
+                .rating(row.get("rating", Double.class))
+                .reviewCount(row.get("reviewCount", Long.class))
+                .basePrice(row.get("basePrice", BigDecimal.class))
+                .customPrice(row.get("customPrice", BigDecimal.class))
+                .customDescription(row.get("customDescription", String.class))
+                .iconUrl(row.get("iconUrl", String.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import petitus.petcareplus.model.ProviderServiceStats;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProviderServiceStatsRepository extends JpaRepository<ProviderServiceStats, UUID> {
+
+        // Atomic upsert-increment, safe under concurrent status changes
+        @Modifying
+        @Query(value = """
+                        INSERT INTO provider_service_stats (provider_service_id, total_bookings, completed_bookings,
+                                cancelled_bookings, revenue, updated_at)
+                        VALUES (:providerServiceId, :totalDelta, :completedDelta, :cancelledDelta, :revenueDelta, NOW())
+                        ON CONFLICT (provider_service_id) DO UPDATE SET
+                                total_bookings = provider_service_stats.total_bookings + EXCLUDED.total_bookings,
+                                completed_bookings = provider_service_stats.completed_bookings + EXCLUDED.completed_bookings,
+                                cancelled_bookings = provider_service_stats.cancelled_bookings + EXCLUDED.cancelled_bookings,
+                                revenue = provider_service_stats.revenue + EXCLUDED.revenue,
+                                updated_at = NOW()
+                        """, nativeQuery = true)
+        void increment(@Param("providerServiceId") UUID providerServiceId,
+                        @Param("totalDelta") long totalDelta,
+                        @Param("completedDelta") long completedDelta,
+                        @Param("cancelledDelta") long cancelledDelta,
+                        @Param("revenueDelta") BigDecimal revenueDelta);
+
+        @Query("""
+                        SELECT s FROM ProviderServiceStats s
+                        JOIN FETCH s.providerService ps
+                        JOIN FETCH ps.provider p
+                        LEFT JOIN FETCH p.profile pf
+                        LEFT JOIN FETCH pf.serviceProviderProfile
+                        JOIN FETCH ps.service
+                        WHERE ps.deletedAt IS NULL
+                        AND s.totalBookings > 0
+                        ORDER BY s.totalBookings DESC
+                        """)
+        List<ProviderServiceStats> findTopByTotalBookings(Pageable pageable);
+
+        // Recompute every row from bookings to correct any drift
+        @Modifying
+        @Query(value = """
+                        INSERT INTO provider_service_stats (provider_service_id, total_bookings, completed_bookings,
+                                cancelled_bookings, revenue, updated_at)
+                        SELECT b.provider_service_id,
+                                COUNT(*) FILTER (WHERE b.status <> 'CANCELLED' AND b.deleted_at IS NULL),
+                                COUNT(*) FILTER (WHERE b.status = 'COMPLETED' AND b.deleted_at IS NULL),
+                                COUNT(*) FILTER (WHERE b.status = 'CANCELLED'),
+                                COALESCE(SUM(b.total_price) FILTER (WHERE b.status = 'COMPLETED' AND b.deleted_at IS NULL), 0),
+                                NOW()
+                        FROM bookings b
+                        GROUP BY b.provider_service_id
+                        ON CONFLICT (provider_service_id) DO UPDATE SET
+                                total_bookings = EXCLUDED.total_bookings,
+                                completed_bookings = EXCLUDED.completed_bookings,
+                                cancelled_bookings = EXCLUDED.cancelled_bookings,
+                                revenue = EXCLUDED.revenue,
+                                updated_at = NOW()
+                        """, nativeQuery = true)
+        int rebuildAll();
+}
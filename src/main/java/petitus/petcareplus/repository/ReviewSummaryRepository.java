@@ -0,0 +1,132 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import petitus.petcareplus.model.ReviewSummary;
+import petitus.petcareplus.model.ReviewSummaryId;
+
+import java.util.UUID;
+
+@Repository
+public interface ReviewSummaryRepository extends JpaRepository<ReviewSummary, ReviewSummaryId> {
+
+        // Atomic upsert-increment of the counters and histogram
+        @Modifying(flushAutomatically = true)
+        @Query(value = """
+                        INSERT INTO review_summaries (scope, subject_id, review_count, rating_sum,
+                                star_1, star_2, star_3, star_4, star_5, latest_review_ids, updated_at)
+                        VALUES (:scope, :subjectId, :countDelta, :sumDelta,
+                                :star1, :star2, :star3, :star4, :star5, '[]'::jsonb, NOW())
+                        ON CONFLICT (scope, subject_id) DO UPDATE SET
+                                review_count = review_summaries.review_count + EXCLUDED.review_count,
+                                rating_sum = review_summaries.rating_sum + EXCLUDED.rating_sum,
+                                star_1 = review_summaries.star_1 + EXCLUDED.star_1,
+                                star_2 = review_summaries.star_2 + EXCLUDED.star_2,
+                                star_3 = review_summaries.star_3 + EXCLUDED.star_3,
+                                star_4 = review_summaries.star_4 + EXCLUDED.star_4,
+                                star_5 = review_summaries.star_5 + EXCLUDED.star_5,
+                                updated_at = NOW()
+                        """, nativeQuery = true)
+        void increment(@Param("scope") String scope,
+                        @Param("subjectId") UUID subjectId,
+                        @Param("countDelta") long countDelta,
+                        @Param("sumDelta") long sumDelta,
+                        @Param("star1") long star1,
+                        @Param("star2") long star2,
+                        @Param("star3") long star3,
+                        @Param("star4") long star4,
+                        @Param("star5") long star5);
+
+        // Newest reviews of one provider service, read through idx_service_reviews_provider_service_created_at
+        @Modifying
+        @Query(value = """
+                        UPDATE review_summaries SET latest_review_ids = COALESCE((
+                                SELECT jsonb_agg(r.id ORDER BY r.created_at DESC) FROM (
+                                        SELECT sr.id, sr.created_at FROM service_reviews sr
+                                        WHERE sr.provider_service_id = :providerServiceId AND sr.deleted_at IS NULL
+                                        ORDER BY sr.created_at DESC LIMIT :limit) r), '[]'::jsonb)
+                        WHERE scope = 'PROVIDER_SERVICE' AND subject_id = :providerServiceId
+                        """, nativeQuery = true)
+        void refreshLatestForProviderService(@Param("providerServiceId") UUID providerServiceId,
+                        @Param("limit") int limit);
+
+        @Modifying
+        @Query(value = """
+                        UPDATE review_summaries SET latest_review_ids = COALESCE((
+                                SELECT jsonb_agg(r.id ORDER BY r.created_at DESC) FROM (
+                                        SELECT sr.id, sr.created_at FROM service_reviews sr
+                                        JOIN provider_services ps ON ps.id = sr.provider_service_id
+                                        WHERE ps.provider_id = :providerId AND sr.deleted_at IS NULL
+                                        ORDER BY sr.created_at DESC LIMIT :limit) r), '[]'::jsonb)
+                        WHERE scope = 'PROVIDER' AND subject_id = :providerId
+                        """, nativeQuery = true)
+        void refreshLatestForProvider(@Param("providerId") UUID providerId, @Param("limit") int limit);
+
+        // Recompute every column from the reviews, latest ids included, and rewrite the rows that drifted
+        @Modifying
+        @Query(value = """
+                        INSERT INTO review_summaries (scope, subject_id, review_count, rating_sum,
+                                star_1, star_2, star_3, star_4, star_5, latest_review_ids, updated_at)
+                        SELECT t.scope, t.subject_id, COUNT(*), SUM(t.rating),
+                                COUNT(*) FILTER (WHERE t.rating = 1),
+                                COUNT(*) FILTER (WHERE t.rating = 2),
+                                COUNT(*) FILTER (WHERE t.rating = 3),
+                                COUNT(*) FILTER (WHERE t.rating = 4),
+                                COUNT(*) FILTER (WHERE t.rating = 5),
+                                to_jsonb((array_agg(t.id ORDER BY t.created_at DESC))[1:CAST(:limit AS int)]),
+                                NOW()
+                        FROM (
+                                SELECT 'PROVIDER_SERVICE' AS scope, sr.provider_service_id AS subject_id,
+                                        sr.id, sr.rating, sr.created_at
+                                FROM service_reviews sr WHERE sr.deleted_at IS NULL
+                                UNION ALL
+                                SELECT 'PROVIDER', ps.provider_id, sr.id, sr.rating, sr.created_at
+                                FROM service_reviews sr JOIN provider_services ps ON ps.id = sr.provider_service_id
+                                WHERE sr.deleted_at IS NULL
+                        ) t
+                        GROUP BY t.scope, t.subject_id
+                        ON CONFLICT (scope, subject_id) DO UPDATE SET
+                                review_count = EXCLUDED.review_count,
+                                rating_sum = EXCLUDED.rating_sum,
+                                star_1 = EXCLUDED.star_1,
+                                star_2 = EXCLUDED.star_2,
+                                star_3 = EXCLUDED.star_3,
+                                star_4 = EXCLUDED.star_4,
+                                star_5 = EXCLUDED.star_5,
+                                latest_review_ids = EXCLUDED.latest_review_ids,
+                                updated_at = NOW()
+                        WHERE (review_summaries.review_count, review_summaries.rating_sum,
+                                        review_summaries.star_1, review_summaries.star_2, review_summaries.star_3,
+                                        review_summaries.star_4, review_summaries.star_5,
+                                        review_summaries.latest_review_ids)
+                                IS DISTINCT FROM (EXCLUDED.review_count, EXCLUDED.rating_sum,
+                                        EXCLUDED.star_1, EXCLUDED.star_2, EXCLUDED.star_3,
+                                        EXCLUDED.star_4, EXCLUDED.star_5, EXCLUDED.latest_review_ids)
+                        """, nativeQuery = true)
+        int rebuildAll(@Param("limit") int limit);
+
+        // Rows whose subject has no reviews left do not show up in the rebuild and are reset here
+        @Modifying
+        @Query(value = """
+                        UPDATE review_summaries rs SET review_count = 0, rating_sum = 0,
+                                star_1 = 0, star_2 = 0, star_3 = 0, star_4 = 0, star_5 = 0,
+                                latest_review_ids = '[]'::jsonb, updated_at = NOW()
+                        WHERE (rs.review_count, rs.rating_sum, rs.star_1, rs.star_2, rs.star_3, rs.star_4, rs.star_5,
+                                        rs.latest_review_ids)
+                                IS DISTINCT FROM (0, 0, 0, 0, 0, 0, 0, '[]'::jsonb)
+                                AND CASE rs.scope
+                                        WHEN 'PROVIDER_SERVICE' THEN NOT EXISTS (
+                                                SELECT 1 FROM service_reviews sr
+                                                WHERE sr.provider_service_id = rs.subject_id AND sr.deleted_at IS NULL)
+                                        ELSE NOT EXISTS (
+                                                SELECT 1 FROM service_reviews sr
+                                                JOIN provider_services ps ON ps.id = sr.provider_service_id
+                                                WHERE ps.provider_id = rs.subject_id AND sr.deleted_at IS NULL)
+                                END
+                        """, nativeQuery = true)
+        int resetEmpty();
+}
@@ -1,10 +1,13 @@
 package petitus.petcareplus.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import petitus.petcareplus.model.ServiceBooking;
 import petitus.petcareplus.model.ServiceBookingId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,4 +17,7 @@ public interface ServiceBookingRepository extends JpaRepository<ServiceBooking,
     List<ServiceBooking> findByBookingId(UUID bookingId);
 
     List<ServiceBooking> findByServiceId(UUID serviceId);
-}
\ No newline at end of file
+
+    @Query("SELECT sb FROM ServiceBooking sb WHERE sb.id.bookingId IN :bookingIds")
+    List<ServiceBooking> findByBookingIdIn(@Param("bookingIds") Collection<UUID> bookingIds);
+}
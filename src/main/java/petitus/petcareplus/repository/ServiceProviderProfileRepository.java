@@ -2,10 +2,105 @@ package petitus.petcareplus.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import petitus.petcareplus.model.profile.ServiceProviderProfile;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ServiceProviderProfileRepository extends JpaRepository<ServiceProviderProfile, UUID>, JpaSpecificationExecutor<ServiceProviderProfile> {
     ServiceProviderProfile findByProfileId(UUID profileId);
+
+    List<ServiceProviderProfile> findAllByAvailableTimeIsNotNull();
+
+    interface NearbyRow {
+        UUID getId();
+
+        UUID getProviderId();
+
+        String getBusinessName();
+
+        String getBusinessAddress();
+
+        String getAvatarUrl();
+
+        Double getRating();
+
+        Long getReviewCount();
+
+        Double getLatitude();
+
+        Double getLongitude();
+
+        Double getDistanceKm();
+    }
+
+    // Geohash cell ranges prune through idx_service_provider_profiles_geohash; haversine distance does the rest
+    @Query(value = """
+            SELECT spp.id AS id, p.user_id AS providerId, spp.business_name AS businessName,
+                    spp.business_address AS businessAddress, p.avatar_url AS avatarUrl, spp.rating AS rating,
+                    spp.rating_count AS reviewCount, spp.latitude AS latitude, spp.longitude AS longitude,
+                    d.distance_km AS distanceKm
+            FROM service_provider_profiles spp
+            JOIN profiles p ON p.id = spp.profile_id
+            CROSS JOIN LATERAL (SELECT 6371 * 2 * asin(LEAST(1, sqrt(
+                    power(sin(radians(spp.latitude - :latitude) / 2), 2)
+                    + cos(radians(:latitude)) * cos(radians(spp.latitude))
+                    * power(sin(radians(spp.longitude - :longitude) / 2), 2)))) AS distance_km) d
+            WHERE ((spp.geohash >= :cell1 AND spp.geohash < :upper1)
+                    OR (spp.geohash >= :cell2 AND spp.geohash < :upper2)
+                    OR (spp.geohash >= :cell3 AND spp.geohash < :upper3)
+                    OR (spp.geohash >= :cell4 AND spp.geohash < :upper4))
+            AND d.distance_km <= :radiusKm
+            AND p.deleted_at IS NULL
+            AND (CAST(:minRating AS double precision) IS NULL OR spp.rating >= :minRating)
+            AND (CAST(:serviceId AS uuid) IS NULL OR EXISTS (
+                    SELECT 1 FROM provider_services ps
+                    WHERE ps.provider_id = p.user_id AND ps.service_id = :serviceId AND ps.deleted_at IS NULL))
+            ORDER BY d.distance_km, spp.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<NearbyRow> findNearby(@Param("latitude") double latitude,
+            @Param("longitude") double longitude,
+            @Param("radiusKm") double radiusKm,
+            @Param("cell1") String cell1, @Param("upper1") String upper1,
+            @Param("cell2") String cell2, @Param("upper2") String upper2,
+            @Param("cell3") String cell3, @Param("upper3") String upper3,
+            @Param("cell4") String cell4, @Param("upper4") String upper4,
+            @Param("minRating") Double minRating,
+            @Param("serviceId") UUID serviceId,
+            @Param("limit") int limit);
+
+    // Uses the unique indexes on profiles.user_id and service_provider_profiles.profile_id
+    @Query("SELECT spp FROM ServiceProviderProfile spp WHERE spp.profile.user.id = :userId")
+    Optional<ServiceProviderProfile> findByUserId(@Param("userId") UUID userId);
+
+    // Copies the provider's totals from its review summary row, the single source of rating totals
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE service_provider_profiles spp SET rating_sum = rs.rating_sum, " +
+            "rating_count = rs.review_count, " +
+            "rating = CASE WHEN rs.review_count > 0 " +
+            "THEN CAST(rs.rating_sum AS double precision) / rs.review_count ELSE 0 END, " +
+            "updated_at = now() " +
+            "FROM profiles p, review_summaries rs " +
+            "WHERE spp.profile_id = p.id AND p.user_id = :userId " +
+            "AND rs.scope = 'PROVIDER' AND rs.subject_id = p.user_id",
+            nativeQuery = true)
+    int copyRatingFromSummary(@Param("userId") UUID userId);
+
+    // Rewrites totals that drifted from the review summaries; returns the number of fixed profiles
+    @Modifying
+    @Query(value = "UPDATE service_provider_profiles spp SET rating_sum = t.rating_sum, rating_count = t.rating_count, " +
+            "rating = CASE WHEN t.rating_count > 0 THEN CAST(t.rating_sum AS double precision) / t.rating_count ELSE 0 END, " +
+            "updated_at = now() " +
+            "FROM (SELECT s.id, COALESCE(rs.rating_sum, 0) AS rating_sum, COALESCE(rs.review_count, 0) AS rating_count " +
+            "      FROM service_provider_profiles s " +
+            "      JOIN profiles p ON p.id = s.profile_id " +
+            "      LEFT JOIN review_summaries rs ON rs.scope = 'PROVIDER' AND rs.subject_id = p.user_id) t " +
+            "WHERE spp.id = t.id AND (spp.rating_sum <> t.rating_sum OR spp.rating_count <> t.rating_count)",
+            nativeQuery = true)
+    int reconcileRatings();
 }
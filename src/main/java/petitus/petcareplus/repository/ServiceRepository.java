@@ -19,11 +19,8 @@ public interface ServiceRepository
     List<DefaultService> findByNameContainingIgnoreCase(String name);
 
     // find all services that are not deleted
-    default List<DefaultService> findAllActiveServices() {
-        return findAll().stream()
-                .filter(service -> service.getDeletedAt() == null)
-                .toList();
-    }
+    @Query("SELECT s FROM DefaultService s WHERE s.deletedAt IS NULL ORDER BY s.name")
+    List<DefaultService> findAllActiveServices();
 
     @Query("SELECT s FROM DefaultService s WHERE s.deletedAt IS NULL AND s.id = :id")
     Optional<DefaultService> findById(@Param("id") UUID id);
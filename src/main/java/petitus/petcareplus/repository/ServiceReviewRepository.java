@@ -1,9 +1,11 @@
 package petitus.petcareplus.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,10 +17,16 @@ import java.util.UUID;
 
 @Repository
 public interface ServiceReviewRepository
-                extends JpaRepository<ServiceReview, UUID>, JpaSpecificationExecutor<ServiceReview> {
+                extends JpaRepository<ServiceReview, UUID>, JpaSpecificationExecutor<ServiceReview>,
+                ServiceReviewRepositoryCustom {
         @Query("SELECT sr FROM ServiceReview sr WHERE sr.deletedAt IS NULL AND sr.id = :id")
         Optional<ServiceReview> findById(@Param("id") UUID id);
 
+        // Serialises edits and deletes of one review, so rating deltas are taken from the committed rating
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT sr FROM ServiceReview sr WHERE sr.deletedAt IS NULL AND sr.id = :id")
+        Optional<ServiceReview> findByIdForUpdate(@Param("id") UUID id);
+
         @Query("SELECT sr FROM ServiceReview sr WHERE sr.deletedAt IS NULL AND sr.user.id = :userId ORDER BY sr.createdAt DESC")
         List<ServiceReview> findAllByUserId(@Param("userId") UUID userId);
 
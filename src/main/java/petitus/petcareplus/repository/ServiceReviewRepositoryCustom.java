@@ -0,0 +1,13 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import petitus.petcareplus.dto.response.review.ServiceReviewResponse;
+import petitus.petcareplus.model.ServiceReview;
+
+public interface ServiceReviewRepositoryCustom {
+
+    // Listing with the reviewer, provider and service joined in; see ProjectionQueries
+    Page<ServiceReviewResponse> findAllAsResponses(Specification<ServiceReview> specification, Pageable pageable);
+}
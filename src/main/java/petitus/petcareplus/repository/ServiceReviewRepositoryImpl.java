@@ -0,0 +1,85 @@
+package petitus.petcareplus.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import petitus.petcareplus.dto.response.review.ServiceReviewResponse;
+import petitus.petcareplus.model.DefaultService;
+import petitus.petcareplus.model.ProviderService;
+import petitus.petcareplus.model.ServiceReview;
+import petitus.petcareplus.model.User;
+import petitus.petcareplus.model.profile.Profile;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class ServiceReviewRepositoryImpl implements ServiceReviewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ServiceReviewResponse> findAllAsResponses(Specification<ServiceReview> specification,
+            Pageable pageable) {
+        return ProjectionQueries.findPage(entityManager, ServiceReview.class, specification, pageable,
+                this::columns, this::mapToServiceReviewResponse);
+    }
+
+    private List<Selection<?>> columns(Root<ServiceReview> root, CriteriaBuilder builder) {
+        Join<ServiceReview, User> user = root.join("user");
+        Join<User, Profile> userProfile = user.join("profile", JoinType.LEFT);
+        Join<ServiceReview, ProviderService> providerService = root.join("providerService");
+        Join<ProviderService, User> provider = providerService.join("provider");
+        Join<ProviderService, DefaultService> service = providerService.join("service");
+
+        return List.of(
+                root.get("id").alias("id"),
+                user.get("id").alias("userId"),
+                user.get("lastName").alias("userLastName"),
+                user.get("name").alias("userFirstName"),
+                userProfile.get("avatarUrl").alias("userAvatar"),
+                provider.get("id").alias("providerId"),
+                provider.get("lastName").alias("providerLastName"),
+                provider.get("name").alias("providerFirstName"),
+                service.get("id").alias("serviceId"),
+                service.get("name").alias("serviceName"),
+                providerService.get("id").alias("providerServiceId"),
+                root.get("booking").get("id").alias("bookingId"),
+                root.get("rating").alias("rating"),
+                root.get("comment").alias("comment"),
+                root.get("ratingHistory").alias("ratingHistory"),
+                root.get("commentHistory").alias("commentHistory"),
+                root.get("createdAt").alias("createdAt"),
+                root.get("updatedAt").alias("updatedAt"));
+    }
+
+    private ServiceReviewResponse mapToServiceReviewResponse(Tuple row) {
+        return ServiceReviewResponse.builder()
+                .id(row.get("id", UUID.class))
+                .userId(row.get("userId", UUID.class))
+                .userName(ProjectionQueries.fullName(row, "userLastName", "userFirstName"))
+                .userAvatar(row.get("userAvatar", String.class))
+                .providerId(row.get("providerId", UUID.class))
+                .providerName(ProjectionQueries.fullName(row, "providerLastName", "providerFirstName"))
+                .serviceId(row.get("serviceId", UUID.class))
+                .serviceName(row.get("serviceName", String.class))
+                .providerServiceId(row.get("providerServiceId", UUID.class))
+                .bookingId(row.get("bookingId", UUID.class))
+                .rating(row.get("rating", Integer.class))
+                .comment(row.get("comment", String.class))
+                .ratingHistory(row.get("ratingHistory", Integer.class))
+                .commentHistory(row.get("commentHistory", String.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+                .updatedAt(row.get("updatedAt", LocalDateTime.class))
+                .build();
+    }
+}
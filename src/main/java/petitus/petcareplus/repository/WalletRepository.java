@@ -1,9 +1,15 @@
 package petitus.petcareplus.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import petitus.petcareplus.model.User;
 import petitus.petcareplus.model.wallet.Wallet;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +18,23 @@ public interface WalletRepository extends JpaRepository<Wallet, UUID> {
     Optional<Wallet> findByUserId(UUID userId);
 
     Optional<Wallet> findByUser(User user);
-}
\ No newline at end of file
+
+    // Atomic balance change; returns 0 when it would make either balance negative
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE wallet SET balance = balance + :balanceDelta, " +
+            "pending_balance = pending_balance + :pendingDelta, " +
+            "version = version + 1, updated_at = now() " +
+            "WHERE id = :walletId AND balance + :balanceDelta >= 0 AND pending_balance + :pendingDelta >= 0",
+            nativeQuery = true)
+    int applyDelta(@Param("walletId") UUID walletId,
+            @Param("balanceDelta") BigDecimal balanceDelta,
+            @Param("pendingDelta") BigDecimal pendingDelta);
+
+    // Current [balance, pending_balance] straight from the row (after applyDelta in the same transaction)
+    @Query(value = "SELECT balance, pending_balance FROM wallet WHERE id = :walletId", nativeQuery = true)
+    List<Object[]> findBalances(@Param("walletId") UUID walletId);
+
+    // [id, balance, pending_balance] for several wallets in one round trip
+    @Query(value = "SELECT id, balance, pending_balance FROM wallet WHERE id IN (:walletIds)", nativeQuery = true)
+    List<Object[]> findBalancesByIds(@Param("walletIds") Collection<UUID> walletIds);
+}
@@ -0,0 +1,38 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import petitus.petcareplus.model.wallet.WalletStatement;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WalletStatementRepository extends JpaRepository<WalletStatement, UUID> {
+
+    Optional<WalletStatement> findByWalletIdAndPeriodStart(UUID walletId, LocalDate periodStart);
+
+    // Snapshot every wallet with activity in [periodStart, periodEnd); closing balance is the
+    // running balance of the period's last entry
+    @Modifying
+    @Query(value = "INSERT INTO wallet_statements (id, wallet_id, period_start, opening_balance, closing_balance, " +
+            "total_credits, total_debits, transaction_count, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), t.wallet_id, CAST(:periodStart AS date), " +
+            "last_entry.balance_after - SUM(t.balance_delta), last_entry.balance_after, " +
+            "SUM(CASE WHEN t.balance_delta > 0 THEN t.balance_delta ELSE 0 END), " +
+            "SUM(CASE WHEN t.balance_delta < 0 THEN -t.balance_delta ELSE 0 END), " +
+            "COUNT(*), now(), now() " +
+            "FROM wallet_transactions t " +
+            "JOIN LATERAL (SELECT l.balance_after FROM wallet_transactions l " +
+            "   WHERE l.wallet_id = t.wallet_id AND l.created_at < :periodEnd " +
+            "   ORDER BY l.created_at DESC, l.id DESC LIMIT 1) last_entry ON true " +
+            "WHERE t.created_at >= :periodStartAt AND t.created_at < :periodEnd " +
+            "GROUP BY t.wallet_id, last_entry.balance_after " +
+            "ON CONFLICT (wallet_id, period_start) DO NOTHING", nativeQuery = true)
+    int snapshotPeriod(@Param("periodStart") LocalDate periodStart,
+            @Param("periodStartAt") LocalDateTime periodStartAt,
+            @Param("periodEnd") LocalDateTime periodEnd);
+}
@@ -3,12 +3,47 @@ package petitus.petcareplus.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import petitus.petcareplus.model.wallet.WalletTransaction;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, UUID> {
 
     Page<WalletTransaction> findByWalletId(UUID walletId, Pageable pageable);
 
+    // Keyset page, newest first, strictly after the (createdAt, id) cursor
+    @Query(value = "SELECT * FROM wallet_transactions t WHERE t.wallet_id = :walletId " +
+            "AND (t.created_at, t.id) < (:beforeCreatedAt, :beforeId) " +
+            "ORDER BY t.created_at DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<WalletTransaction> findPageBefore(@Param("walletId") UUID walletId,
+            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+            @Param("beforeId") UUID beforeId,
+            @Param("limit") int limit);
+
+    // Activity in [from, to): [credits, debits, net balance change, count]
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.balanceDelta > 0 THEN t.balanceDelta ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN t.balanceDelta < 0 THEN -t.balanceDelta ELSE 0 END), 0), " +
+            "COALESCE(SUM(t.balanceDelta), 0), COUNT(t) " +
+            "FROM WalletTransaction t WHERE t.wallet.id = :walletId AND t.createdAt >= :from AND t.createdAt < :to")
+    List<Object[]> summarizePeriod(@Param("walletId") UUID walletId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // Running balance after the last entry before the given time
+    @Query(value = "SELECT t.balance_after FROM wallet_transactions t WHERE t.wallet_id = :walletId " +
+            "AND t.created_at < :before ORDER BY t.created_at DESC, t.id DESC LIMIT 1", nativeQuery = true)
+    Optional<BigDecimal> findBalanceBefore(@Param("walletId") UUID walletId,
+            @Param("before") LocalDateTime before);
+
+    // Ledger totals [balance, pending] for checking a wallet against its entries
+    @Query("SELECT COALESCE(SUM(t.balanceDelta), 0), COALESCE(SUM(t.pendingDelta), 0) " +
+            "FROM WalletTransaction t WHERE t.wallet.id = :walletId")
+    List<Object[]> sumDeltasByWalletId(@Param("walletId") UUID walletId);
+
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package petitus.petcareplus.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import petitus.petcareplus.model.wallet.WithdrawalLimitCounter;
+import petitus.petcareplus.model.wallet.WithdrawalLimitCounterId;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface WithdrawalLimitCounterRepository extends JpaRepository<WithdrawalLimitCounter, WithdrawalLimitCounterId> {
+
+    // Add the amount to the period's counter only if it stays within the limit. Returns 0 when the
+    // limit would be exceeded; the row lock serializes concurrent requests of the same provider.
+    @Modifying
+    @Query(value = "INSERT INTO withdrawal_limit_counters (provider_id, period_type, period_start, total) " +
+            "SELECT :providerId, :periodType, :periodStart, :amount WHERE :amount <= :limit " +
+            "ON CONFLICT (provider_id, period_type, period_start) DO UPDATE " +
+            "SET total = withdrawal_limit_counters.total + EXCLUDED.total " +
+            "WHERE withdrawal_limit_counters.total + EXCLUDED.total <= :limit", nativeQuery = true)
+    int reserve(@Param("providerId") UUID providerId,
+            @Param("periodType") String periodType,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("amount") BigDecimal amount,
+            @Param("limit") BigDecimal limit);
+
+    @Modifying
+    @Query(value = "UPDATE withdrawal_limit_counters SET total = GREATEST(total - :amount, 0) " +
+            "WHERE provider_id = :providerId AND period_type = :periodType AND period_start = :periodStart",
+            nativeQuery = true)
+    int release(@Param("providerId") UUID providerId,
+            @Param("periodType") String periodType,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("amount") BigDecimal amount);
+}
@@ -4,12 +4,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import petitus.petcareplus.model.wallet.Withdrawal;
+import jakarta.persistence.LockModeType;
 import petitus.petcareplus.utils.enums.WithdrawalStatus;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface WithdrawalRepository extends JpaRepository<Withdrawal, UUID>, JpaSpecificationExecutor<Withdrawal> {
@@ -20,21 +25,36 @@ public interface WithdrawalRepository extends JpaRepository<Withdrawal, UUID>, J
 
         Page<Withdrawal> findByStatusOrderByCreatedAtDesc(WithdrawalStatus status, Pageable pageable);
 
-        @Query("SELECT COALESCE(SUM(w.amount), 0) FROM Withdrawal w " +
-                        "WHERE w.provider.id = :providerId " +
-                        "AND w.status NOT IN ('REJECTED', 'FAILED') " +
-                        "AND DATE(w.createdAt) = DATE(CURRENT_DATE)")
-        BigDecimal getTodayWithdrawalTotal(@Param("providerId") UUID providerId);
-
-        @Query("SELECT COALESCE(SUM(w.amount), 0) FROM Withdrawal w " +
-                        "WHERE w.provider.id = :providerId " +
-                        "AND w.status NOT IN ('REJECTED', 'FAILED') " +
-                        "AND YEAR(w.createdAt) = YEAR(CURRENT_DATE) " +
-                        "AND MONTH(w.createdAt) = MONTH(CURRENT_DATE)")
-        BigDecimal getMonthWithdrawalTotal(@Param("providerId") UUID providerId);
-
         @Query("SELECT COUNT(w) FROM Withdrawal w " +
                         "WHERE w.provider.id = :providerId " +
                         "AND w.status = 'PENDING'")
         Long countPendingWithdrawals(@Param("providerId") UUID providerId);
+
+        // Locks a chunk of withdrawals so their statuses cannot change while a bulk action runs
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT w FROM Withdrawal w WHERE w.id IN :ids")
+        List<Withdrawal> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Withdrawal w SET w.status = 'APPROVED', w.adminNote = :adminNote, " +
+                        "w.processedAt = :processedAt, w.processedBy = :processedBy, " +
+                        "w.version = w.version + 1, w.updatedAt = :processedAt " +
+                        "WHERE w.id IN :ids AND w.status = 'PENDING'")
+        int approveAll(@Param("ids") Collection<UUID> ids,
+                        @Param("adminNote") String adminNote,
+                        @Param("processedBy") String processedBy,
+                        @Param("processedAt") LocalDateTime processedAt);
+
+        // Each row gets its own reference: batch reference plus the first 8 hex digits of its id
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query(value = "UPDATE withdrawals SET status = 'COMPLETED', admin_note = :adminNote, " +
+                        "transaction_ref = :batchRef || '-' || upper(substr(replace(CAST(id AS text), '-', ''), 1, 8)), " +
+                        "processed_at = COALESCE(processed_at, now()), processed_by = COALESCE(processed_by, :processedBy), " +
+                        "version = version + 1, updated_at = now() " +
+                        "WHERE id IN (:ids) AND status IN ('PENDING', 'APPROVED')",
+                        nativeQuery = true)
+        int completeAll(@Param("ids") Collection<UUID> ids,
+                        @Param("adminNote") String adminNote,
+                        @Param("processedBy") String processedBy,
+                        @Param("batchRef") String batchRef);
 }
\ No newline at end of file
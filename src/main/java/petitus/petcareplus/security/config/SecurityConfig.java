@@ -43,6 +43,7 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(request -> request.requestMatchers("/auth/me").authenticated()
                         .requestMatchers("/admin/**").hasAuthority("ADMIN")
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/ws/**").authenticated()
                         .requestMatchers("/ws").authenticated()
@@ -59,6 +60,7 @@ public class SecurityConfig {
                         .requestMatchers("/payments/payos-return").permitAll()
                         .requestMatchers("/payments/payos-cancel").permitAll()
                         .requestMatchers("/payments/payos/webhook").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/payments/payos/status/*").permitAll()
                         .requestMatchers("/dev/create-admin").permitAll()
                         .requestMatchers("/health").permitAll()
                         .requestMatchers("/terms/**").permitAll()
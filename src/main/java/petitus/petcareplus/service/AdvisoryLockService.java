@@ -0,0 +1,56 @@
+package petitus.petcareplus.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide mutual exclusion for background jobs, backed by PostgreSQL session advisory locks.
+ * The lock is held on a dedicated connection for the duration of the task, outside any
+ * transaction the task opens, and is released when the task ends or the connection drops.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdvisoryLockService {
+
+    private final DataSource dataSource;
+
+    /**
+     * Run {@code task} if no other session holds the lock {@code name}.
+     *
+     * @return the task result, or empty when the lock is taken elsewhere
+     */
+    public <T> Optional<T> runExclusively(String name, Supplier<T> task) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!call(connection, "SELECT pg_try_advisory_lock(hashtext(?))", name)) {
+                log.debug("Advisory lock {} is held by another session", name);
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(task.get());
+            } finally {
+                call(connection, "SELECT pg_advisory_unlock(hashtext(?))", name);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Advisory lock " + name + " unavailable", e);
+        }
+    }
+
+    private boolean call(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@ package petitus.petcareplus.service;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -18,7 +17,6 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import petitus.petcareplus.dto.request.auth.*;
 import petitus.petcareplus.dto.response.auth.TokenResponse;
-import petitus.petcareplus.event.PasswordResetSendEvent;
 import petitus.petcareplus.exceptions.RefreshTokenExpireException;
 import petitus.petcareplus.exceptions.ResourceNotFoundException;
 import petitus.petcareplus.model.JwtToken;
@@ -28,7 +26,9 @@ import petitus.petcareplus.repository.UserRepository;
 import petitus.petcareplus.security.jwt.JwtTokenProvider;
 import petitus.petcareplus.security.jwt.JwtUserDetails;
 import petitus.petcareplus.utils.Constants;
+import petitus.petcareplus.utils.enums.OutboxEventType;
 
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -55,7 +55,7 @@ public class AuthService {
     private final JwtTokenService jwtTokenService;
 
     private final PasswordResetTokenService passwordResetTokenService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     public TokenResponse login(String email, String password) {
         String badCredentialsMessage = messageSourceService.get("bad_credentials");
@@ -210,12 +210,13 @@ public class AuthService {
         userRepository.save(user);
     }
 
+    @Transactional
     public void forgotPassword(ForgotPasswordRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException(messageSourceService.get("user_not_found")));
 
         PasswordResetToken token = passwordResetTokenService.create(user);
-        eventPublisher.publishEvent(new PasswordResetSendEvent(this, token));
+        outboxService.publish(OutboxEventType.PASSWORD_RESET_REQUESTED, user.getId(), Map.of("tokenId", token.getId()));
     }
 
     @Transactional
@@ -3,8 +3,22 @@ package petitus.petcareplus.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,10 +28,13 @@ import petitus.petcareplus.dto.request.booking.PetServiceBookingRequest;
 import petitus.petcareplus.dto.response.booking.AdminBookingResponse;
 import petitus.petcareplus.dto.response.booking.BookingPetServiceResponse;
 import petitus.petcareplus.dto.response.booking.BookingResponse;
+import petitus.petcareplus.dto.response.booking.BookingSyncResponse;
 import petitus.petcareplus.dto.response.service.ProviderServiceResponse;
 import petitus.petcareplus.dto.response.user.UserResponse;
 import petitus.petcareplus.utils.PageRequestBuilder;
 import petitus.petcareplus.utils.enums.BookingStatus;
+import petitus.petcareplus.utils.enums.ExportFormat;
+import petitus.petcareplus.utils.enums.OutboxEventType;
 import petitus.petcareplus.utils.enums.PaymentStatus;
 import petitus.petcareplus.utils.enums.TransactionStatus;
 import petitus.petcareplus.utils.enums.TransactionType;
@@ -28,13 +45,22 @@ import petitus.petcareplus.model.*;
 import petitus.petcareplus.model.spec.BookingFilterSpecification;
 import petitus.petcareplus.model.spec.criteria.BookingCriteria;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
-import petitus.petcareplus.model.wallet.Wallet;
 import petitus.petcareplus.repository.*;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -48,12 +74,36 @@ public class BookingService {
     private final PetRepository petRepository;
     // private final ServiceRepository serviceRepository;
     private final ProviderServiceRepository providerServiceRepository;
+    private final ProviderServiceStatsRepository providerServiceStatsRepository;
     private final MessageSourceService messageSourceService;
     private final WalletService walletService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final OutboxService outboxService;
+
+    @Value("${application.default-timezone:UTC}")
+    private String timezone;
 
     // Limit
     private static final BigDecimal MAX_TOTAL_PRICE = new BigDecimal("500000000");
 
+    // Calendar sync
+    private static final String SYNC_TOKEN_PREFIX = "v2:";
+    private static final String LEGACY_SYNC_TOKEN_PREFIX = "v1:";
+    private static final SyncPosition SYNC_START = new SyncPosition("0", 0L);
+    private static final int CALENDAR_PAGE_SIZE = 200;
+    private static final int ICS_MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter ICS_UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    // Admin export
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final String CSV_FORMULA_PREFIXES = "=+-@\t\r";
+    private static final String[] EXPORT_CSV_HEADER = {
+            "id", "created_at", "status", "payment_status", "total_price", "scheduled_start_time",
+            "scheduled_end_time", "actual_end_time", "user_id", "user_name", "user_email", "provider_id",
+            "provider_name", "service_name", "pets", "note", "cancellation_reason", "deleted_at" };
+
     @Transactional
     public BookingResponse createBooking(UUID userId, BookingRequest request) {
         // Validate user
@@ -139,6 +189,10 @@ public class BookingService {
 
         petBookingRepository.saveAll(petBookings);
 
+        providerServiceStatsRepository.increment(providerService.getId(), 1, 0, 0, BigDecimal.ZERO);
+
+        publishStatusChanged(savedBooking, userId);
+
         // Return response
         return mapToBookingResponse(savedBooking);
     }
@@ -169,6 +223,8 @@ public class BookingService {
                     throw new BadRequestException(messageSourceService.get("cancellation_reason_required"));
                 }
                 booking.setCancellationReason(request.getCancellationReason());
+                providerServiceStatsRepository.increment(booking.getProviderService().getId(), -1, 0, 1,
+                        BigDecimal.ZERO);
                 break;
             case SERVICE_DONE:
                 booking.setActualEndTime(LocalDateTime.now());
@@ -180,19 +236,33 @@ public class BookingService {
 
                 booking.setActualEndTime(LocalDateTime.now());
                 handleWalletAfterPaymentSuccess(booking);
+                providerServiceStatsRepository.increment(booking.getProviderService().getId(), 0, 1, 0,
+                        booking.getTotalPrice());
                 break;
             case ONGOING:
                 break;
             case ACCEPTED:
+                booking.setAcceptedAt(LocalDateTime.now());
                 break;
             default:
                 break;
         }
 
         Booking updatedBooking = bookingRepository.save(booking);
+        publishStatusChanged(updatedBooking, userId);
         return mapToBookingResponse(updatedBooking);
     }
 
+    // The other party is notified by the outbox dispatcher once the change commits
+    private void publishStatusChanged(Booking booking, UUID actorId) {
+        outboxService.publish(OutboxEventType.BOOKING_STATUS_CHANGED, booking.getId(), Map.of(
+                "bookingId", booking.getId(),
+                "status", booking.getStatus().name(),
+                "userId", booking.getUser().getId(),
+                "providerId", booking.getProvider().getId(),
+                "actorId", actorId));
+    }
+
     @Transactional
     public void deleteBooking(UUID userId, UUID bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -271,8 +341,184 @@ public class BookingService {
         }
     }
 
+    /**
+     * Return bookings changed since the given sync token, oldest change first. Soft-deleted
+     * bookings are reported in {@code deletedIds} so clients can drop them from their calendar.
+     */
+    @Transactional(readOnly = true)
+    public BookingSyncResponse getProviderBookingChanges(UUID providerId, String syncToken, int limit) {
+        SyncPosition since = decodeSyncToken(syncToken);
+
+        List<BookingRepository.ChangeRow> rows = bookingRepository.findChangesByProviderIdAfter(providerId,
+                since.xid(), since.seq(), limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<UUID> ids = rows.stream().map(BookingRepository.ChangeRow::getId).toList();
+        Map<UUID, Booking> bookings = ids.isEmpty() ? Map.of()
+                : bookingRepository.findAllWithDetailsByIdIn(ids).stream()
+                        .collect(Collectors.toMap(Booking::getId, booking -> booking));
+        List<UUID> liveIds = bookings.values().stream()
+                .filter(booking -> booking.getDeletedAt() == null)
+                .map(Booking::getId)
+                .toList();
+        Map<UUID, List<PetBooking>> petBookings = liveIds.isEmpty() ? Map.of()
+                : petBookingRepository.findByBookingIdIn(liveIds).stream()
+                        .collect(Collectors.groupingBy(pb -> pb.getId().getBookingId()));
+        Map<UUID, List<ServiceBooking>> serviceBookings = liveIds.isEmpty() ? Map.of()
+                : serviceBookingRepository.findByBookingIdIn(liveIds).stream()
+                        .collect(Collectors.groupingBy(sb -> sb.getId().getBookingId()));
+
+        List<BookingResponse> changed = new ArrayList<>();
+        List<UUID> deletedIds = new ArrayList<>();
+        SyncPosition last = since;
+
+        for (BookingRepository.ChangeRow row : rows) {
+            Booking booking = bookings.get(row.getId());
+            if (booking == null || booking.getDeletedAt() != null) {
+                deletedIds.add(row.getId());
+            } else {
+                changed.add(mapToBookingResponse(booking,
+                        petBookings.getOrDefault(booking.getId(), List.of()),
+                        serviceBookings.getOrDefault(booking.getId(), List.of())));
+            }
+            last = new SyncPosition(row.getChangeXid(), row.getChangeSeq());
+        }
+
+        return BookingSyncResponse.builder()
+                .changed(changed)
+                .deletedIds(deletedIds)
+                .syncToken(encodeSyncToken(last))
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Stream the provider's bookings in the given range as an iCalendar document. Rows are read
+     * page by page and detached after writing so memory stays flat for long ranges.
+     */
+    @Transactional(readOnly = true)
+    public void writeProviderCalendar(UUID providerId, LocalDateTime from, LocalDateTime to, Writer writer)
+            throws IOException {
+        writer.write("BEGIN:VCALENDAR\r\n");
+        writer.write("VERSION:2.0\r\n");
+        writer.write("PRODID:-//PetCarePlus//Bookings//EN\r\n");
+        writer.write("CALSCALE:GREGORIAN\r\n");
+        writer.write("X-WR-TIMEZONE:" + timezone + "\r\n"); // Display hint only, times are emitted in UTC
+
+        int page = 0;
+        Slice<Booking> bookings;
+        do {
+            bookings = bookingRepository.findCalendarByProviderId(providerId, from, to,
+                    PageRequest.of(page++, CALENDAR_PAGE_SIZE));
+
+            for (Booking booking : bookings) {
+                writeCalendarEvent(writer, booking);
+            }
+
+            writer.flush();
+            entityManager.clear();
+        } while (bookings.hasNext());
+
+        writer.write("END:VCALENDAR\r\n");
+        writer.flush();
+    }
+
     // Helper methods
 
+    // Position in the sync feed: writer transaction id and change sequence of the last row sent
+    private record SyncPosition(String xid, long seq) {
+    }
+
+    private String encodeSyncToken(SyncPosition position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (SYNC_TOKEN_PREFIX + position.xid() + ":" + position.seq()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SyncPosition decodeSyncToken(String syncToken) {
+        if (syncToken == null || syncToken.isBlank()) {
+            return SYNC_START;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(syncToken), StandardCharsets.UTF_8);
+            if (decoded.startsWith(LEGACY_SYNC_TOKEN_PREFIX)) {
+                // Sequence-only tokens cannot be mapped to a transaction position; resync from the start
+                return SYNC_START;
+            }
+            if (!decoded.startsWith(SYNC_TOKEN_PREFIX)) {
+                throw new BadRequestException(messageSourceService.get("invalid_sync_token"));
+            }
+
+            String[] parts = decoded.substring(SYNC_TOKEN_PREFIX.length()).split(":");
+            if (parts.length != 2) {
+                throw new BadRequestException(messageSourceService.get("invalid_sync_token"));
+            }
+            return new SyncPosition(String.valueOf(Long.parseUnsignedLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(messageSourceService.get("invalid_sync_token"));
+        }
+    }
+
+    private void writeCalendarEvent(Writer writer, Booking booking) throws IOException {
+        String serviceName = booking.getProviderService().getService().getName();
+        String status = switch (booking.getStatus()) {
+            case CANCELLED -> "CANCELLED";
+            case PENDING -> "TENTATIVE";
+            default -> "CONFIRMED";
+        };
+
+        String lastModified = toCalendarUtc(booking.getUpdatedAt());
+
+        writer.write("BEGIN:VEVENT\r\n");
+        writeCalendarLine(writer, "UID:" + booking.getId() + "@petcareplus");
+        writeCalendarLine(writer, "DTSTAMP:" + lastModified);
+        writeCalendarLine(writer, "LAST-MODIFIED:" + lastModified);
+        writeCalendarLine(writer, "DTSTART:" + toCalendarUtc(booking.getScheduledStartTime()));
+        writeCalendarLine(writer, "DTEND:" + toCalendarUtc(booking.getScheduledEndTime()));
+        writeCalendarLine(writer, "SUMMARY:" + escapeCalendarText(serviceName + " - "
+                + booking.getUser().getFullName()));
+        if (booking.getNote() != null && !booking.getNote().isBlank()) {
+            writeCalendarLine(writer, "DESCRIPTION:" + escapeCalendarText(booking.getNote()));
+        }
+        writeCalendarLine(writer, "STATUS:" + status);
+        writer.write("END:VEVENT\r\n");
+    }
+
+    // Stored times are local to the application timezone; UTC needs no VTIMEZONE block
+    private String toCalendarUtc(LocalDateTime time) {
+        return time.atZone(ZoneId.of(timezone)).withZoneSameInstant(ZoneOffset.UTC).format(ICS_UTC_FORMAT);
+    }
+
+    // RFC 5545 folds content lines longer than 75 octets, never inside a multi-byte character
+    private void writeCalendarLine(Writer writer, String line) throws IOException {
+        int octets = 0;
+        int offset = 0;
+        while (offset < line.length()) {
+            int codePoint = line.codePointAt(offset);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > ICS_MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1; // The leading space of the continuation line
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += width;
+            offset += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCalendarText(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
     private void validateBookingTime(LocalDateTime start, LocalDateTime end) {
         if (start.isAfter(end)) {
             throw new BadRequestException(messageSourceService.get("invalid_booking_time_range"));
@@ -379,18 +625,15 @@ public class BookingService {
         BigDecimal providerEarning = amount.subtract(platformFee);
 
         // Add to provider wallet
-        walletService.createWalletTransaction(
+        walletService.postTransaction(
                 providerId,
                 providerEarning,
+                providerEarning,
+                BigDecimal.ZERO,
                 TransactionType.SERVICE_PROVIDER_EARNING,
                 TransactionStatus.COMPLETED,
                 "Earnings from booking: " + booking.getId(),
                 booking.getId());
-
-        // Update wallet balance
-        Wallet providerWallet = walletService.getWalletByUserId(providerId);
-        providerWallet.setBalance(providerWallet.getBalance().add(providerEarning));
-        walletService.updateWallet(providerWallet);
     }
 
     private BookingResponse mapToBookingResponse(Booking booking) {
@@ -398,6 +641,11 @@ public class BookingService {
         List<PetBooking> petBookings = petBookingRepository.findByBookingId(booking.getId());
         List<ServiceBooking> serviceBookings = serviceBookingRepository.findByBookingId(booking.getId());
 
+        return mapToBookingResponse(booking, petBookings, serviceBookings);
+    }
+
+    private BookingResponse mapToBookingResponse(Booking booking, List<PetBooking> petBookings,
+            List<ServiceBooking> serviceBookings) {
         // Map to response DTOs
         List<BookingPetServiceResponse> petServiceResponses = new ArrayList<>();
 
@@ -443,6 +691,11 @@ public class BookingService {
         List<PetBooking> petBookings = petBookingRepository.findByBookingId(booking.getId());
         List<ServiceBooking> serviceBookings = serviceBookingRepository.findByBookingId(booking.getId());
 
+        return mapToAdminBookingResponse(booking, petBookings, serviceBookings);
+    }
+
+    private AdminBookingResponse mapToAdminBookingResponse(Booking booking, List<PetBooking> petBookings,
+            List<ServiceBooking> serviceBookings) {
         // Map to response DTOs
         List<BookingPetServiceResponse> petServiceResponses = new ArrayList<>();
 
@@ -515,6 +768,38 @@ public class BookingService {
         return bookings.map(this::mapToAdminBookingResponse);
     }
 
+    /**
+     * Write every booking matching the admin filters to the output stream. Rows are read through a
+     * server-side cursor and their pets/services are loaded per batch, so memory stays constant
+     * regardless of the export size.
+     */
+    @Transactional(readOnly = true)
+    public void exportBookingsForAdmin(BookingCriteria criteria, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", EXPORT_CSV_HEADER));
+            writer.write("\n");
+        }
+
+        try (Stream<Booking> bookings = streamBookingsForAdmin(criteria)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            List<Booking> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+
+                if (batch.size() == EXPORT_BATCH_SIZE || !iterator.hasNext()) {
+                    writeExportBatch(batch, format, writer);
+                    batch.clear();
+                }
+            }
+        }
+
+        writer.flush();
+    }
+
     @Transactional(readOnly = true)
     public AdminBookingResponse getBookingByIdForAdmin(UUID bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -527,4 +812,106 @@ public class BookingService {
 
         return mapToAdminBookingResponse(booking);
     }
-}
\ No newline at end of file
+
+    private Stream<Booking> streamBookingsForAdmin(BookingCriteria criteria) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+
+        // Load everything the export row needs in the same statement
+        Fetch<Booking, User> user = root.fetch("user");
+        user.fetch("role");
+        user.fetch("profile", JoinType.LEFT).fetch("serviceProviderProfile", JoinType.LEFT);
+        Fetch<Booking, User> provider = root.fetch("provider");
+        provider.fetch("role");
+        provider.fetch("profile", JoinType.LEFT).fetch("serviceProviderProfile", JoinType.LEFT);
+        root.fetch("providerService").fetch("service");
+
+        Predicate predicate = new BookingFilterSpecification(criteria).toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(builder.asc(root.get("createdAt")), builder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void writeExportBatch(List<Booking> batch, ExportFormat format, Writer writer) throws IOException {
+        List<UUID> bookingIds = batch.stream().map(Booking::getId).toList();
+
+        Map<UUID, List<PetBooking>> petBookings = petBookingRepository.findByBookingIdIn(bookingIds).stream()
+                .collect(Collectors.groupingBy(pb -> pb.getId().getBookingId()));
+        Map<UUID, List<ServiceBooking>> serviceBookings = serviceBookingRepository.findByBookingIdIn(bookingIds)
+                .stream()
+                .collect(Collectors.groupingBy(sb -> sb.getId().getBookingId()));
+
+        for (Booking booking : batch) {
+            AdminBookingResponse response = mapToAdminBookingResponse(booking,
+                    petBookings.getOrDefault(booking.getId(), List.of()),
+                    serviceBookings.getOrDefault(booking.getId(), List.of()));
+
+            if (format == ExportFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(response));
+            } else {
+                writeExportCsvRow(writer, response, booking.getUser().getEmail());
+            }
+            writer.write("\n");
+        }
+
+        writer.flush();
+        // Detach the batch so the persistence context does not grow with the export
+        entityManager.clear();
+    }
+
+    private void writeExportCsvRow(Writer writer, AdminBookingResponse response, String userEmail)
+            throws IOException {
+        String pets = response.getPetList().stream()
+                .map(BookingPetServiceResponse::getPetName)
+                .collect(Collectors.joining("; "));
+
+        List<Object> values = Arrays.asList(
+                response.getId(),
+                response.getCreatedAt(),
+                response.getStatus(),
+                response.getPaymentStatus(),
+                response.getTotalPrice(),
+                response.getScheduledStartTime(),
+                response.getScheduledEndTime(),
+                response.getActualEndTime(),
+                response.getUser().getId(),
+                response.getUser().getLastName() + " " + response.getUser().getName(),
+                userEmail,
+                response.getProviderService().getProviderId(),
+                response.getProviderService().getProviderName(),
+                response.getProviderService().getServiceName(),
+                pets,
+                response.getNote(),
+                response.getCancellationReason(),
+                response.getDeletedAt());
+
+        writer.write(values.stream().map(this::escapeCsv).collect(Collectors.joining(",")));
+    }
+
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+
+        // Free text starting like a formula is neutralised so spreadsheets do not evaluate it
+        boolean formula = value instanceof String && !text.isEmpty()
+                && CSV_FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0;
+        if (formula) {
+            text = "'" + text;
+        }
+
+        if (formula || text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -8,12 +8,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import petitus.petcareplus.dto.response.chat.ChatMessageResponse;
 import petitus.petcareplus.dto.response.chat.ImageUploadResponse;
-import petitus.petcareplus.event.ImageUploadCompletedEvent;
 import petitus.petcareplus.event.ImageUploadErrorEvent;
 import petitus.petcareplus.model.ChatMessage;
 import petitus.petcareplus.model.ChatImageMessage;
 import petitus.petcareplus.repository.ChatMessageRepository;
 import petitus.petcareplus.repository.ChatImageMessageRepository;
+import petitus.petcareplus.utils.enums.OutboxEventType;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -32,6 +32,7 @@ public class ChatImageUploadService {
     private final ApplicationEventPublisher eventPublisher;
     private final CipherService cipherService;
     private final ChatMessageDecryptionUtil decryptionUtil;
+    private final OutboxService outboxService;
 
     /**
      * Save pending image message (optimistic UI approach)
@@ -208,30 +209,9 @@ public class ChatImageUploadService {
             // Save updated message
             ChatImageMessage updatedMessage = chatImageMessageRepository.save(chatImageMessage);
             
-            // Create updated response with decrypted URLs for client notification
-            ChatMessageResponse decryptedChatResponse = decryptionUtil.createDecryptedImageMessageResponse(updatedMessage);
-            ImageUploadResponse completedResponse = ImageUploadResponse.builder()
-                    .id(updatedMessage.getId())
-                    .senderId(updatedMessage.getSenderId())
-                    .recipientId(updatedMessage.getRecipientId())
-                    .caption(decryptedChatResponse.getCaption())
-                    .imageUrl(decryptedChatResponse.getImageUrl())
-                    .publicId(decryptedChatResponse.getPublicId())
-                    .imageName(updatedMessage.getImageName())
-                    .mimeType(updatedMessage.getMimeType())
-                    .fileSize(updatedMessage.getFileSize())
-                    .width(updatedMessage.getWidth())
-                    .height(updatedMessage.getHeight())
-                    .thumbnailUrl(decryptedChatResponse.getThumbnailUrl())
-                    .mediumUrl(decryptedChatResponse.getMediumUrl())
-                    .largeUrl(decryptedChatResponse.getLargeUrl())
-                    .uploadedAt(originalResponse.getUploadedAt())
-                    .isRead(updatedMessage.getIsRead())
-                    .uploadStatus(updatedMessage.getUploadStatus())
-                    .build();
-            
-            // Notify users of completion
-            publishImageUploadCompletedEvent(completedResponse, messageId);
+            // Notify users of completion once the update commits
+            outboxService.publish(OutboxEventType.IMAGE_UPLOAD_COMPLETED, updatedMessage.getId(),
+                    Map.of("messageId", updatedMessage.getId()));
             
         } catch (Exception dbUpdateError) {
             log.error("Failed to update database for message ID: {}", messageId, dbUpdateError);
@@ -239,17 +219,6 @@ public class ChatImageUploadService {
         }
     }
 
-    /**
-     * Publish image upload completed event with error handling
-     */
-    private void publishImageUploadCompletedEvent(ImageUploadResponse completedResponse, UUID messageId) {
-        try {
-            eventPublisher.publishEvent(new ImageUploadCompletedEvent(completedResponse));
-        } catch (Exception eventError) {
-            log.error("Failed to publish completion event for message ID: {}", messageId, eventError);
-        }
-    }
-
     /**
      * Handle upload failure by updating message status and notifying users
      */
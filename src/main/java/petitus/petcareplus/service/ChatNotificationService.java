@@ -3,91 +3,103 @@ package petitus.petcareplus.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import petitus.petcareplus.dto.request.notification.NotificationRequest;
 import petitus.petcareplus.model.ChatMessage;
 import petitus.petcareplus.model.User;
+import petitus.petcareplus.repository.ChatMessageRepository;
 import petitus.petcareplus.utils.enums.Notifications;
+import petitus.petcareplus.utils.enums.OutboxEventType;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ChatNotificationService {
     private final NotificationService notificationService;
-    private final FcmTokenService fcmTokenService;
-    private final FirebaseMessagingService firebaseMessagingService;
+    private final PushNotificationService pushNotificationService;
     private final ActiveChatService activeChatService;
     private final CipherService cipherService;
+    private final ChatMessageRepository chatMessageRepository;
+    private final UserService userService;
+    private final OutboxService outboxService;
 
     /**
-     * Create and send internal notification for new chat message
+     * Record the notification side effects of a new message in the sender's transaction. They are
+     * delivered by the outbox dispatcher once the message is committed.
      */
-    public void createNotification(ChatMessage chatMessage, UUID senderId) {
-        // Decrypt the message content for notification
-        String decryptedContent;
-        try {
-            decryptedContent = cipherService.decrypt(chatMessage.getContent());
-        } catch (Exception e) {
-            log.warn("Failed to decrypt message content for notification: {}", e.getMessage());
-            decryptedContent = "New message"; // Fallback text
-        }
-        
-        NotificationRequest notificationRequest = NotificationRequest.builder()
-                .userIdReceive(chatMessage.getRecipientId())
-                .type(Notifications.CHAT)
-                .title("New Message")
-                .message(decryptedContent)
-                .relatedId(chatMessage.getId())
-                .build();
+    public void publishMessageSent(ChatMessage chatMessage) {
+        outboxService.publish(OutboxEventType.CHAT_MESSAGE_SENT, chatMessage.getId(), Map.of(
+                "messageId", chatMessage.getId(),
+                "senderId", chatMessage.getSenderId(),
+                "recipientId", chatMessage.getRecipientId()));
+    }
+
+    /**
+     * Deliver a batch of CHAT_MESSAGE_SENT events, keyed by event id: the in-app notifications, folded per
+     * (recipient, sender) in one transaction, and one FCM push per pair carrying the latest message.
+     * Nothing is sent while the recipient has the chat with the sender open. The notification writes are
+     * keyed on the event ids, so a retried batch does not count its messages twice.
+     */
+    public void deliverMessagesSent(Map<UUID, UUID> messageIdsByEventId) {
+        Map<UUID, ChatMessage> messages = chatMessageRepository.findAllById(messageIdsByEventId.values()).stream()
+                .collect(Collectors.toMap(ChatMessage::getId, Function.identity()));
 
-        notificationService.pushNotification(notificationRequest, senderId);
+        // Oldest first, so the latest message of each pair is folded and pushed last
+        Map<UUID, NotificationService.ChatActivity> activitiesByEventId = new LinkedHashMap<>();
+        Map<List<UUID>, ChatMessage> latestByPair = new LinkedHashMap<>();
+        messageIdsByEventId.entrySet().stream()
+                .filter(entry -> messages.containsKey(entry.getValue()))
+                .sorted(Comparator.comparing((Map.Entry<UUID, UUID> entry) -> messages.get(entry.getValue())
+                        .getCreatedAt(), Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(entry -> {
+                    ChatMessage chatMessage = messages.get(entry.getValue());
+                    if (activeChatService.isUserInActiveChatWith(chatMessage.getRecipientId(),
+                            chatMessage.getSenderId())) {
+                        log.debug("Skipping chat notification - recipient {} is in active chat with sender {}",
+                                chatMessage.getRecipientId(), chatMessage.getSenderId());
+                        return;
+                    }
+                    activitiesByEventId.put(entry.getKey(), new NotificationService.ChatActivity(
+                            chatMessage.getRecipientId(), chatMessage.getSenderId(), chatMessage.getId(), 1));
+                    latestByPair.put(List.of(chatMessage.getRecipientId(), chatMessage.getSenderId()), chatMessage);
+                });
+
+        notificationService.recordChatActivityForEvents(activitiesByEventId);
+
+        Map<UUID, User> senders = new HashMap<>();
+        latestByPair.values().forEach(chatMessage -> sendFcmNotification(chatMessage,
+                senders.computeIfAbsent(chatMessage.getSenderId(), userService::findById)));
     }
 
     /**
      * Send FCM push notification for new chat message
      */
-    public void sendFcmNotification(ChatMessage chatMessage, User sender) {
-        // Check if recipient is currently in active chat with sender
-        boolean isRecipientInActiveChat = activeChatService.isUserInActiveChatWith(
-                chatMessage.getRecipientId(), 
-                chatMessage.getSenderId()
-        );
-        
-        if (isRecipientInActiveChat) {
-            log.debug("Skipping FCM notification - recipient {} is in active chat with sender {}", 
-                    chatMessage.getRecipientId(), chatMessage.getSenderId());
-            return;
+    private void sendFcmNotification(ChatMessage chatMessage, User sender) {
+        String title = "New message from " + sender.getFullName();
+
+        // Decrypt the message content for FCM notification
+        String body;
+        try {
+            body = cipherService.decrypt(chatMessage.getContent());
+        } catch (Exception e) {
+            log.warn("Failed to decrypt message content for FCM notification: {}", e.getMessage());
+            body = "New message"; // Fallback text
         }
-        
-        List<String> receiverTokens = fcmTokenService.getUserTokens(chatMessage.getRecipientId());
-        if (!receiverTokens.isEmpty()) {
-            String title = "New message from " + sender.getFullName();
-            
-            // Decrypt the message content for FCM notification
-            String body;
-            try {
-                body = cipherService.decrypt(chatMessage.getContent());
-            } catch (Exception e) {
-                log.warn("Failed to decrypt message content for FCM notification: {}", e.getMessage());
-                body = "New message"; // Fallback text
-            }
 
-            Map<String, String> data = createFcmNotificationData(
-                    chatMessage.getId().toString(),
-                    sender.getId().toString());
+        Map<String, String> data = createFcmNotificationData(
+                chatMessage.getId().toString(),
+                sender.getId().toString());
 
-            for (String token : receiverTokens) {
-                firebaseMessagingService.sendNotification(token, title, body, data);
-            }
-            
-            log.debug("Sent FCM notification to {} tokens for message from {} to {}", 
-                    receiverTokens.size(), chatMessage.getSenderId(), chatMessage.getRecipientId());
-        }
+        // Collapsed per sender, so a burst of messages shows as one push
+        pushNotificationService.send(chatMessage.getRecipientId(), "chat:" + sender.getId(), title, body, data);
     }
 
     /**
@@ -14,7 +14,6 @@ import petitus.petcareplus.dto.response.chat.ConversationResponse;
 import petitus.petcareplus.dto.response.chat.ImageUploadResponse;
 import petitus.petcareplus.model.ChatImageMessage;
 import petitus.petcareplus.model.ChatMessage;
-import petitus.petcareplus.model.User;
 import petitus.petcareplus.repository.ChatMessageRepository;
 
 import java.security.Principal;
@@ -46,13 +45,9 @@ public class ChatService {
     }
 
     private ChatMessageResponse sendMessageInternal(ChatMessageRequest request, UUID senderId) {
-        User sender = userService.findById(senderId);
-
         ChatMessage chatMessage = createAndSaveChatMessage(request, senderId);
 
-        chatNotificationService.createNotification(chatMessage, senderId);
-
-        chatNotificationService.sendFcmNotification(chatMessage, sender);
+        chatNotificationService.publishMessageSent(chatMessage);
 
         return createDecryptedResponse(chatMessage);
     }
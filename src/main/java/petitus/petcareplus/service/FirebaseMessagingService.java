@@ -1,40 +1,68 @@
 package petitus.petcareplus.service;
 
+import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.ApnsConfig;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class FirebaseMessagingService {
+public class FirebaseMessagingService implements PushSender {
 
     private final FirebaseMessaging firebaseMessaging;
 
-    public void sendNotification(String token, String title, String body, Map<String, String> data) {
+    @Override
+    public List<String> sendMulticast(List<String> tokens, String collapseKey, String title, String body,
+            Map<String, String> data) {
         Notification notification = Notification.builder()
                 .setTitle(title)
                 .setBody(body)
                 .build();
 
-        Message message = Message.builder()
-                .setToken(token)
+        MulticastMessage message = MulticastMessage.builder()
+                .addAllTokens(tokens)
                 .setNotification(notification)
+                .setAndroidConfig(AndroidConfig.builder().setCollapseKey(collapseKey).build())
+                .setApnsConfig(ApnsConfig.builder().putHeader("apns-collapse-id", collapseKey).build())
                 .putAllData(data != null ? data : new HashMap<>())
                 .build();
 
         try {
-            firebaseMessaging.send(message);
-            log.info("Notification sent successfully to token: {}", token);
+            BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
+
+            // Responses are in token order
+            List<String> unregisteredTokens = new ArrayList<>();
+            List<SendResponse> responses = response.getResponses();
+            for (int i = 0; i < responses.size(); i++) {
+                if (isUnregistered(responses.get(i).getException())) {
+                    unregisteredTokens.add(tokens.get(i));
+                }
+            }
+
+            log.info("Notification sent to {} of {} tokens", response.getSuccessCount(), tokens.size());
+            return unregisteredTokens;
         } catch (FirebaseMessagingException e) {
-            log.error("Failed to send notification to token: {}", token, e);
+            throw new IllegalStateException("FCM rejected a push to " + tokens.size() + " tokens", e);
         }
     }
-} 
\ No newline at end of file
+
+    private boolean isUnregistered(FirebaseMessagingException exception) {
+        return exception != null
+                && (exception.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED
+                        || exception.getMessagingErrorCode() == MessagingErrorCode.SENDER_ID_MISMATCH);
+    }
+}
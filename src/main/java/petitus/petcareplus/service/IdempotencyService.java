@@ -0,0 +1,156 @@
+package petitus.petcareplus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.exceptions.DataExistedException;
+import petitus.petcareplus.exceptions.UnprocessableEntityException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final String REDIS_IDEMPOTENCY_KEY = "idempotency";
+    private static final String IN_PROGRESS = "__IN_PROGRESS__";
+    private static final char SEPARATOR = '|'; // Stored value: "<request fingerprint>|<state or response>"
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final Duration LOCK_TTL = Duration.ofSeconds(60); // Max time the first request may run
+    private static final Duration RESPONSE_TTL = Duration.ofHours(1); // Replay window for client retries
+
+    // Compare-and-set on the lock value, so a request that outlived LOCK_TTL cannot touch the lock of a
+    // retry that took the key over
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MessageSourceService messageSourceService;
+
+    /**
+     * Run {@code action} at most once per (scope, owner, key). Duplicates replay the cached
+     * response of the first call; reusing the key for a different request (method, path or body)
+     * is rejected. Callers must invoke this outside of the business transaction so the response
+     * is only cached once the change is committed.
+     */
+    public <T> T execute(String scope, UUID ownerId, String idempotencyKey, Object requestBody,
+            Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(messageSourceService.get("idempotency_key_invalid"));
+        }
+
+        String redisKey = REDIS_IDEMPOTENCY_KEY + ":" + scope + ":" + ownerId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(scope, requestBody);
+
+        // Unique per attempt, so the compare-and-set below only matches this request's own lock
+        String lock = fingerprint + SEPARATOR + IN_PROGRESS + UUID.randomUUID();
+
+        String cached = redisTemplate.opsForValue().get(redisKey);
+        if (cached == null) {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(redisKey, lock, LOCK_TTL);
+            if (!Boolean.TRUE.equals(acquired)) {
+                cached = redisTemplate.opsForValue().get(redisKey);
+                if (cached == null) {
+                    cached = lock;
+                }
+            }
+        }
+
+        if (cached != null) {
+            return replay(redisKey, fingerprint, cached, responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Let the client retry with the same key after a failure
+            release(redisKey, lock);
+            throw e;
+        }
+
+        try {
+            String completed = fingerprint + SEPARATOR + objectMapper.writeValueAsString(response);
+            Long stored = redisTemplate.execute(COMPLETE_SCRIPT, List.of(redisKey), lock, completed,
+                    String.valueOf(RESPONSE_TTL.toMillis()));
+            if (stored == null || stored == 0) {
+                log.warn("Idempotency lock for key {} expired before the response was cached", redisKey);
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Error caching idempotent response for key {}: {}", redisKey, e.getMessage(), e);
+            release(redisKey, lock);
+        }
+
+        return response;
+    }
+
+    private void release(String redisKey, String lock) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(redisKey), lock);
+    }
+
+    private <T> T replay(String redisKey, String fingerprint, String cached, Class<T> responseType) {
+        int separator = cached.indexOf(SEPARATOR);
+        if (separator < 0 || !fingerprint.equals(cached.substring(0, separator))) {
+            throw new UnprocessableEntityException(messageSourceService.get("idempotency_key_reused"));
+        }
+
+        cached = cached.substring(separator + 1);
+        if (cached.startsWith(IN_PROGRESS)) {
+            throw new DataExistedException(messageSourceService.get("idempotency_request_in_progress"));
+        }
+
+        try {
+            log.info("Replaying idempotent response for key {}", redisKey);
+            return objectMapper.readValue(cached, responseType);
+        } catch (JsonProcessingException e) {
+            log.error("Error reading idempotent response for key {}: {}", redisKey, e.getMessage(), e);
+            throw new DataExistedException(messageSourceService.get("idempotency_request_in_progress"));
+        }
+    }
+
+    // SHA-256 of method, path and body; the scope stands in for the endpoint outside of a request
+    private String fingerprint(String scope, Object requestBody) {
+        StringBuilder source = new StringBuilder(scope);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            source.append(' ').append(request.getMethod()).append(' ').append(request.getRequestURI());
+        }
+
+        try {
+            source.append(' ').append(objectMapper.writeValueAsString(requestBody));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Error fingerprinting idempotent request", e);
+        }
+    }
+}
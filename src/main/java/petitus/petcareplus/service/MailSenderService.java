@@ -9,7 +9,6 @@ import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
@@ -40,8 +39,8 @@ public class MailSenderService {
 
     private final SpringTemplateEngine templateEngine;
 
-    @Async
-    public void sendUserEmailVerification(EmailVerificationToken token) {
+    // Sent by the outbox dispatcher; failures propagate so the event is retried
+    public void sendUserEmailVerification(EmailVerificationToken token) throws MessagingException {
         User user = token.getUser();
         if (user == null) {
             throw new ResourceNotFoundException(messageSourceService.get("user_token_null"));
@@ -59,17 +58,10 @@ public class MailSenderService {
 
         String subject = messageSourceService.get("email_verification_sent");
 
-        try {
-
-            send(user.getEmail(), subject,
-                    templateEngine.process("mail/user-email-verification", ctx));
-        } catch (Exception e) {
-            log.error("Failed to send email: {}", e.getMessage(), e);
-        }
+        send(user.getEmail(), subject, templateEngine.process("mail/user-email-verification", ctx));
     }
 
-    @Async
-    public void sendPasswordResetEmail(PasswordResetToken token) {
+    public void sendPasswordResetEmail(PasswordResetToken token) throws MessagingException {
         User user = token.getUser();
         if (user == null) {
             throw new ResourceNotFoundException(messageSourceService.get("user_token_null"));
@@ -82,12 +74,7 @@ public class MailSenderService {
 
         String subject = messageSourceService.get("password_reset_email_sent");
 
-        try {
-            send(user.getEmail(), subject,
-                    templateEngine.process("mail/password-reset", ctx));
-        } catch (Exception e) {
-            log.error("Failed to send password reset email: {}", e.getMessage(), e);
-        }
+        send(user.getEmail(), subject, templateEngine.process("mail/password-reset", ctx));
     }
 
     private Context createContext() {
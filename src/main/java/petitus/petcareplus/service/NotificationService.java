@@ -1,30 +1,52 @@
 package petitus.petcareplus.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import petitus.petcareplus.dto.request.notification.NotificationRequest;
 import petitus.petcareplus.dto.response.notification.AdminNotificationResponse;
+import petitus.petcareplus.dto.response.notification.NotificationPageResponse;
 import petitus.petcareplus.dto.response.notification.NotificationResponse;
+import petitus.petcareplus.dto.response.notification.UnreadNotificationCountResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.exceptions.ResourceNotFoundException;
 import petitus.petcareplus.model.Notification;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
+import petitus.petcareplus.repository.NotificationEventReceiptRepository;
 import petitus.petcareplus.repository.NotificationRepository;
+import petitus.petcareplus.repository.NotificationUnreadCountRepository;
+import petitus.petcareplus.utils.KeysetCursor;
 import petitus.petcareplus.utils.PageRequestBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
+    // Receipts only need to outlive the retries of their outbox event
+    private static final Duration RECEIPT_RETENTION = Duration.ofDays(7);
+
     private final NotificationRepository notificationRepository;
+    private final NotificationUnreadCountRepository notificationUnreadCountRepository;
+    private final NotificationEventReceiptRepository notificationEventReceiptRepository;
     private final UserService userService;
+    private final MessageSourceService messageSourceService;
 
     @Transactional
     public NotificationResponse pushNotification(NotificationRequest request) {
@@ -37,6 +59,82 @@ public class NotificationService {
         return pushNotificationInternal(request, senderId);
     }
 
+    /**
+     * pushNotification on behalf of an outbox event. The write is keyed on the event id, so a retried
+     * event adds no second notification.
+     */
+    @Transactional
+    public void pushNotificationForEvent(UUID eventId, NotificationRequest request, UUID senderId) {
+        if (claimEvent(eventId)) {
+            pushNotificationInternal(request, senderId);
+        }
+    }
+
+    /**
+     * Chat messages from one sender to one recipient since the last flush.
+     */
+    public record ChatActivity(UUID recipientId, UUID senderId, UUID lastMessageId, int messageCount) {
+    }
+
+    /**
+     * Fold a batch of chat activity into one notification row per (recipient, sender). The row id is
+     * derived from the pair so the primary key doubles as the upsert target. One upsert covers the batch
+     * and reports which rows became unread; one more statement adds those to the unread counters.
+     */
+    @Transactional
+    public void recordChatActivity(Collection<ChatActivity> activities) {
+        // One input row per notification id; ON CONFLICT cannot touch the same row twice
+        Map<UUID, ChatActivity> byId = new LinkedHashMap<>();
+        for (ChatActivity activity : activities) {
+            UUID id = UUID.nameUUIDFromBytes(("chat:" + activity.recipientId() + ":" + activity.senderId())
+                    .getBytes(StandardCharsets.UTF_8));
+            byId.merge(id, activity, (previous, next) -> new ChatActivity(next.recipientId(), next.senderId(),
+                    next.lastMessageId(), previous.messageCount() + next.messageCount()));
+        }
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        List<ChatActivity> batch = List.copyOf(byId.values());
+        List<Object[]> becameUnread = notificationRepository.upsertChatNotifications(
+                byId.keySet().toArray(UUID[]::new),
+                batch.stream().map(ChatActivity::recipientId).toArray(UUID[]::new),
+                batch.stream().map(ChatActivity::senderId).toArray(UUID[]::new),
+                batch.stream().map(ChatActivity::lastMessageId).toArray(UUID[]::new),
+                batch.stream().map(ChatActivity::messageCount).toArray(Integer[]::new));
+        if (becameUnread.isEmpty()) {
+            return;
+        }
+
+        notificationUnreadCountRepository.incrementAll(
+                becameUnread.stream().map(row -> (UUID) row[0]).toArray(UUID[]::new),
+                becameUnread.stream().map(row -> ((Number) row[1]).longValue()).toArray(Long[]::new));
+    }
+
+    /**
+     * recordChatActivity on behalf of a batch of outbox events, keyed by event id and given oldest first.
+     * Events already applied are left out, so a retried batch does not count its messages twice.
+     */
+    @Transactional
+    public void recordChatActivityForEvents(Map<UUID, ChatActivity> activitiesByEventId) {
+        if (activitiesByEventId.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> claimed = new HashSet<>(notificationEventReceiptRepository.insertAllIfAbsent(
+                activitiesByEventId.keySet().toArray(UUID[]::new)));
+        // In the caller's order, so the latest message of a pair stays last
+        recordChatActivity(activitiesByEventId.entrySet().stream()
+                .filter(entry -> claimed.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList());
+    }
+
+    // Committed together with the event's writes; false when they already were
+    private boolean claimEvent(UUID eventId) {
+        return notificationEventReceiptRepository.insertIfAbsent(eventId).isPresent();
+    }
+
     private NotificationResponse pushNotificationInternal(NotificationRequest request, UUID senderId) {
         Notification notification = Notification.builder()
                 .userIdSend(senderId)
@@ -49,6 +147,7 @@ public class NotificationService {
                 .createdAt(LocalDateTime.now())
                 .build();
         notificationRepository.save(notification);
+        notificationUnreadCountRepository.increment(request.getUserIdReceive(), 1);
         return convertToResponse(notification);
     }
 
@@ -60,6 +159,48 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of the current user's inbox, newest first. Pass the previous page's
+     * {@code nextCursor} to continue.
+     */
+    public NotificationPageResponse getNotificationPage(String cursor, int limit) {
+        UUID currentUserId = userService.getCurrentUserId();
+
+        KeysetCursor before;
+        try {
+            before = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(messageSourceService.get("invalid_notification_cursor"));
+        }
+
+        List<Notification> notifications = notificationRepository.findInboxPageBefore(currentUserId,
+                before.createdAt(), before.id(), limit + 1);
+
+        boolean hasMore = notifications.size() > limit;
+        if (hasMore) {
+            notifications = notifications.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = notifications.get(notifications.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return NotificationPageResponse.builder()
+                .items(notifications.stream().map(this::convertToResponse).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public UnreadNotificationCountResponse getUnreadCount() {
+        UUID currentUserId = userService.getCurrentUserId();
+        return UnreadNotificationCountResponse.builder()
+                .unreadCount(notificationUnreadCountRepository.findUnreadCount(currentUserId).orElse(0L))
+                .build();
+    }
+
     public NotificationResponse getNotificationById(UUID notificationId) {
         UUID currentUserId = userService.getCurrentUserId();
 
@@ -73,10 +214,28 @@ public class NotificationService {
 
     @Transactional
     public void markAsRead(UUID notificationId) {
+        UUID currentUserId = userService.getCurrentUserId();
+
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
-        notification.setIsRead(true);
-        notificationRepository.save(notification);
+        if (!notification.getUserIdReceive().equals(currentUserId)) {
+            throw new ResourceNotFoundException("Notification does not belong to user");
+        }
+
+        if (notificationRepository.markAsRead(notificationId) > 0) {
+            notificationUnreadCountRepository.increment(currentUserId, -1);
+        }
+    }
+
+    // One UPDATE for the whole inbox
+    @Transactional
+    public void markAllAsRead() {
+        UUID currentUserId = userService.getCurrentUserId();
+
+        int updated = notificationRepository.markAllAsRead(currentUserId);
+        if (updated > 0) {
+            notificationUnreadCountRepository.increment(currentUserId, -updated);
+        }
     }
 
     @Transactional
@@ -91,6 +250,26 @@ public class NotificationService {
 
         notification.setDeletedAt(LocalDateTime.now());
         notificationRepository.save(notification);
+
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notificationUnreadCountRepository.increment(currentUserId, -1);
+        }
+    }
+
+    // Nightly drift correction for the unread counters
+    @Scheduled(cron = "${notification.unread-reconcile-cron:0 15 4 * * *}", zone = "${application.default-timezone:UTC}")
+    @Transactional
+    public void reconcileUnreadCounts() {
+        int rows = notificationUnreadCountRepository.reconcileAll();
+        log.info("Reconciled {} notification unread counters", rows);
+    }
+
+    @Scheduled(cron = "${notification.receipt-purge-cron:0 45 3 * * *}", zone = "${application.default-timezone:UTC}")
+    public void purgeEventReceipts() {
+        int deleted = notificationEventReceiptRepository.deleteCreatedBefore(LocalDateTime.now().minus(RECEIPT_RETENTION));
+        if (deleted > 0) {
+            log.info("Purged {} notification event receipts", deleted);
+        }
     }
 
     private NotificationResponse convertToResponse(Notification notification) {
@@ -103,6 +282,7 @@ public class NotificationService {
                 .title(notification.getTitle())
                 .message(notification.getMessage())
                 .relatedId(notification.getRelatedId())
+                .messageCount(notification.getMessageCount())
                 .isRead(notification.getIsRead())
                 .createdAt(notification.getCreatedAt())
                 .deletedAt(notification.getDeletedAt())
@@ -119,6 +299,7 @@ public class NotificationService {
                 .title(notification.getTitle())
                 .message(notification.getMessage())
                 .relatedId(notification.getRelatedId())
+                .messageCount(notification.getMessageCount())
                 .isRead(notification.getIsRead())
                 .createdAt(notification.getCreatedAt())
                 .deletedAt(notification.getDeletedAt())
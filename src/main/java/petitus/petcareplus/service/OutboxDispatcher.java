@@ -0,0 +1,191 @@
+package petitus.petcareplus.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import petitus.petcareplus.configuration.SchedulingConfig;
+import petitus.petcareplus.event.OutboxEventHandler;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.repository.OutboxEventRepository;
+import petitus.petcareplus.utils.Backoff;
+import petitus.petcareplus.utils.enums.OutboxEventStatus;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers outbox events. Each poll claims a batch with FOR UPDATE SKIP LOCKED, so several nodes can
+ * dispatch side by side, and leases it; handlers then run outside of any transaction. Failed events are
+ * retried with exponential backoff until MAX_ATTEMPTS, then parked as FAILED. Polling runs on its own
+ * scheduler thread, since a poll waits for its whole batch. Handlers that fold events, such as chat
+ * notifications, receive all of their events in a batch at once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    static final int BATCH_SIZE = 100;
+    static final int MAX_ATTEMPTS = 10;
+
+    private static final int WORKER_THREADS = 4;
+    private static final int MAX_ERROR_LENGTH = 255;
+    private static final Duration LEASE = Duration.ofMinutes(5); // Longer than any handler should take
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<OutboxEventType, OutboxEventHandler> handlersByType = new EnumMap<>(OutboxEventType.class);
+    private final AtomicInteger workerCount = new AtomicInteger();
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "outbox-" + workerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TransactionTemplate transactionTemplate;
+    private Timer createdToProcessedTimer;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        createdToProcessedTimer = Timer.builder("outbox.created_to_processed")
+                .description("Time from an outbox event being committed to its handler completing")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        for (OutboxEventHandler handler : handlers) {
+            for (OutboxEventType type : handler.types()) {
+                if (handlersByType.putIfAbsent(type, handler) != null) {
+                    throw new IllegalStateException("Duplicate outbox handler for " + type);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}", scheduler = SchedulingConfig.OUTBOX_SCHEDULER)
+    public void dispatch() {
+        List<OutboxEvent> batch;
+        do {
+            batch = claimBatch();
+
+            // Batched handlers get all of their events in one call, the rest one event per call
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            Map<OutboxEventHandler, List<OutboxEvent>> batchedEvents = new LinkedHashMap<>();
+            for (OutboxEvent event : batch) {
+                OutboxEventHandler handler = handlersByType.get(event.getType());
+                if (handler != null && handler.batched()) {
+                    batchedEvents.computeIfAbsent(handler, key -> new ArrayList<>()).add(event);
+                } else {
+                    futures.add(CompletableFuture.runAsync(() -> deliver(event), workers));
+                }
+            }
+            batchedEvents.forEach((handler, events) -> futures.add(
+                    CompletableFuture.runAsync(() -> deliverAll(handler, events), workers)));
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 30 3 * * *}", zone = "${application.default-timezone:UTC}")
+    public void purgeProcessed() {
+        int deleted = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(RETENTION));
+        if (deleted > 0) {
+            log.info("Purged {} processed outbox events", deleted);
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.lockDueEvents(now, BATCH_SIZE);
+            if (!events.isEmpty()) {
+                outboxEventRepository.lease(events.stream().map(OutboxEvent::getId).toList(), now.plus(LEASE));
+            }
+            return events;
+        });
+    }
+
+    void deliver(OutboxEvent event) {
+        // The claimed copy was read before the lease bumped its attempt count
+        int attempt = event.getAttempts() + 1;
+        try {
+            OutboxEventHandler handler = handlersByType.get(event.getType());
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler for " + event.getType());
+            }
+            handler.handle(event);
+
+            LocalDateTime processedAt = LocalDateTime.now();
+            outboxEventRepository.markProcessed(event.getId(), processedAt);
+            createdToProcessedTimer.record(Duration.between(event.getCreatedAt(), processedAt));
+        } catch (Exception e) {
+            recordFailure(event, attempt, e);
+        }
+    }
+
+    void deliverAll(OutboxEventHandler handler, List<OutboxEvent> events) {
+        try {
+            handler.handleAll(events);
+
+            LocalDateTime processedAt = LocalDateTime.now();
+            outboxEventRepository.markAllProcessed(events.stream().map(OutboxEvent::getId).toList(), processedAt);
+            events.forEach(event -> createdToProcessedTimer.record(Duration.between(event.getCreatedAt(),
+                    processedAt)));
+        } catch (Exception e) {
+            events.forEach(event -> recordFailure(event, event.getAttempts() + 1, e));
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, int attempt, Exception error) {
+        boolean exhausted = attempt >= MAX_ATTEMPTS;
+        log.error("Error delivering outbox event {} ({}), attempt {}{}: {}", event.getId(), event.getType(), attempt,
+                exhausted ? ", giving up" : "", error.getMessage(), error);
+        try {
+            outboxEventRepository.reschedule(event.getId(),
+                    exhausted ? OutboxEventStatus.FAILED : OutboxEventStatus.PENDING,
+                    LocalDateTime.now().plus(backoff(attempt)),
+                    truncate(error.getMessage()));
+        } catch (Exception e) {
+            // The lease still expires, so the event is retried anyway
+            log.error("Error recording failure for outbox event {}: {}", event.getId(), e.getMessage(), e);
+        }
+    }
+
+    static Duration backoff(int attempt) {
+        return Backoff.exponential(attempt, BASE_BACKOFF, MAX_BACKOFF);
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
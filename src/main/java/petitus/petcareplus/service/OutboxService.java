@@ -0,0 +1,38 @@
+package petitus.petcareplus.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.repository.OutboxEventRepository;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records side effects (push, mail, in-app notifications, WebSocket frames) in the transaction of the
+ * business change. Nothing is delivered unless that transaction commits; OutboxDispatcher delivers the
+ * rest even across restarts.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Joins the caller's transaction. Payloads carry ids rather than content, handlers load the current
+     * state (and decrypt it) when they deliver.
+     */
+    @Transactional
+    public void publish(OutboxEventType type, UUID aggregateId, Map<String, Object> payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,117 @@
+package petitus.petcareplus.service;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import petitus.petcareplus.exceptions.ServiceUnavailableException;
+import vn.payos.PayOS;
+import vn.payos.exception.PayOSException;
+import vn.payos.type.CheckoutResponseData;
+import vn.payos.type.PaymentData;
+import vn.payos.type.PaymentLinkData;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resilient access to the PayOS API. Every call runs on the "payos" thread-pool bulkhead, is cut
+ * off by the "payos" time limiter and counted by the "payos" circuit breaker (see
+ * resilience4j.* in application.properties). Requests PayOS rejects (invalid data, unknown order)
+ * are not counted as failures. Callers must not hold a DB transaction while calling.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayOSClient {
+
+    private static final String INSTANCE = "payos";
+    private static final String PAYOS_SERVER_ERROR = "INTERNAL_SERVER_ERROR";
+
+    private final PayOS payOS;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ThreadPoolBulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final MessageSourceService messageSourceService;
+
+    private CircuitBreaker circuitBreaker;
+    private ThreadPoolBulkhead bulkhead;
+    private TimeLimiter timeLimiter;
+
+    @PostConstruct
+    void init() {
+        CircuitBreakerConfig config = CircuitBreakerConfig
+                .from(circuitBreakerRegistry.circuitBreaker(INSTANCE).getCircuitBreakerConfig())
+                .ignoreException(PayOSClient::isRejectedRequest)
+                .build();
+        circuitBreaker = CircuitBreaker.of(INSTANCE, config);
+        circuitBreakerRegistry.replace(INSTANCE, circuitBreaker);
+        bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE);
+    }
+
+    public CheckoutResponseData createPaymentLink(PaymentData paymentData) {
+        return call("createPaymentLink", () -> payOS.createPaymentLink(paymentData));
+    }
+
+    public PaymentLinkData getPaymentLinkInformation(long orderCode) {
+        return call("getPaymentLinkInformation", () -> payOS.getPaymentLinkInformation(orderCode));
+    }
+
+    public PaymentLinkData cancelPaymentLink(long orderCode, String reason) {
+        return call("cancelPaymentLink", () -> payOS.cancelPaymentLink(orderCode, reason));
+    }
+
+    public boolean isAvailable() {
+        return circuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Whether PayOS answered and refused the request. Such errors say nothing about PayOS health.
+     */
+    static boolean isRejectedRequest(Throwable error) {
+        while (error instanceof CompletionException || error instanceof ExecutionException) {
+            error = error.getCause();
+        }
+        // call() wraps errors reported by PayOS itself
+        if (error instanceof IllegalStateException && error.getCause() instanceof PayOSException) {
+            error = error.getCause();
+        }
+        if (error instanceof PayOSException payOSException) {
+            return !PAYOS_SERVER_ERROR.equals(payOSException.getCode());
+        }
+        return error instanceof IllegalArgumentException;
+    }
+
+    private <T> T call(String operation, Callable<T> request) {
+        Callable<T> limited = timeLimiter.decorateFutureSupplier(
+                () -> bulkhead.executeCallable(request).toCompletableFuture());
+        Callable<T> guarded = CircuitBreaker.decorateCallable(circuitBreaker, limited);
+
+        try {
+            return guarded.call();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("PayOS {} rejected: {}", operation, e.getMessage());
+            throw new ServiceUnavailableException(messageSourceService.get("payos_unavailable"), e);
+        } catch (TimeoutException e) {
+            log.warn("PayOS {} timed out", operation);
+            throw new ServiceUnavailableException(messageSourceService.get("payos_unavailable"), e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // Errors reported by PayOS itself (invalid order, link not found, ...)
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
@@ -1,32 +1,33 @@
 package petitus.petcareplus.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import petitus.petcareplus.configuration.PayOSConfig;
 import petitus.petcareplus.dto.request.payment.CreatePayOSPaymentRequest;
 import petitus.petcareplus.dto.response.payment.PaymentUrlResponse;
 import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.exceptions.ResourceNotFoundException;
+import petitus.petcareplus.exceptions.ServiceUnavailableException;
 import petitus.petcareplus.model.Booking;
+import petitus.petcareplus.model.PayOSWebhookEvent;
 import petitus.petcareplus.model.Payment;
 import petitus.petcareplus.repository.BookingRepository;
 import petitus.petcareplus.repository.PaymentRepository;
+import petitus.petcareplus.utils.OrderCodeGenerator;
+import petitus.petcareplus.utils.enums.OutboxEventType;
 import petitus.petcareplus.utils.enums.PaymentMethod;
 import petitus.petcareplus.utils.enums.PaymentStatus;
-import vn.payos.PayOS;
 import vn.payos.type.CheckoutResponseData;
 import vn.payos.type.ItemData;
 import vn.payos.type.PaymentData;
 import vn.payos.type.PaymentLinkData;
-import vn.payos.type.Webhook;
-import vn.payos.type.WebhookData;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -34,12 +35,11 @@ import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
@@ -50,51 +50,37 @@ public class PayOSPaymentService {
     private final BookingRepository bookingRepository;
     private final MessageSourceService messageSourceService;
     private final PayOSConfig payOSConfig;
-    private final PayOS payOS;
+    private final PayOSClient payOSClient;
+    private final PaymentStatusService paymentStatusService;
     private final UserService userService;
+    private final OrderCodeGenerator orderCodeGenerator;
+    private final PlatformTransactionManager transactionManager;
+    private final OutboxService outboxService;
 
-    @Transactional
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Create a PayOS payment in three steps so no DB connection is held while PayOS responds:
+     * reserve the payment and commit, create the link at PayOS, then attach it in a second short
+     * transaction. If PayOS rejects the link the reserved payment is marked FAILED so the user can
+     * retry; after a timeout the link is cancelled first, see {@link #cancelUnconfirmedPaymentLink}.
+     */
     public PaymentUrlResponse createPayOSPayment(CreatePayOSPaymentRequest request) {
         try {
 
             UUID userId = userService.getCurrentUserId();
-            // 1. Validate booking
-            Booking booking = bookingRepository.findById(request.getBookingId())
-                    .orElseThrow(() -> new ResourceNotFoundException(messageSourceService.get("booking_not_found")));
-
-            // 2. Ensure booking belongs to user
-            if (!booking.getUser().getId().equals(userId)) {
-                throw new BadRequestException(messageSourceService.get("not_your_booking"));
-            }
-
-            // 3. Check if there's already a pending payment
-            List<Payment> pendingPayments = paymentRepository.findPendingPaymentsByBookingId(booking.getId());
-            if (!pendingPayments.isEmpty()) {
-                throw new BadRequestException(messageSourceService.get("payment_already_pending"));
-            }
-
-            // Ensure booking is not already paid
-            if (booking.getPaymentStatus() == PaymentStatus.COMPLETED) {
-                throw new BadRequestException(messageSourceService.get("booking_already_paid"));
-            }
-
-            // 4. Generate order code
-            long orderCode = generateOrderCode();
-            String orderCodeString = String.valueOf(orderCode);
-
-            // 5. Create payment record
-            Payment payment = Payment.builder()
-                    .booking(booking)
-                    .amount(request.getAmount())
-                    .paymentMethod(PaymentMethod.PAYOS)
-                    .status(PaymentStatus.PENDING)
-                    .paymentDescription(request.getDescription())
-                    .orderCode(orderCodeString)
-                    .build();
 
-            Payment savedPayment = paymentRepository.save(payment);
+            // 1-4. Validate the booking and reserve the payment
+            ReservedPayment reservedPayment = transactionTemplate.execute(status -> reservePayment(request, userId));
+            String orderCodeString = reservedPayment.orderCode();
+            long orderCode = Long.parseLong(orderCodeString);
 
-            // 6. Prepare PayOS payment data
+            // 5. Prepare PayOS payment data
             List<ItemData> items = createPayOSItems(request);
 
             PaymentData paymentData = PaymentData.builder()
@@ -110,18 +96,26 @@ public class PayOSPaymentService {
                     .returnUrl(payOSConfig.getReturnUrl())
                     .build();
 
-            // 7. Create payment link using PayOS SDK
-            CheckoutResponseData checkoutResponse = payOS.createPaymentLink(paymentData);
-
-            // 8. Update payment with PayOS response
-            savedPayment.setPayosData(checkoutResponse.getPaymentLinkId(),
-                    checkoutResponse.getCheckoutUrl(),
-                    checkoutResponse.getQrCode());
-            paymentRepository.save(savedPayment);
+            // 6. Create payment link using PayOS SDK, outside of any transaction
+            CheckoutResponseData checkoutResponse;
+            try {
+                checkoutResponse = payOSClient.createPaymentLink(paymentData);
+            } catch (ServiceUnavailableException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    cancelUnconfirmedPaymentLink(reservedPayment);
+                } else {
+                    // Rejected by the circuit breaker or bulkhead, so the request never reached PayOS
+                    transactionTemplate.executeWithoutResult(status -> markPaymentFailed(reservedPayment.id()));
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                transactionTemplate.executeWithoutResult(status -> markPaymentFailed(reservedPayment.id()));
+                throw e;
+            }
 
-            booking.setPaymentStatus(savedPayment.getStatus());
-            booking.setPayment(savedPayment);
-            bookingRepository.save(booking);
+            // 7. Update payment and booking with PayOS response
+            Payment savedPayment = transactionTemplate
+                    .execute(status -> attachPaymentLink(reservedPayment.id(), checkoutResponse));
 
             log.info("PayOS payment created successfully. Order code: {}, Payment ID: {}",
                     orderCodeString, savedPayment.getId());
@@ -136,12 +130,98 @@ public class PayOSPaymentService {
                     .message(messageSourceService.get("payment_created"))
                     .build();
 
+        } catch (ServiceUnavailableException e) {
+            log.error("PayOS unavailable while creating payment: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error creating PayOS payment: ", e);
             throw new BadRequestException(e.getLocalizedMessage());
         }
     }
 
+    private record ReservedPayment(UUID id, String orderCode) {
+    }
+
+    private ReservedPayment reservePayment(CreatePayOSPaymentRequest request, UUID userId) {
+        Booking booking = bookingRepository.findById(request.getBookingId())
+                .orElseThrow(() -> new ResourceNotFoundException(messageSourceService.get("booking_not_found")));
+
+        // Ensure booking belongs to user
+        if (!booking.getUser().getId().equals(userId)) {
+            throw new BadRequestException(messageSourceService.get("not_your_booking"));
+        }
+
+        // Ensure booking is not already paid
+        if (booking.getPaymentStatus() == PaymentStatus.COMPLETED) {
+            throw new BadRequestException(messageSourceService.get("booking_already_paid"));
+        }
+
+        String orderCode = String.valueOf(orderCodeGenerator.nextOrderCode());
+
+        // The partial unique index on pending payments per booking rejects a second PENDING
+        // payment, including one created concurrently
+        UUID paymentId = paymentRepository.insertPendingIfAbsent(UUID.randomUUID(), booking.getId(),
+                request.getAmount(), PaymentMethod.PAYOS.name(), orderCode, request.getDescription())
+                .orElseThrow(() -> new BadRequestException(messageSourceService.get("payment_already_pending")));
+
+        return new ReservedPayment(paymentId, orderCode);
+    }
+
+    private Payment attachPaymentLink(UUID paymentId, CheckoutResponseData checkoutResponse) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException(messageSourceService.get("payment_not_found")));
+
+        payment.setPayosData(checkoutResponse.getPaymentLinkId(),
+                checkoutResponse.getCheckoutUrl(),
+                checkoutResponse.getQrCode());
+        paymentRepository.save(payment);
+
+        Booking booking = payment.getBooking();
+        booking.setPaymentStatus(payment.getStatus());
+        booking.setPayment(payment);
+        bookingRepository.save(booking);
+
+        return payment;
+    }
+
+    // The booking owner is notified by the outbox dispatcher once the change commits
+    private void publishStatusChanged(Payment payment) {
+        Booking booking = payment.getBooking();
+        outboxService.publish(OutboxEventType.PAYMENT_STATUS_CHANGED, payment.getId(), Map.of(
+                "paymentId", payment.getId(),
+                "bookingId", booking.getId(),
+                "userId", booking.getUser().getId(),
+                "providerId", booking.getProvider().getId(),
+                "status", payment.getStatus().name()));
+    }
+
+    /**
+     * PayOS timed out, so it may still have created the link. Cancel it before failing the payment.
+     * If PayOS cannot confirm the cancel either, the payment stays PENDING and the reconciler settles
+     * it from the link status once it turns stale.
+     */
+    private void cancelUnconfirmedPaymentLink(ReservedPayment reservedPayment) {
+        try {
+            payOSClient.cancelPaymentLink(Long.parseLong(reservedPayment.orderCode()),
+                    "Payment link creation timed out");
+        } catch (ServiceUnavailableException e) {
+            log.warn("PayOS still unavailable, leaving payment {} PENDING for reconciliation", reservedPayment.id());
+            return;
+        } catch (RuntimeException e) {
+            // PayOS refused the cancel, which means the link was never created
+            log.info("No PayOS link to cancel for order code {}: {}", reservedPayment.orderCode(), e.getMessage());
+        }
+        transactionTemplate.executeWithoutResult(status -> markPaymentFailed(reservedPayment.id()));
+    }
+
+    private void markPaymentFailed(UUID paymentId) {
+        paymentRepository.findById(paymentId).ifPresent(payment -> {
+            payment.setStatus(PaymentStatus.FAILED);
+            paymentRepository.save(payment);
+            paymentStatusService.evict(payment.getOrderCode());
+        });
+    }
+
     private List<ItemData> createPayOSItems(CreatePayOSPaymentRequest request) {
         if (request.getItems() != null && !request.getItems().isEmpty()) {
             return request.getItems().stream()
@@ -162,15 +242,6 @@ public class PayOSPaymentService {
                         .build());
     }
 
-    private long generateOrderCode() {
-        // Generate a unique order code (current timestamp + random)
-        long timestamp = System.currentTimeMillis() / 1000; // Unix timestamp
-        Random random = new Random();
-        int randomNum = random.nextInt(1000); // 3-digit random number
-
-        return timestamp * 1000 + randomNum;
-    }
-
     @Transactional
     public void updatePaymentStatus(String orderCode, String status) {
         Payment payment = paymentRepository.findByOrderCode(orderCode)
@@ -205,89 +276,156 @@ public class PayOSPaymentService {
         }
 
         paymentRepository.save(payment);
+        paymentStatusService.evict(payment.getOrderCode());
+        publishStatusChanged(payment);
 
         log.info("Payment status updated from {} to {} for order code: {}",
                 oldStatus, payment.getStatus(), orderCode);
     }
 
+    /**
+     * Apply a verified webhook from the inbox. Idempotent: payments that are no longer pending are
+     * left untouched, so redelivered or replayed events are harmless.
+     *
+     * @return short outcome message stored for diagnostics
+     */
     @Transactional
-    public ResponseEntity<Map<String, String>> handlePayOSWebhook(Webhook webhookBody) {
-        try {
-            // Verify webhook using PayOS SDK
-            WebhookData webhookData = payOS.verifyPaymentWebhookData(webhookBody);
-
-            log.info("PayOS webhook verified successfully:\n{}",
-                    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(webhookData));
-
-            Map<String, String> response = new HashMap<>();
-            String orderCode = webhookData.getOrderCode().toString();
-            int amount = webhookData.getAmount();
-            String code = webhookData.getCode();
-            String description = webhookData.getDescription();
-            String transactionDateTime = webhookData.getTransactionDateTime();
-
-            log.info(
-                    "Processing PayOS webhook for order code: {}, amount: {}, code: {}, description: {}, transactionDateTime: {}",
-                    orderCode, amount, code, description, transactionDateTime);
-
-            Optional<Payment> paymentOptional = paymentRepository.findByOrderCode(orderCode);
-            if (paymentOptional.isEmpty()) {
-                response.put("Message", "Payment not found");
-                return ResponseEntity.ok(response);
-            }
+    public String applyWebhookEvent(PayOSWebhookEvent event) {
+        String orderCode = event.getOrderCode();
 
-            Payment payment = paymentOptional.get();
+        log.info(
+                "Processing PayOS webhook for order code: {}, amount: {}, code: {}, description: {}, transactionDateTime: {}",
+                orderCode, event.getAmount(), event.getCode(), event.getDescription(),
+                event.getTransactionDateTime());
 
-            // Check amount
-            if (amount != payment.getAmount().intValue()) {
-                response.put("Message", "Invalid amount");
-                return ResponseEntity.ok(response);
-            }
+        Optional<Payment> paymentOptional = paymentRepository.findByOrderCodeForUpdate(orderCode);
+        if (paymentOptional.isEmpty()) {
+            return "Payment not found";
+        }
 
-            // Check status
-            if (payment.getStatus() != PaymentStatus.PENDING) {
-                response.put("Message", "Payment already confirmed");
-                return ResponseEntity.ok(response);
-            }
+        Payment payment = paymentOptional.get();
 
-            // Update payment status
-            if ("00".equals(code)) {
-                payment.setStatus(PaymentStatus.COMPLETED);
-            } else {
-                payment.setStatus(PaymentStatus.FAILED);
-            }
+        // Check amount
+        if (event.getAmount() != payment.getAmount().intValue()) {
+            return "Invalid amount";
+        }
 
-            LocalDateTime paymentDate = mapStringToLocalDateTime(transactionDateTime);
+        // Check status
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            return "Payment already confirmed";
+        }
 
-            payment.setPaymentDate(paymentDate);
-            payment.setPaymentDescription(description);
+        transition(payment, "00".equals(event.getCode()) ? PaymentStatus.COMPLETED : PaymentStatus.FAILED,
+                mapStringToLocalDateTime(event.getTransactionDateTime()), event.getDescription());
 
-            paymentRepository.save(payment);
+        log.info("Payment status updated successfully for order code: {}", orderCode);
 
-            // Update payment status of booking if payment is successful
-            if (payment.getStatus() == PaymentStatus.COMPLETED) {
-                Booking booking = payment.getBooking();
-                booking.setPaymentStatus(PaymentStatus.COMPLETED);
-                booking.setPayment(payment);
-                bookingRepository.save(booking);
+        return "Confirm Success";
+    }
+
+    /**
+     * Apply a PayOS status fetched by the reconciler under the payment row lock. Payments that left
+     * PENDING in the meantime (e.g. a late webhook) and links still open at PayOS are skipped.
+     *
+     * @return the status the payment moved to, or empty when it was left as is
+     */
+    @Transactional
+    public Optional<PaymentStatus> applyReconciledStatus(UUID paymentId, PaymentLinkData paymentLinkData) {
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId).orElse(null);
+        if (payment == null || payment.getStatus() != PaymentStatus.PENDING
+                || paymentLinkData.getStatus() == null) {
+            return Optional.empty();
+        }
+
+        PaymentStatus newStatus;
+        LocalDateTime paymentDate = null;
+        switch (paymentLinkData.getStatus().toUpperCase()) {
+            case "PAID" -> {
+                if (paymentLinkData.getAmountPaid() == null
+                        || paymentLinkData.getAmountPaid() != payment.getAmount().intValue()) {
+                    log.warn("Reconciled amount mismatch for order code: {}, paid: {}, expected: {}",
+                            payment.getOrderCode(), paymentLinkData.getAmountPaid(), payment.getAmount());
+                    return Optional.empty();
+                }
+                newStatus = PaymentStatus.COMPLETED;
+                paymentDate = resolvePaymentDate(paymentLinkData);
             }
+            case "CANCELLED" -> newStatus = PaymentStatus.CANCELLED;
+            case "EXPIRED", "FAILED" -> newStatus = PaymentStatus.FAILED;
+            default -> {
+                // PENDING / PROCESSING: still open at PayOS
+                return Optional.empty();
+            }
+        }
 
-            log.info("Payment status updated successfully for order code: {}", orderCode);
+        transition(payment, newStatus, paymentDate, null);
+        log.info("Reconciled payment {} to {} for order code: {}", payment.getId(), newStatus,
+                payment.getOrderCode());
 
-            response.put("Message", "Confirm Success");
+        return Optional.of(newStatus);
+    }
 
-            return ResponseEntity.ok(response);
+    /**
+     * Fail a stale payment whose order code PayOS rejects, e.g. when link creation timed out and the
+     * cancel could not reach PayOS either. Otherwise it would stay PENDING and block the booking's next
+     * payment.
+     *
+     * @return FAILED, or empty when the payment left PENDING in the meantime
+     */
+    @Transactional
+    public Optional<PaymentStatus> failUnknownPayment(UUID paymentId) {
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId).orElse(null);
+        if (payment == null || payment.getStatus() != PaymentStatus.PENDING) {
+            return Optional.empty();
+        }
 
-        } catch (Exception e) {
-            log.error("Error verifying PayOS webhook: ", e);
-            throw new BadRequestException("Invalid PayOS webhook signature");
+        transition(payment, PaymentStatus.FAILED, null, null);
+        log.info("Failed payment {} unknown to PayOS, order code: {}", payment.getId(), payment.getOrderCode());
+
+        return Optional.of(PaymentStatus.FAILED);
+    }
+
+    /**
+     * Move a locked payment to {@code newStatus} and fan the change out: status cache, outbox event
+     * and, once paid, the booking. Shared by the webhook, reconciler and status check paths.
+     */
+    private void transition(Payment payment, PaymentStatus newStatus, LocalDateTime paymentDate,
+            String paymentDescription) {
+        payment.setStatus(newStatus);
+        if (paymentDate != null) {
+            payment.setPaymentDate(paymentDate);
+        }
+        if (paymentDescription != null) {
+            payment.setPaymentDescription(paymentDescription);
+        }
+
+        paymentRepository.save(payment);
+        paymentStatusService.evict(payment.getOrderCode());
+        publishStatusChanged(payment);
+
+        if (newStatus == PaymentStatus.COMPLETED) {
+            Booking booking = payment.getBooking();
+            booking.setPaymentStatus(PaymentStatus.COMPLETED);
+            booking.setPayment(payment);
+            bookingRepository.save(booking);
         }
     }
 
+    private LocalDateTime resolvePaymentDate(PaymentLinkData paymentLinkData) {
+        if (paymentLinkData.getTransactions() != null && !paymentLinkData.getTransactions().isEmpty()) {
+            try {
+                return mapStringToLocalDateTime(paymentLinkData.getTransactions().get(0).getTransactionDateTime());
+            } catch (IllegalArgumentException e) {
+                log.warn("Unparseable PayOS transaction time for order code: {}", paymentLinkData.getOrderCode());
+            }
+        }
+        return LocalDateTime.now();
+    }
+
     public void cancelPaymentLink(String orderCode, String reason) {
         try {
             long orderCodeLong = Long.parseLong(orderCode);
-            payOS.cancelPaymentLink(orderCodeLong, reason);
+            payOSClient.cancelPaymentLink(orderCodeLong, reason);
 
             // Update payment status in database
             Payment payment = paymentRepository.findByOrderCode(orderCode)
@@ -296,86 +434,107 @@ public class PayOSPaymentService {
 
             payment.setStatus(PaymentStatus.CANCELLED);
             paymentRepository.save(payment);
+            paymentStatusService.evict(payment.getOrderCode());
 
             log.info("PayOS payment link cancelled successfully. Order code: {}, Reason: {}", orderCode, reason);
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error cancelling PayOS payment link: ", e);
             throw new BadRequestException("Không thể hủy link thanh toán PayOS: " + e.getMessage());
         }
     }
 
+    /**
+     * Payment link details from PayOS. While PayOS is unavailable, falls back to what we have
+     * stored for the payment so return pages keep rendering.
+     */
     public PaymentLinkData getPaymentLinkInfo(String orderCode) {
         try {
             long orderCodeLong = Long.parseLong(orderCode);
-            return payOS.getPaymentLinkInformation(orderCodeLong);
+            return payOSClient.getPaymentLinkInformation(orderCodeLong);
+        } catch (ServiceUnavailableException e) {
+            log.warn("PayOS unavailable, using stored payment for order code: {}", orderCode);
+            return paymentRepository.findByOrderCode(orderCode)
+                    .map(this::mapToStoredPaymentLinkData)
+                    .orElseThrow(() -> e);
         } catch (Exception e) {
             log.error("Error getting PayOS payment info: ", e);
             throw new BadRequestException("Không thể lấy thông tin thanh toán PayOS: " + e.getMessage());
         }
     }
 
-    @Transactional
+    private PaymentLinkData mapToStoredPaymentLinkData(Payment payment) {
+        int amount = payment.getAmount().intValue();
+        boolean paid = payment.getStatus() == PaymentStatus.COMPLETED;
+
+        Payment.PayosData payosData = payment.getPayosData();
+        String paymentLinkId = payosData != null ? payosData.getPaymentLinkId() : null;
+
+        // PaymentLinkData rejects null summary fields
+        return PaymentLinkData.builder()
+                .id(paymentLinkId != null ? paymentLinkId : "")
+                .orderCode(Long.parseLong(payment.getOrderCode()))
+                .amount(amount)
+                .amountPaid(paid ? amount : 0)
+                .amountRemaining(paid ? 0 : amount)
+                .status(switch (payment.getStatus()) {
+                    case COMPLETED -> "PAID";
+                    case CANCELLED -> "CANCELLED";
+                    case FAILED -> "FAILED";
+                    default -> "PENDING";
+                })
+                .createdAt(payment.getCreatedAt() != null ? payment.getCreatedAt().toString() : "")
+                .build();
+    }
+
     public void checkAndUpdatePaymentStatus(String orderCode) {
         try {
             log.info("Checking PayOS payment status for order code: {}", orderCode);
 
-            // Get payment info from PayOS
+            // Get payment info from PayOS before opening a transaction
             PaymentLinkData paymentLinkData = getPaymentLinkInfo(orderCode);
 
-            log.info("PayOS payment info retrieved:\n{}",
-                    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(paymentLinkData));
-
-            // Find payment in database
-            Payment payment = paymentRepository.findByOrderCode(orderCode)
-                    .orElseThrow(
-                            () -> new ResourceNotFoundException("Payment not found with order code: " + orderCode));
-
-            PaymentStatus currentDbStatus = payment.getStatus();
+            log.info("PayOS payment info retrieved. Order code: {}, status: {}, amount paid: {}",
+                    orderCode, paymentLinkData.getStatus(), paymentLinkData.getAmountPaid());
 
-            // Map PayOS status to our PaymentStatus
-            PaymentStatus newStatus = mapPayOSStatusToPaymentStatus(paymentLinkData.getStatus());
+            transactionTemplate.executeWithoutResult(status -> applyPaymentLinkStatus(orderCode, paymentLinkData));
 
-            // Only update if status has changed
-            if (currentDbStatus != newStatus) {
-                log.info("Payment status changed from {} to {} for order code: {}",
-                        currentDbStatus, newStatus, orderCode);
-
-                payment.setStatus(newStatus);
+        } catch (ResourceNotFoundException e) {
+            log.error("Payment not found in database for order code: {}", orderCode);
+            throw e;
+        } catch (Exception e) {
+            log.error("Error checking and updating PayOS payment status for order code: {}", orderCode, e);
+            throw new BadRequestException("Failed to check PayOS payment status: " + e.getMessage());
+        }
+    }
 
-                // Set payment date if completed
-                // if (newStatus == PaymentStatus.COMPLETED && payment.getPaymentDate() == null)
-                // {
-                // payment.setPaymentDate(LocalDateTime.now());
-                // }
+    private void applyPaymentLinkStatus(String orderCode, PaymentLinkData paymentLinkData) {
+        // Find payment in database
+        Payment payment = paymentRepository.findByOrderCodeForUpdate(orderCode)
+                .orElseThrow(
+                        () -> new ResourceNotFoundException("Payment not found with order code: " + orderCode));
 
-                // Update booking payment status
-                if (newStatus == PaymentStatus.COMPLETED) {
-                    // Booking booking = payment.getBooking();
-                    // booking.setPaymentStatus(petitus.petcareplus.utils.enums.PaymentStatus.COMPLETED);
-                    // bookingRepository.save(booking);
+        PaymentStatus currentDbStatus = payment.getStatus();
 
-                    // log.info("Booking payment status updated to COMPLETED for booking ID: {}",
-                    // booking.getId());
-                }
+        // Map PayOS status to our PaymentStatus
+        PaymentStatus newStatus = mapPayOSStatusToPaymentStatus(paymentLinkData.getStatus());
 
-                paymentRepository.save(payment);
+        // Only update if status has changed
+        if (currentDbStatus != newStatus) {
+            log.info("Payment status changed from {} to {} for order code: {}",
+                    currentDbStatus, newStatus, orderCode);
 
-                Booking booking = payment.getBooking();
-                booking.setPaymentStatus(payment.getStatus());
-                booking.setPayment(payment);
-                bookingRepository.save(booking);
+            transition(payment, newStatus, null, null);
 
-            } else {
-                log.info("Payment status unchanged ({}) for order code: {}", currentDbStatus, orderCode);
-            }
+            Booking booking = payment.getBooking();
+            booking.setPaymentStatus(payment.getStatus());
+            booking.setPayment(payment);
+            bookingRepository.save(booking);
 
-        } catch (ResourceNotFoundException e) {
-            log.error("Payment not found in database for order code: {}", orderCode);
-            throw e;
-        } catch (Exception e) {
-            log.error("Error checking and updating PayOS payment status for order code: {}", orderCode, e);
-            throw new BadRequestException("Failed to check PayOS payment status: " + e.getMessage());
+        } else {
+            log.info("Payment status unchanged ({}) for order code: {}", currentDbStatus, orderCode);
         }
     }
 
@@ -0,0 +1,207 @@
+package petitus.petcareplus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.model.PayOSWebhookEvent;
+import petitus.petcareplus.repository.PayOSWebhookEventRepository;
+import petitus.petcareplus.utils.Backoff;
+import petitus.petcareplus.utils.enums.WebhookEventStatus;
+import vn.payos.PayOS;
+import vn.payos.type.Webhook;
+import vn.payos.type.WebhookData;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Webhook inbox for PayOS: the HTTP handler only verifies and persists the event, a small worker
+ * pool applies inbox rows to payments and bookings afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayOSWebhookInboxService {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int WORKER_THREADS = 4;
+    private static final int MAX_ATTEMPTS = 10; // About three hours of retries with the backoff below
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final int MAX_RESULT_LENGTH = 255;
+
+    private final PayOSWebhookEventRepository webhookEventRepository;
+    private final PayOSPaymentService payOSPaymentService;
+    private final PayOS payOS;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger workerCount = new AtomicInteger();
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "payos-webhook-" + workerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TransactionTemplate transactionTemplate;
+    private Timer ingestToAppliedTimer;
+    private Counter acceptedCounter;
+    private Counter duplicateCounter;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ingestToAppliedTimer = Timer.builder("payos.webhook.ingest_to_applied")
+                .description("Time from webhook ingestion to the payment update being committed")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        acceptedCounter = Counter.builder("payos.webhook.received").tag("result", "accepted")
+                .register(meterRegistry);
+        duplicateCounter = Counter.builder("payos.webhook.received").tag("result", "duplicate")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Verify the signature and persist the event. Returns false when the same event was already
+     * received. Processing is kicked off after commit; the scheduled poll picks up anything missed.
+     */
+    @Transactional
+    public boolean ingest(Webhook webhookBody) {
+        WebhookData webhookData;
+        try {
+            webhookData = payOS.verifyPaymentWebhookData(webhookBody);
+        } catch (Exception e) {
+            log.error("Error verifying PayOS webhook: ", e);
+            throw new BadRequestException("Invalid PayOS webhook signature");
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(webhookData);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid PayOS webhook payload");
+        }
+
+        UUID eventId = UUID.randomUUID();
+        int inserted = webhookEventRepository.insertIfAbsent(
+                eventId,
+                webhookData.getOrderCode().toString(),
+                webhookData.getCode(),
+                webhookData.getAmount(),
+                webhookData.getDescription(),
+                webhookData.getTransactionDateTime(),
+                payload);
+
+        if (inserted == 0) {
+            duplicateCounter.increment();
+            log.info("Duplicate PayOS webhook ignored for order code: {}, code: {}",
+                    webhookData.getOrderCode(), webhookData.getCode());
+            return false;
+        }
+
+        acceptedCounter.increment();
+        log.info("PayOS webhook stored for order code: {}", webhookData.getOrderCode());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                workers.execute(() -> processEvent(eventId));
+            }
+        });
+
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${payos.webhook.poll-interval-ms:5000}")
+    public void processPendingEvents() {
+        List<UUID> pendingIds = webhookEventRepository.findDueIds(LocalDateTime.now(),
+                PageRequest.of(0, BATCH_SIZE));
+        if (pendingIds.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<?>[] futures = pendingIds.stream()
+                .map(id -> CompletableFuture.runAsync(() -> processEvent(id), workers))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void processEvent(UUID eventId) {
+        try {
+            Duration latency = transactionTemplate.execute(status -> webhookEventRepository.lockPendingById(eventId)
+                    .map(event -> {
+                        String outcome = payOSPaymentService.applyWebhookEvent(event);
+
+                        LocalDateTime processedAt = LocalDateTime.now();
+                        event.setStatus(WebhookEventStatus.PROCESSED);
+                        event.setAttempts(event.getAttempts() + 1);
+                        event.setResult(outcome);
+                        event.setProcessedAt(processedAt);
+                        webhookEventRepository.save(event);
+
+                        return Duration.between(event.getCreatedAt(), processedAt);
+                    })
+                    .orElse(null));
+
+            if (latency != null) {
+                ingestToAppliedTimer.record(latency);
+            }
+        } catch (Exception e) {
+            log.error("Error applying PayOS webhook event {}: {}", eventId, e.getMessage(), e);
+            recordFailure(eventId, e);
+        }
+    }
+
+    private void recordFailure(UUID eventId, Exception error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> webhookEventRepository.lockPendingById(eventId)
+                    .ifPresent(event -> {
+                        event.setAttempts(event.getAttempts() + 1);
+                        event.setResult(truncate(error.getMessage()));
+                        if (event.getAttempts() >= MAX_ATTEMPTS) {
+                            event.setStatus(WebhookEventStatus.FAILED);
+                        } else {
+                            event.setNextAttemptAt(LocalDateTime.now().plus(
+                                    Backoff.exponential(event.getAttempts(), BASE_BACKOFF, MAX_BACKOFF)));
+                        }
+                        webhookEventRepository.save(event);
+                    }));
+        } catch (Exception e) {
+            log.error("Error recording failure for PayOS webhook event {}: {}", eventId, e.getMessage(), e);
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_RESULT_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_RESULT_LENGTH);
+    }
+}
@@ -0,0 +1,219 @@
+package petitus.petcareplus.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import petitus.petcareplus.dto.response.payment.PaymentReconciliationResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.model.Payment;
+import petitus.petcareplus.repository.PaymentRepository;
+import petitus.petcareplus.utils.enums.PaymentMethod;
+import petitus.petcareplus.utils.enums.PaymentStatus;
+import vn.payos.type.PaymentLinkData;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls PayOS for PENDING payments whose webhook never arrived and applies the final status.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentReconciliationService {
+
+    private static final int BATCH_SIZE = 100;
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID KEYSET_START_ID = new UUID(0L, 0L);
+    private static final String LOCK_NAME = "payos-reconciliation";
+
+    private final PaymentRepository paymentRepository;
+    private final PayOSPaymentService payOSPaymentService;
+    private final PayOSClient payOSClient;
+    private final MessageSourceService messageSourceService;
+    private final MeterRegistry meterRegistry;
+    private final AdvisoryLockService advisoryLockService;
+
+    @Value("${payos.reconcile.stale-after-minutes:15}")
+    private long staleAfterMinutes;
+
+    @Value("${payos.reconcile.concurrency:4}")
+    private int concurrency;
+
+    @Value("${payos.reconcile.requests-per-second:10}")
+    private int requestsPerSecond;
+
+    private ExecutorService workers;
+    private long nextPermitAt;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger workerCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "payos-reconcile-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${payos.reconcile.interval-ms:300000}",
+            initialDelayString = "${payos.reconcile.initial-delay-ms:60000}")
+    public void reconcileScheduled() {
+        try {
+            advisoryLockService.runExclusively(LOCK_NAME, this::reconcile);
+        } catch (Exception e) {
+            log.error("Error reconciling PayOS payments: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run a reconciliation pass on demand. Rejected while a pass is running on any node.
+     */
+    public PaymentReconciliationResponse reconcileNow() {
+        return advisoryLockService.runExclusively(LOCK_NAME, this::reconcile)
+                .orElseThrow(() -> new BadRequestException(messageSourceService.get("payment_reconciliation_running")));
+    }
+
+    PaymentReconciliationResponse reconcile() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime staleBefore = startedAt.minusMinutes(staleAfterMinutes);
+        long startNanos = System.nanoTime();
+
+        int scanned = 0;
+        int errors = 0;
+        Map<PaymentStatus, Integer> applied = new HashMap<>();
+
+        LocalDateTime afterCreatedAt = KEYSET_START;
+        UUID afterId = KEYSET_START_ID;
+
+        while (true) {
+            List<Payment> batch = paymentRepository.findStalePendingPayments(PaymentMethod.PAYOS.name(),
+                    staleBefore, afterCreatedAt, afterId, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Payment last = batch.get(batch.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+            scanned += batch.size();
+
+            List<UUID> unknownPayments = new ArrayList<>();
+            Map<UUID, PaymentLinkData> paymentLinks = fetchPaymentLinks(batch, unknownPayments);
+            errors += batch.size() - paymentLinks.size() - unknownPayments.size();
+
+            // One short locked transaction per payment, so a concurrent webhook waits for at most one row
+            paymentLinks.forEach((paymentId, paymentLinkData) -> payOSPaymentService
+                    .applyReconciledStatus(paymentId, paymentLinkData)
+                    .ifPresent(status -> applied.merge(status, 1, Integer::sum)));
+            unknownPayments.forEach(paymentId -> payOSPaymentService.failUnknownPayment(paymentId)
+                    .ifPresent(status -> applied.merge(status, 1, Integer::sum)));
+
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        int completed = applied.getOrDefault(PaymentStatus.COMPLETED, 0);
+        int cancelled = applied.getOrDefault(PaymentStatus.CANCELLED, 0);
+        int failed = applied.getOrDefault(PaymentStatus.FAILED, 0);
+
+        PaymentReconciliationResponse report = PaymentReconciliationResponse.builder()
+                .startedAt(startedAt)
+                .durationMs(Duration.ofNanos(System.nanoTime() - startNanos).toMillis())
+                .scanned(scanned)
+                .completed(completed)
+                .cancelled(cancelled)
+                .failed(failed)
+                .stillPending(scanned - errors - completed - cancelled - failed)
+                .errors(errors)
+                .build();
+
+        recordMetrics(report);
+        log.info("PayOS reconciliation finished in {} ms: scanned={}, completed={}, cancelled={}, failed={}, " +
+                "stillPending={}, errors={}", report.getDurationMs(), scanned, completed, cancelled, failed,
+                report.getStillPending(), errors);
+
+        return report;
+    }
+
+    /**
+     * Query PayOS for a batch with at most {@code concurrency} calls in flight and at most
+     * {@code requestsPerSecond} calls started per second. Failed lookups are left out; those PayOS
+     * rejected (order code unknown) are added to {@code unknownPayments}.
+     */
+    private Map<UUID, PaymentLinkData> fetchPaymentLinks(List<Payment> batch, List<UUID> unknownPayments) {
+        Map<UUID, CompletableFuture<PaymentLinkData>> futures = new HashMap<>();
+
+        for (Payment payment : batch) {
+            acquirePermit();
+            futures.put(payment.getId(), CompletableFuture.supplyAsync(
+                    () -> payOSClient.getPaymentLinkInformation(Long.parseLong(payment.getOrderCode())), workers));
+        }
+
+        Map<UUID, PaymentLinkData> paymentLinks = new HashMap<>();
+        futures.forEach((paymentId, future) -> {
+            try {
+                paymentLinks.put(paymentId, future.join());
+            } catch (Exception e) {
+                if (PayOSClient.isRejectedRequest(e)) {
+                    unknownPayments.add(paymentId);
+                } else {
+                    log.warn("Could not fetch PayOS status for payment {}: {}", paymentId, e.getMessage());
+                }
+            }
+        });
+        return paymentLinks;
+    }
+
+    private void acquirePermit() {
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(requestsPerSecond, 1);
+        long now = System.nanoTime();
+        long wait = nextPermitAt - now;
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconciliation interrupted", e);
+            }
+        }
+        nextPermitAt = Math.max(now, nextPermitAt) + interval;
+    }
+
+    private void recordMetrics(PaymentReconciliationResponse report) {
+        count("scanned", report.getScanned());
+        count("completed", report.getCompleted());
+        count("cancelled", report.getCancelled());
+        count("failed", report.getFailed());
+        count("errors", report.getErrors());
+    }
+
+    private void count(String outcome, int amount) {
+        if (amount > 0) {
+            Counter.builder("payos.reconcile.payments").tag("outcome", outcome)
+                    .register(meterRegistry).increment(amount);
+        }
+    }
+}
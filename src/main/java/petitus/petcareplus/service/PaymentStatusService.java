@@ -0,0 +1,97 @@
+package petitus.petcareplus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import petitus.petcareplus.dto.response.payment.PaymentStatusResponse;
+import petitus.petcareplus.exceptions.ResourceNotFoundException;
+import petitus.petcareplus.model.Payment;
+import petitus.petcareplus.repository.PaymentRepository;
+import petitus.petcareplus.utils.enums.PaymentStatus;
+
+import java.time.Duration;
+
+/**
+ * Payment status for polling clients, cached in Redis so repeated polls do not reach Postgres.
+ * Entries are evicted whenever a payment changes status.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentStatusService {
+
+    private static final String REDIS_PAYMENT_STATUS_KEY = "payment_status";
+    private static final String NOT_FOUND = "__NOT_FOUND__";
+    // Status changes evict the entry; the TTL only bounds staleness if an eviction is lost and is
+    // kept far above the 5 s poll interval so polls are served from Redis
+    private static final Duration PENDING_TTL = Duration.ofMinutes(2);
+    private static final Duration FINAL_TTL = Duration.ofMinutes(10);
+    private static final Duration NOT_FOUND_TTL = Duration.ofSeconds(5);
+
+    private final PaymentRepository paymentRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MessageSourceService messageSourceService;
+
+    public PaymentStatusResponse getPaymentStatus(String orderCode) {
+        String redisKey = redisKey(orderCode);
+
+        String cached = redisTemplate.opsForValue().get(redisKey);
+        if (NOT_FOUND.equals(cached)) {
+            throw new ResourceNotFoundException(messageSourceService.get("payment_not_found"));
+        }
+        if (cached != null) {
+            try {
+                return objectMapper.readValue(cached, PaymentStatusResponse.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable payment status cache entry {}", redisKey);
+            }
+        }
+
+        Payment payment = paymentRepository.findByOrderCode(orderCode).orElse(null);
+        if (payment == null) {
+            redisTemplate.opsForValue().set(redisKey, NOT_FOUND, NOT_FOUND_TTL);
+            throw new ResourceNotFoundException(messageSourceService.get("payment_not_found"));
+        }
+
+        PaymentStatusResponse response = PaymentStatusResponse.builder()
+                .orderCode(payment.getOrderCode())
+                .status(payment.getStatus())
+                .build();
+
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(response),
+                    payment.getStatus() == PaymentStatus.PENDING ? PENDING_TTL : FINAL_TTL);
+        } catch (JsonProcessingException e) {
+            log.error("Error caching payment status for order code {}: {}", orderCode, e.getMessage(), e);
+        }
+
+        return response;
+    }
+
+    /**
+     * Drop the cached status once the surrounding transaction commits (immediately if there is none),
+     * so a concurrent poll cannot re-cache the old status.
+     */
+    public void evict(String orderCode) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    redisTemplate.delete(redisKey(orderCode));
+                }
+            });
+        } else {
+            redisTemplate.delete(redisKey(orderCode));
+        }
+    }
+
+    private String redisKey(String orderCode) {
+        return REDIS_PAYMENT_STATUS_KEY + ":" + orderCode;
+    }
+}
@@ -27,6 +27,7 @@ public class ProfileService {
     private final UserRepository userRepository;
     private final UserService userService;
     private final MessageSourceService messageSourceService;
+    private final ProviderSearchService providerSearchService;
 
     public Page<Profile> findAll(ProfileCriteria criteria, PaginationCriteria paginationCriteria) {
         return profileRepository.findAll(new ProfileFilterSpecification(criteria),
@@ -76,6 +77,7 @@ public class ProfileService {
         // Save both User and Profile entities
         userRepository.save(user);
         profileRepository.save(existingProfile);
+        providerSearchService.refreshProvider(user.getId());
     }
 
 
@@ -0,0 +1,133 @@
+package petitus.petcareplus.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import petitus.petcareplus.dto.response.service.RecommendedProviderServiceResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.repository.ProviderRecommendationRepository;
+import petitus.petcareplus.repository.ProviderRecommendationRepository.RecommendationRow;
+import petitus.petcareplus.utils.GeoHash;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recommended provider services per service and per area, read from scores precomputed in
+ * provider_recommendations. A frequent job rescores only provider services that changed since the
+ * previous run; a nightly rebuild rescores everything so booking recency decay stays current.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProviderRecommendationService {
+
+    private static final String REDIS_WATERMARK_KEY = "provider_recommendations:watermark";
+    private static final int AREA_PRECISION = 4;
+    private static final int MAX_RECOMMENDATIONS = 50;
+    // Covers writes that committed after the previous run read its watermark
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(5);
+
+    private final ProviderRecommendationRepository providerRecommendationRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MessageSourceService messageSourceService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<RecommendedProviderServiceResponse> getRecommendations(UUID serviceId, Double latitude,
+            Double longitude, int limit) {
+        if ((latitude == null) != (longitude == null)
+                || (latitude != null && (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180))) {
+            throw new BadRequestException(messageSourceService.get("invalid_coordinates"));
+        }
+        if (serviceId == null && latitude == null) {
+            throw new BadRequestException(messageSourceService.get("recommendation_criteria_required"));
+        }
+        if (limit < 1 || limit > MAX_RECOMMENDATIONS) {
+            throw new BadRequestException(messageSourceService.get("invalid_page_size"));
+        }
+
+        List<RecommendationRow> rows;
+        if (latitude == null) {
+            rows = providerRecommendationRepository.findTopByService(serviceId, limit);
+        } else {
+            // The surrounding cells too, so callers near a cell edge still see providers just across it
+            List<String> areas = GeoHash.withNeighbours(GeoHash.encode(latitude, longitude, AREA_PRECISION));
+            rows = serviceId == null
+                    ? providerRecommendationRepository.findTopByAreas(areas, limit)
+                    : providerRecommendationRepository.findTopByAreasAndService(areas, serviceId, limit);
+        }
+
+        return rows.stream()
+                .map(row -> RecommendedProviderServiceResponse.builder()
+                        .providerServiceId(row.getProviderServiceId())
+                        .providerId(row.getProviderId())
+                        .serviceId(row.getServiceId())
+                        .businessName(row.getBusinessName())
+                        .providerName(row.getProviderName())
+                        .avatarUrl(row.getAvatarUrl())
+                        .serviceName(row.getServiceName())
+                        .price(row.getPrice())
+                        .rating(row.getRating())
+                        .reviewCount(row.getReviewCount())
+                        .score(row.getScore())
+                        .build())
+                .toList();
+    }
+
+    @Scheduled(cron = "${recommendation.refresh-cron:0 */15 * * * *}", zone = "${application.default-timezone:UTC}")
+    public void refreshChanged() {
+        // Watermark is "<change_seq one run earlier>|<change_seq at last run>|<last run start>". Rescanning
+        // from one run earlier picks up bookings whose transactions were still open during the last run.
+        String watermark = redisTemplate.opsForValue().get(REDIS_WATERMARK_KEY);
+        String[] parts = watermark != null ? watermark.split("\\|") : new String[0];
+        if (parts.length != 3) {
+            rebuildAll();
+            return;
+        }
+
+        long sinceSeq = Long.parseLong(parts[0]);
+        long lastSeq = Long.parseLong(parts[1]);
+        LocalDateTime since = LocalDateTime.parse(parts[2]).minus(WATERMARK_OVERLAP);
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long maxSeq = providerRecommendationRepository.findMaxBookingChangeSeq();
+        Integer rows = transactionTemplate.execute(status -> {
+            providerRecommendationRepository.deleteInactive();
+            return providerRecommendationRepository.refreshChanged(sinceSeq, since);
+        });
+
+        saveWatermark(lastSeq, maxSeq, startedAt);
+        log.info("Rescored {} changed provider services for recommendations", rows);
+    }
+
+    @Scheduled(cron = "${recommendation.rebuild-cron:0 0 4 * * *}", zone = "${application.default-timezone:UTC}")
+    public void rebuildAll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long maxSeq = providerRecommendationRepository.findMaxBookingChangeSeq();
+        Integer rows = transactionTemplate.execute(status -> {
+            providerRecommendationRepository.deleteInactive();
+            return providerRecommendationRepository.rebuildAll();
+        });
+
+        saveWatermark(maxSeq, maxSeq, startedAt);
+        log.info("Rebuilt recommendation scores for {} provider services", rows);
+    }
+
+    private void saveWatermark(long previousSeq, long changeSeq, LocalDateTime startedAt) {
+        redisTemplate.opsForValue().set(REDIS_WATERMARK_KEY, previousSeq + "|" + changeSeq + "|" + startedAt);
+    }
+}
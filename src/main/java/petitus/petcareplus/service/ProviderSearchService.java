@@ -0,0 +1,77 @@
+package petitus.petcareplus.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import petitus.petcareplus.dto.response.service.ProviderServiceSearchResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
+import petitus.petcareplus.repository.ProviderSearchDocumentRepository;
+import petitus.petcareplus.utils.PageRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Accent-insensitive full-text and trigram search over provider services. Documents are refreshed by
+ * the writes that change searchable text; price, rating and deletion are read live at query time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProviderSearchService {
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final ProviderSearchDocumentRepository providerSearchDocumentRepository;
+    private final MessageSourceService messageSourceService;
+
+    public Page<ProviderServiceSearchResponse> search(String query, Double minRating, BigDecimal minPrice,
+            BigDecimal maxPrice, PaginationCriteria pagination) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException(messageSourceService.get("invalid_search_query"));
+        }
+
+        // Results are ordered by relevance, so no sort is taken from the request
+        PageRequest pageRequest = PageRequestBuilder.build(pagination);
+
+        return providerSearchDocumentRepository
+                .search(query.trim(), minRating, minPrice, maxPrice,
+                        PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize()))
+                .map(row -> ProviderServiceSearchResponse.builder()
+                        .providerServiceId(row.getProviderServiceId())
+                        .providerId(row.getProviderId())
+                        .serviceId(row.getServiceId())
+                        .businessName(row.getBusinessName())
+                        .providerName(row.getProviderName())
+                        .serviceName(row.getServiceName())
+                        .price(row.getPrice())
+                        .rating(row.getRating())
+                        .relevance(row.getRelevance())
+                        .build());
+    }
+
+    // Call after changing a provider's names, business profile or service list
+    @Transactional
+    public void refreshProvider(UUID providerId) {
+        providerSearchDocumentRepository.refreshProvider(providerId);
+    }
+
+    // Call after renaming a service
+    @Transactional
+    public void refreshService(UUID serviceId) {
+        providerSearchDocumentRepository.refreshService(serviceId);
+    }
+
+    // Nightly safety net for writes that bypass the refresh calls
+    @Scheduled(cron = "${search.rebuild-cron:0 45 3 * * *}", zone = "${application.default-timezone:UTC}")
+    @Transactional
+    public void rebuildAll() {
+        int documents = providerSearchDocumentRepository.rebuildAll();
+        log.info("Rebuilt {} provider search documents", documents);
+    }
+}
@@ -40,6 +40,7 @@ public class ProviderServiceService {
         private final ServiceRepository serviceRepository;
         private final UserService userService;
         private final MessageSourceService messageSourceService;
+        private final ProviderSearchService providerSearchService;
 
         private static final BigDecimal MAX_CUSTOM_PRICE = new BigDecimal("10000000"); // 10 million
 
@@ -52,19 +53,8 @@ public class ProviderServiceService {
                 // Build page request từ pagination
                 PageRequest pageRequest = PageRequestBuilder.build(pagination);
 
-                // Execute query
-                Page<ProviderService> providerServices = providerServiceRepository.findAll(specification, pageRequest);
-
-                // Convert to response DTO
-                return providerServices.map(this::mapToProviderServiceResponse);
-        }
-
-        // Old method
-        public List<ProviderServiceResponse> getAllProviderServices() {
-                return providerServiceRepository.findAllActiveService().stream()
-                                .filter(ps -> ps.getDeletedAt() == null)
-                                .map(this::mapToProviderServiceResponse)
-                                .collect(Collectors.toList());
+                // Execute query, projected straight to responses
+                return providerServiceRepository.findAllAsResponses(specification, pageRequest);
         }
 
         public ProviderServiceResponse getProviderServiceById(UUID id) {
@@ -118,6 +108,7 @@ public class ProviderServiceService {
                                                                 : service.getDescription());
 
                                 ProviderService restoredProviderService = providerServiceRepository.save(existing);
+                                providerSearchService.refreshProvider(provider.getId());
                                 return mapToProviderServiceResponse(restoredProviderService);
                         } else {
                                 throw new BadRequestException("Provider already offers this service");
@@ -137,6 +128,7 @@ public class ProviderServiceService {
                                 .build();
 
                 ProviderService savedProviderService = providerServiceRepository.save(providerService);
+                providerSearchService.refreshProvider(provider.getId());
                 return mapToProviderServiceResponse(savedProviderService);
         }
 
@@ -200,6 +192,11 @@ public class ProviderServiceService {
                                 .customPrice(providerService.getCustomPrice())
                                 .customDescription(providerService.getCustomDescription())
                                 .iconUrl(providerService.getService().getIconUrl())
+                                .providerAvatar(providerService.getProvider().getProfile() != null
+                                                ? providerService.getProvider().getProfile().getAvatarUrl()
+                                                : null)
+                                .rating(providerService.getRating())
+                                .reviewCount(providerService.getRatingCount())
                                 .createdAt(providerService.getCreatedAt())
                                 .build();
         }
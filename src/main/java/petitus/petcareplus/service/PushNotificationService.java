@@ -0,0 +1,44 @@
+package petitus.petcareplus.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import petitus.petcareplus.model.FcmToken;
+import petitus.petcareplus.repository.FcmTokenRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outbound push. A push goes to every device of the recipient in multicasts of up to 500 tokens, and
+ * {@link #send} returns only once FCM has accepted each of them; a failure propagates, so the outbox
+ * event that asked for the push is retried instead of being marked processed. Pushes sharing a collapse
+ * key replace each other on the device, so a burst of chat messages, or a retried push, shows once.
+ * Unregistered tokens are deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PushNotificationService {
+
+    static final int MAX_TOKENS_PER_MULTICAST = 500;
+
+    private final PushSender pushSender;
+    private final FcmTokenRepository fcmTokenRepository;
+
+    public void send(UUID recipientId, String collapseKey, String title, String body, Map<String, String> data) {
+        List<String> tokens = fcmTokenRepository.findByUserId(recipientId).stream()
+                .map(FcmToken::getToken)
+                .toList();
+
+        for (int from = 0; from < tokens.size(); from += MAX_TOKENS_PER_MULTICAST) {
+            List<String> batch = tokens.subList(from, Math.min(from + MAX_TOKENS_PER_MULTICAST, tokens.size()));
+            List<String> unregisteredTokens = pushSender.sendMulticast(batch, collapseKey, title, body, data);
+            if (!unregisteredTokens.isEmpty()) {
+                int deleted = fcmTokenRepository.deleteByTokenIn(unregisteredTokens);
+                log.info("Deleted {} unregistered FCM tokens of user {}", deleted, recipientId);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package petitus.petcareplus.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends one notification to a batch of device tokens.
+ */
+public interface PushSender {
+
+    /**
+     * @param collapseKey a later push with the same key replaces this one on the device
+     * @return tokens the push provider reported as no longer registered
+     * @throws IllegalStateException when the provider did not accept the push
+     */
+    List<String> sendMulticast(List<String> tokens, String collapseKey, String title, String body,
+            Map<String, String> data);
+}
@@ -0,0 +1,164 @@
+package petitus.petcareplus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import petitus.petcareplus.dto.response.review.ReviewSummaryResponse;
+import petitus.petcareplus.model.ProviderService;
+import petitus.petcareplus.model.ReviewSummary;
+import petitus.petcareplus.model.ReviewSummaryId;
+import petitus.petcareplus.repository.ReviewSummaryRepository;
+import petitus.petcareplus.utils.enums.ReviewSummaryScope;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Review count, average, star histogram and latest review ids per provider and per provider
+ * service. Rows are maintained incrementally by review writes and reads are cached in Redis.
+ * The rating totals on provider services and provider profiles are copied from these rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewSummaryService {
+
+    private static final String REDIS_REVIEW_SUMMARY_KEY = "review_summary";
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10); // Evicted on every review write
+    private static final int LATEST_REVIEWS = 5;
+
+    private final ReviewSummaryRepository reviewSummaryRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ReviewSummaryResponse getSummary(ReviewSummaryScope scope, UUID subjectId) {
+        String redisKey = redisKey(scope, subjectId);
+
+        String cached = redisTemplate.opsForValue().get(redisKey);
+        if (cached != null) {
+            try {
+                return objectMapper.readValue(cached, ReviewSummaryResponse.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable review summary cache entry {}", redisKey);
+            }
+        }
+
+        // Subjects without reviews have no row yet and get an empty summary
+        ReviewSummaryResponse response = reviewSummaryRepository.findById(new ReviewSummaryId(scope, subjectId))
+                .map(this::mapToReviewSummaryResponse)
+                .orElseGet(() -> emptySummary(scope, subjectId));
+
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(response), CACHE_TTL);
+        } catch (JsonProcessingException e) {
+            log.error("Error caching review summary {}: {}", redisKey, e.getMessage(), e);
+        }
+
+        return response;
+    }
+
+    /**
+     * Apply one review change to the service's and the provider's summaries. Pass {@code null} as
+     * the old rating for a new review and as the new rating for a deleted one.
+     */
+    public void applyReviewChange(ProviderService providerService, Integer oldRating, Integer newRating) {
+        long[] stars = new long[6];
+        long countDelta = 0;
+        long sumDelta = 0;
+
+        if (oldRating != null) {
+            stars[oldRating]--;
+            countDelta--;
+            sumDelta -= oldRating;
+        }
+        if (newRating != null) {
+            stars[newRating]++;
+            countDelta++;
+            sumDelta += newRating;
+        }
+
+        UUID providerServiceId = providerService.getId();
+        UUID providerId = providerService.getProvider().getId();
+
+        for (ReviewSummaryScope scope : ReviewSummaryScope.values()) {
+            UUID subjectId = scope == ReviewSummaryScope.PROVIDER ? providerId : providerServiceId;
+            reviewSummaryRepository.increment(scope.name(), subjectId, countDelta, sumDelta,
+                    stars[1], stars[2], stars[3], stars[4], stars[5]);
+            evict(scope, subjectId);
+        }
+
+        // Only creates and deletes change which reviews are the latest
+        if (oldRating == null || newRating == null) {
+            reviewSummaryRepository.refreshLatestForProviderService(providerServiceId, LATEST_REVIEWS);
+            reviewSummaryRepository.refreshLatestForProvider(providerId, LATEST_REVIEWS);
+        }
+    }
+
+    // Cached entries pick up the corrected rows within CACHE_TTL
+    public int rebuildAll() {
+        return reviewSummaryRepository.rebuildAll(LATEST_REVIEWS) + reviewSummaryRepository.resetEmpty();
+    }
+
+    // Drop the cached summary once the review write commits, so a concurrent read cannot re-cache old data
+    private void evict(ReviewSummaryScope scope, UUID subjectId) {
+        String redisKey = redisKey(scope, subjectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    redisTemplate.delete(redisKey);
+                }
+            });
+        } else {
+            redisTemplate.delete(redisKey);
+        }
+    }
+
+    private String redisKey(ReviewSummaryScope scope, UUID subjectId) {
+        return REDIS_REVIEW_SUMMARY_KEY + ":" + scope + ":" + subjectId;
+    }
+
+    private ReviewSummaryResponse mapToReviewSummaryResponse(ReviewSummary summary) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getStar1());
+        histogram.put(2, summary.getStar2());
+        histogram.put(3, summary.getStar3());
+        histogram.put(4, summary.getStar4());
+        histogram.put(5, summary.getStar5());
+
+        return ReviewSummaryResponse.builder()
+                .scope(summary.getId().getScope())
+                .subjectId(summary.getId().getSubjectId())
+                .reviewCount(summary.getReviewCount())
+                .averageRating(summary.getReviewCount() > 0
+                        ? (double) summary.getRatingSum() / summary.getReviewCount()
+                        : 0.0)
+                .histogram(histogram)
+                .latestReviewIds(summary.getLatestReviewIds())
+                .build();
+    }
+
+    private ReviewSummaryResponse emptySummary(ReviewSummaryScope scope, UUID subjectId) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int star = 1; star <= 5; star++) {
+            histogram.put(star, 0L);
+        }
+
+        return ReviewSummaryResponse.builder()
+                .scope(scope)
+                .subjectId(subjectId)
+                .reviewCount(0)
+                .averageRating(0.0)
+                .histogram(histogram)
+                .latestReviewIds(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package petitus.petcareplus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import petitus.petcareplus.dto.response.service.ServiceResponse;
+import petitus.petcareplus.utils.ETags;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * In-memory snapshot of the active service catalog. Writes invalidate it after commit and
+ * notify the other nodes over Redis pub/sub; the next read rebuilds it from the database.
+ * Pub/sub is fire-and-forget, so writes also bump a version key that every node polls, and a
+ * snapshot is never served for longer than MAX_AGE.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ServiceCatalogCache implements MessageListener {
+
+    private static final String CHANNEL = "service_catalog:invalidate";
+    private static final String VERSION_KEY = "service_catalog:version";
+    private static final Duration MAX_AGE = Duration.ofMinutes(10);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private volatile String seenVersion;
+
+    public record Snapshot(long generation, List<ServiceResponse> services, byte[] json, String etag,
+            long builtAtNanos) {
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public Snapshot get(Supplier<List<ServiceResponse>> loader) {
+        Snapshot current = snapshot.get();
+        if (isFresh(current)) {
+            return current;
+        }
+        return rebuild(loader);
+    }
+
+    // Catches invalidations whose pub/sub message this node missed
+    @Scheduled(fixedDelayString = "${service-catalog.version-check-interval-ms:30000}")
+    public void checkVersion() {
+        String version;
+        try {
+            version = redisTemplate.opsForValue().get(VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("Error reading service catalog version: {}", e.getMessage());
+            return;
+        }
+
+        if (!Objects.equals(version, seenVersion)) {
+            seenVersion = version;
+            invalidate();
+        }
+    }
+
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAndPublish();
+                }
+            });
+        } else {
+            invalidateAndPublish();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sender = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!nodeId.equals(sender)) {
+            invalidate();
+        }
+    }
+
+    private synchronized Snapshot rebuild(Supplier<List<ServiceResponse>> loader) {
+        // A snapshot built while a write lands keeps the old generation and is rebuilt on the next read
+        long currentGeneration = generation.get();
+        Snapshot current = snapshot.get();
+        if (isFresh(current)) {
+            return current;
+        }
+
+        List<ServiceResponse> services = List.copyOf(loader.get());
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(services);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing service catalog", e);
+        }
+
+        Snapshot rebuilt = new Snapshot(currentGeneration, services, json, ETags.of(json), System.nanoTime());
+        snapshot.set(rebuilt);
+        return rebuilt;
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.generation() == generation.get()
+                && System.nanoTime() - current.builtAtNanos() < MAX_AGE.toNanos();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private void invalidateAndPublish() {
+        invalidate();
+        try {
+            redisTemplate.opsForValue().increment(VERSION_KEY);
+            redisTemplate.convertAndSend(CHANNEL, nodeId);
+        } catch (Exception e) {
+            log.warn("Error publishing service catalog invalidation: {}", e.getMessage());
+        }
+    }
+}
@@ -1,37 +1,69 @@
 package petitus.petcareplus.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import petitus.petcareplus.dto.request.profile.ServiceProviderProfileRequest;
+import petitus.petcareplus.dto.response.profile.NearbyProviderResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.exceptions.DataExistedException;
 import petitus.petcareplus.model.spec.ServiceProviderProfileFilterSpecification;
 import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
 import petitus.petcareplus.model.spec.criteria.ServiceProviderProfileCriteria;
 import petitus.petcareplus.model.User;
 import petitus.petcareplus.model.profile.Profile;
+import petitus.petcareplus.model.profile.ProviderAvailability;
 import petitus.petcareplus.model.profile.ServiceProviderProfile;
 import petitus.petcareplus.repository.ProfileRepository;
+import petitus.petcareplus.repository.ProviderAvailabilityRepository;
 import petitus.petcareplus.repository.ServiceProviderProfileRepository;
 import petitus.petcareplus.repository.UserRepository;
+import petitus.petcareplus.utils.AvailableTimeParser;
 import petitus.petcareplus.utils.Constants;
+import petitus.petcareplus.utils.GeoHash;
 import petitus.petcareplus.utils.PageRequestBuilder;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ServiceProviderProfileService {
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int MAX_NEARBY_RESULTS = 100;
+    private static final String AVAILABILITY_BACKFILL_LOCK = "provider-availability-backfill";
+
     private final ServiceProviderProfileRepository serviceProviderProfileRepository;
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
     private final UserService userService;
     private final RoleService roleService;
     private final MessageSourceService messageSourceService;
+    private final ProviderSearchService providerSearchService;
+    private final ProviderAvailabilityRepository providerAvailabilityRepository;
+    private final AdvisoryLockService advisoryLockService;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     public Page<ServiceProviderProfile> findAll(ServiceProviderProfileCriteria criteria, PaginationCriteria paginationCriteria) {
+        validateAvailabilityCriteria(criteria);
         return serviceProviderProfileRepository.findAll(new ServiceProviderProfileFilterSpecification(criteria),
                 PageRequestBuilder.build(paginationCriteria));
     }
@@ -90,6 +122,8 @@ public class ServiceProviderProfileService {
 
         user.setRole(roleService.findByName(Constants.RoleEnum.SERVICE_PROVIDER));
 
+        List<AvailableTimeParser.Window> windows = parseAvailableTime(serviceProviderProfileRequest);
+
         // Create a new ServiceProviderProfile linked to the existing Profile
         ServiceProviderProfile serviceProviderProfile = ServiceProviderProfile.builder()
                 .profile(existingProfile)
@@ -101,6 +135,7 @@ public class ServiceProviderProfileService {
                 .availableTime(serviceProviderProfileRequest.getAvailableTime())
                 .imageUrls(serviceProviderProfileRequest.getImageUrls())
                 .build();
+        applyLocation(serviceProviderProfile, serviceProviderProfileRequest);
 
         // Set up the bidirectional relationship properly
         setupBidirectionalRelationship(existingProfile, serviceProviderProfile);
@@ -111,6 +146,8 @@ public class ServiceProviderProfileService {
         
         // Save the profile first (which will cascade to service provider profile)
         profileRepository.save(existingProfile);
+        replaceAvailability(serviceProviderProfileRepository.findByProfileId(existingProfile.getId()), windows);
+        providerSearchService.refreshProvider(user.getId());
     }
 
     @Transactional
@@ -128,6 +165,8 @@ public class ServiceProviderProfileService {
             throw new RuntimeException(messageSourceService.get("service_provider_profile_not_found"));
         }
 
+        List<AvailableTimeParser.Window> windows = parseAvailableTime(serviceProviderProfileRequest);
+
         // Update service provider specific information
         existingServiceProviderProfile.setContactEmail(serviceProviderProfileRequest.getContactEmail());
         existingServiceProviderProfile.setContactPhone(serviceProviderProfileRequest.getContactPhone());
@@ -136,8 +175,159 @@ public class ServiceProviderProfileService {
         existingServiceProviderProfile.setBusinessName(serviceProviderProfileRequest.getBusinessName());
         existingServiceProviderProfile.setBusinessBio(serviceProviderProfileRequest.getBusinessBio());
         existingServiceProviderProfile.setBusinessAddress(serviceProviderProfileRequest.getBusinessAddress());
+        applyLocation(existingServiceProviderProfile, serviceProviderProfileRequest);
 
         // Save the service provider profile
         serviceProviderProfileRepository.save(existingServiceProviderProfile);
+        replaceAvailability(existingServiceProviderProfile, windows);
+        providerSearchService.refreshProvider(user.getId());
+    }
+
+    /**
+     * Providers within {@code radiusKm} of a point, nearest first. The geohash cells covering the
+     * radius are range-scanned on the index, then filtered by exact distance.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyProviderResponse> findNearby(double latitude, double longitude, double radiusKm,
+            Double minRating, UUID serviceId, int limit) {
+        validateCoordinates(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new BadRequestException(messageSourceService.get("invalid_search_radius"));
+        }
+        if (limit < 1 || limit > MAX_NEARBY_RESULTS) {
+            throw new BadRequestException(messageSourceService.get("invalid_page_size"));
+        }
+
+        // Pad to four cells; repeated ranges cost nothing
+        List<String> cells = GeoHash.coveringCells(latitude, longitude, radiusKm);
+        String[] cell = new String[4];
+        for (int i = 0; i < cell.length; i++) {
+            cell[i] = cells.get(Math.min(i, cells.size() - 1));
+        }
+
+        return serviceProviderProfileRepository.findNearby(latitude, longitude, radiusKm,
+                cell[0], GeoHash.upperBound(cell[0]),
+                cell[1], GeoHash.upperBound(cell[1]),
+                cell[2], GeoHash.upperBound(cell[2]),
+                cell[3], GeoHash.upperBound(cell[3]),
+                minRating, serviceId, limit)
+                .stream()
+                .map(row -> NearbyProviderResponse.builder()
+                        .id(row.getId())
+                        .providerId(row.getProviderId())
+                        .businessName(row.getBusinessName())
+                        .businessAddress(row.getBusinessAddress())
+                        .avatarUrl(row.getAvatarUrl())
+                        .rating(row.getRating())
+                        .reviews(row.getReviewCount())
+                        .latitude(row.getLatitude())
+                        .longitude(row.getLongitude())
+                        .distanceKm(row.getDistanceKm())
+                        .build())
+                .toList();
+    }
+
+    // Coordinates are optional but must come as a valid pair; the geohash is derived from them.
+    // Without coordinates the stored location is kept unless the request asks to clear it.
+    private void applyLocation(ServiceProviderProfile serviceProviderProfile, ServiceProviderProfileRequest request) {
+        if (Boolean.TRUE.equals(request.getClearLocation())) {
+            if (request.getLatitude() != null || request.getLongitude() != null) {
+                throw new BadRequestException(messageSourceService.get("invalid_coordinates"));
+            }
+            serviceProviderProfile.setLatitude(null);
+            serviceProviderProfile.setLongitude(null);
+            serviceProviderProfile.setGeohash(null);
+            return;
+        }
+        if (request.getLatitude() == null && request.getLongitude() == null) {
+            return;
+        }
+        if (request.getLatitude() == null || request.getLongitude() == null) {
+            throw new BadRequestException(messageSourceService.get("invalid_coordinates"));
+        }
+
+        validateCoordinates(request.getLatitude(), request.getLongitude());
+        serviceProviderProfile.setLatitude(request.getLatitude());
+        serviceProviderProfile.setLongitude(request.getLongitude());
+        serviceProviderProfile.setGeohash(GeoHash.encode(request.getLatitude(), request.getLongitude(),
+                GeoHash.MAX_PRECISION));
+    }
+
+    private void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException(messageSourceService.get("invalid_coordinates"));
+        }
+    }
+
+    /**
+     * Fill provider_availability from existing availableTime JSON the first time the table is empty
+     * (e.g. right after it is introduced). Profiles with unparsable data are skipped. One node runs it;
+     * the lock is released after its transaction commits, so later nodes find the table filled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillAvailability() {
+        int profiles = advisoryLockService.runExclusively(AVAILABILITY_BACKFILL_LOCK,
+                () -> transactionTemplate.execute(status -> backfill())).orElse(0);
+
+        if (profiles > 0) {
+            log.info("Backfilled availability for {} service provider profiles", profiles);
+        }
+    }
+
+    private int backfill() {
+        if (providerAvailabilityRepository.count() > 0) {
+            return 0;
+        }
+
+        int profiles = 0;
+        for (ServiceProviderProfile serviceProviderProfile : serviceProviderProfileRepository
+                .findAllByAvailableTimeIsNotNull()) {
+            try {
+                replaceAvailability(serviceProviderProfile,
+                        AvailableTimeParser.parse(serviceProviderProfile.getAvailableTime()));
+                profiles++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping availability of service provider profile {}: {}", serviceProviderProfile.getId(),
+                        e.getMessage());
+            }
+        }
+        return profiles;
+    }
+
+    private List<AvailableTimeParser.Window> parseAvailableTime(ServiceProviderProfileRequest request) {
+        try {
+            return AvailableTimeParser.parse(request.getAvailableTime());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(messageSourceService.get("invalid_available_time"));
+        }
+    }
+
+    private void replaceAvailability(ServiceProviderProfile serviceProviderProfile,
+            List<AvailableTimeParser.Window> windows) {
+        providerAvailabilityRepository.deleteByServiceProviderProfileId(serviceProviderProfile.getId());
+        providerAvailabilityRepository.saveAll(windows.stream()
+                .map(window -> ProviderAvailability.builder()
+                        .serviceProviderProfile(serviceProviderProfile)
+                        .weekday(window.weekday())
+                        .startMinute(window.startMinute())
+                        .endMinute(window.endMinute())
+                        .build())
+                .toList());
+    }
+
+    // The filter matches windows within a single day
+    private void validateAvailabilityCriteria(ServiceProviderProfileCriteria criteria) {
+        LocalDateTime start = criteria.getAvailableAtStart();
+        LocalDateTime end = criteria.getAvailableAtEnd();
+        if (start != null && end != null
+                && (end.isBefore(start) || !end.toLocalDate().equals(start.toLocalDate()))) {
+            throw new BadRequestException(messageSourceService.get("invalid_availability_range"));
+        }
+
+        if (criteria.getAvailableTime() != null
+                && AvailableTimeParser.parseWeekday(criteria.getAvailableTime()) == null) {
+            throw new BadRequestException(messageSourceService.get("invalid_available_time"));
+        }
     }
-} 
+}
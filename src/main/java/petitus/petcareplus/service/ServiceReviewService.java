@@ -1,12 +1,14 @@
 package petitus.petcareplus.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 // import org.slf4j.Logger;
 // import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import petitus.petcareplus.dto.request.review.ServiceReviewRequest;
@@ -30,10 +32,10 @@ import petitus.petcareplus.utils.PageRequestBuilder;
 import petitus.petcareplus.repository.ServiceProviderProfileRepository;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ServiceReviewService {
@@ -45,6 +47,7 @@ public class ServiceReviewService {
     private final UserService userService;
     private final ServiceProviderProfileRepository serviceProviderProfileRepository;
     private final MessageSourceService messageSourceService;
+    private final ReviewSummaryService reviewSummaryService;
 
     public Page<ServiceReviewResponse> getAllReviews(ServiceReviewCriteria criteria, PaginationCriteria pagination) {
         // Build specification từ criteria
@@ -53,11 +56,8 @@ public class ServiceReviewService {
         // Build page request từ pagination
         PageRequest pageRequest = PageRequestBuilder.build(pagination);
 
-        // Execute query
-        Page<ServiceReview> reviews = serviceReviewRepository.findAll(specification, pageRequest);
-
-        // Convert to response DTO
-        return reviews.map(this::mapToServiceReviewResponse);
+        // Execute query, projected to response DTOs in a single select
+        return serviceReviewRepository.findAllAsResponses(specification, pageRequest);
     }
 
     @Transactional
@@ -101,8 +101,9 @@ public class ServiceReviewService {
 
         ServiceReview savedReview = serviceReviewRepository.save(review);
 
-        // Update provider's average rating
-        updateProviderRating(providerService.getProvider().getId());
+        // Update review summaries and the provider's rating totals copied from them
+        reviewSummaryService.applyReviewChange(providerService, null, request.getRating());
+        copyRatingTotals(providerService);
 
         return mapToServiceReviewResponse(savedReview);
     }
@@ -110,7 +111,7 @@ public class ServiceReviewService {
     @Transactional
     public ServiceReviewResponse updateReview(UUID reviewId, ServiceReviewUpdateRequest request) {
         UUID userId = userService.getCurrentUserId();
-        ServiceReview review = serviceReviewRepository.findById(reviewId)
+        ServiceReview review = serviceReviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException(messageSourceService.get("review_not_found")));
 
         // Validate user owns the review
@@ -119,6 +120,7 @@ public class ServiceReviewService {
         }
 
         // Save previous values
+        int previousRating = review.getRating();
         review.setRatingHistory(review.getRating());
         review.setCommentHistory(review.getComment());
 
@@ -135,8 +137,11 @@ public class ServiceReviewService {
 
         ServiceReview updatedReview = serviceReviewRepository.save(review);
 
-        // Update provider's average rating
-        updateProviderRating(review.getProviderService().getProvider().getId());
+        // Update review summaries and the provider's rating totals copied from them
+        if (!Objects.equals(previousRating, review.getRating())) {
+            reviewSummaryService.applyReviewChange(review.getProviderService(), previousRating, review.getRating());
+            copyRatingTotals(review.getProviderService());
+        }
 
         return mapToServiceReviewResponse(updatedReview);
     }
@@ -144,7 +149,7 @@ public class ServiceReviewService {
     @Transactional
     public void deleteReview(UUID reviewId) {
         UUID userId = userService.getCurrentUserId();
-        ServiceReview review = serviceReviewRepository.findById(reviewId)
+        ServiceReview review = serviceReviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException(messageSourceService.get("review_not_found")));
 
         // Validate user owns the review or is admin
@@ -161,8 +166,9 @@ public class ServiceReviewService {
         review.setDeletedAt(LocalDateTime.now());
         serviceReviewRepository.save(review);
 
-        // Update provider's average rating
-        updateProviderRating(review.getProviderService().getProvider().getId());
+        // Update review summaries and the provider's rating totals copied from them
+        reviewSummaryService.applyReviewChange(review.getProviderService(), review.getRating(), null);
+        copyRatingTotals(review.getProviderService());
     }
 
     public ServiceReviewResponse getReview(UUID reviewId) {
@@ -214,6 +220,10 @@ public class ServiceReviewService {
     }
 
     public Double getProviderAverageRating(UUID providerId) {
+        ServiceProviderProfile profile = serviceProviderProfileRepository.findByUserId(providerId).orElse(null);
+        if (profile != null) {
+            return profile.getRating();
+        }
 
         // Check if provider exists
         if (!userRepository.existsById(providerId)) {
@@ -225,6 +235,11 @@ public class ServiceReviewService {
     }
 
     public Long getProviderReviewCount(UUID providerId) {
+        ServiceProviderProfile profile = serviceProviderProfileRepository.findByUserId(providerId).orElse(null);
+        if (profile != null) {
+            return profile.getRatingCount();
+        }
+
         // Check if provider exists
         if (!userRepository.existsById(providerId)) {
             throw new ResourceNotFoundException(messageSourceService.get("provider_not_found"));
@@ -234,24 +249,29 @@ public class ServiceReviewService {
         return reviewCount != null ? reviewCount : 0L;
     }
 
+    /**
+     * Nightly safety net: rebuild the review summaries from the reviews table (e.g. reviews changed
+     * directly in the database), then rewrite any rating totals that drifted from the summaries.
+     */
+    @Scheduled(cron = "${review.rating.reconcile-cron:0 30 3 * * *}", zone = "${application.default-timezone:UTC}")
     @Transactional
-    public void updateProviderRating(UUID providerId) {
-        Double averageRating = getProviderAverageRating(providerId);
-
-        // Find provider profile
-        List<ServiceProviderProfile> profiles = serviceProviderProfileRepository
-                .findAll()
-                .stream()
-                .filter(profile -> profile.getProfile().getUser().getId().equals(providerId))
-                .collect(Collectors.toList());
-
-        if (!profiles.isEmpty()) {
-            ServiceProviderProfile profile = profiles.get(0);
-            profile.setRating(averageRating);
-            serviceProviderProfileRepository.save(profile);
+    public void reconcileRatings() {
+        int summaries = reviewSummaryService.rebuildAll();
+        int services = providerServiceRepository.reconcileRatings();
+        int providers = serviceProviderProfileRepository.reconcileRatings();
+
+        if (services > 0 || providers > 0 || summaries > 0) {
+            log.warn("Fixed rating drift on {} provider services, {} provider profiles and {} review summaries",
+                    services, providers, summaries);
         }
     }
 
+    // Copy the updated summary totals onto the service and the provider, without reading any reviews
+    private void copyRatingTotals(ProviderService providerService) {
+        providerServiceRepository.copyRatingFromSummary(providerService.getId());
+        serviceProviderProfileRepository.copyRatingFromSummary(providerService.getProvider().getId());
+    }
+
     private ServiceReviewResponse mapToServiceReviewResponse(ServiceReview review) {
         return ServiceReviewResponse.builder()
                 .id(review.getId())
@@ -34,34 +34,31 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ServiceService {
     private final ServiceRepository serviceRepository;
-    private final ProviderServiceService providerServiceService;
     private final ProviderServiceRepository providerServiceRepository;
+    private final ProviderSearchService providerSearchService;
+    private final ServiceCatalogCache serviceCatalogCache;
 
     // old method
     public List<ServiceResponse> getAllServices() {
-        // find all services, filter out deleted ones
-        List<ServiceResponse> services = serviceRepository.findAllActiveServices().stream()
-                .map(this::mapToServiceResponse)
-                .collect(Collectors.toList());
+        return getCatalog().services();
+    }
 
-        if (services.isEmpty()) {
-            return List.of(); // Return empty list if no services found
-        }
-        return services;
+    // Active catalog served from memory, rebuilt after the next service write
+    public ServiceCatalogCache.Snapshot getCatalog() {
+        return serviceCatalogCache.get(() -> serviceRepository.findAllActiveServices().stream()
+                .map(this::mapToServiceResponse)
+                .toList());
     }
 
     public List<ServiceResponseForProvider> getAllServicesForCurrentProvider(UUID providerId) {
-        List<DefaultService> services = serviceRepository.findAllActiveServices();
+        List<ServiceResponse> services = getAllServices();
 
         if (services.isEmpty()) {
             return List.of(); // Return empty list if no services found
         }
 
         // Lấy danh sách services mà provider đã có
-        List<ProviderService> providerServices = providerServiceService.getProviderServicesByProviderId(providerId);
-        Set<UUID> existingServiceIds = providerServices.stream()
-                .map(ps -> ps.getService().getId())
-                .collect(Collectors.toSet());
+        Set<UUID> existingServiceIds = providerServiceRepository.findActiveServiceIdsByProviderId(providerId);
 
         return services.stream()
                 .map(service -> {
@@ -74,11 +71,7 @@ public class ServiceService {
     // new method with pagination
     public List<ServiceResponse> getAllServices(PaginationCriteria pagination) {
         // PageRequest pageRequest = PageRequestBuilder.build(pagination);
-        List<DefaultService> services = serviceRepository.findAllActiveServices();
-
-        return services.stream()
-                .map(this::mapToServiceResponse)
-                .collect(Collectors.toList());
+        return getAllServices();
     }
 
     public ServiceResponse getServiceById(UUID id) {
@@ -105,6 +98,7 @@ public class ServiceService {
 
         DefaultService savedService = serviceRepository.save(service);
         serviceRepository.flush();
+        serviceCatalogCache.invalidateAfterCommit();
 
         return mapToAdminServiceResponse(savedService);
     }
@@ -139,6 +133,11 @@ public class ServiceService {
 
         DefaultService updatedService = serviceRepository.save(service);
         serviceRepository.flush();
+        serviceCatalogCache.invalidateAfterCommit();
+
+        if (request.getName() != null) {
+            providerSearchService.refreshService(id);
+        }
 
         return mapToAdminServiceResponse(updatedService);
     }
@@ -156,6 +155,7 @@ public class ServiceService {
         service.setDeletedAt(LocalDateTime.now());
 
         serviceRepository.save(service);
+        serviceCatalogCache.invalidateAfterCommit();
     }
 
     public List<ServiceResponse> searchServices(ServiceCriteria criteria) {
@@ -221,7 +221,7 @@ public class ServiceService {
                 .build();
     }
 
-    private ServiceResponseForProvider mapToServiceResponseForProvider(DefaultService service,
+    private ServiceResponseForProvider mapToServiceResponseForProvider(ServiceResponse service,
             boolean isServiceAvailable) {
         return ServiceResponseForProvider.builder()
                 .id(service.getId())
@@ -2,27 +2,40 @@ package petitus.petcareplus.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import petitus.petcareplus.dto.response.service.TopProviderServiceResponse;
 import petitus.petcareplus.dto.response.user.RecentUserResponse;
 import petitus.petcareplus.model.ProviderService;
+import petitus.petcareplus.model.ProviderServiceStats;
 import petitus.petcareplus.model.User;
 import petitus.petcareplus.repository.BookingRepository;
+import petitus.petcareplus.repository.ProviderServiceStatsRepository;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatisticService {
 
+    private static final long TOP_SERVICES_CACHE_TTL_MILLIS = 30_000; // 30 seconds
+
     private final BookingRepository bookingRepository;
+    private final ProviderServiceStatsRepository providerServiceStatsRepository;
     private final UserService userService;
 
+    // Public endpoint cache, keyed by limit
+    private final Map<Integer, CachedTopServices> topServicesCache = new ConcurrentHashMap<>();
+
     @Transactional(readOnly = true)
     public List<RecentUserResponse> getTop5RecentUsers(UUID providerId) {
         PageRequest pageRequest = PageRequest.of(0, 5);
@@ -47,12 +60,7 @@ public class StatisticService {
 
     @Transactional(readOnly = true)
     public List<TopProviderServiceResponse> getTop5ProviderServices() {
-        PageRequest pageRequest = PageRequest.of(0, 5);
-        List<Object[]> results = bookingRepository.findTopProviderServicesByBookingCount(pageRequest);
-
-        return results.stream()
-                .map(this::mapToTopProviderServiceResponse)
-                .collect(Collectors.toList());
+        return getTopProviderServices(5);
     }
 
     // @Transactional(readOnly = true)
@@ -68,14 +76,35 @@ public class StatisticService {
     // .collect(Collectors.toList());
     // }
 
+    /**
+     * Top provider services by non-cancelled bookings, read from the pre-aggregated
+     * provider_service_stats table and cached briefly for the public endpoint.
+     */
     @Transactional(readOnly = true)
     public List<TopProviderServiceResponse> getTopProviderServices(int limit) {
-        PageRequest pageRequest = PageRequest.of(0, limit);
-        List<Object[]> results = bookingRepository.findTopProviderServicesByBookingCount(pageRequest);
-
-        return results.stream()
+        CachedTopServices cached = topServicesCache.get(limit);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.services();
+        }
+
+        List<TopProviderServiceResponse> services = providerServiceStatsRepository
+                .findTopByTotalBookings(PageRequest.of(0, limit))
+                .stream()
                 .map(this::mapToTopProviderServiceResponse)
-                .collect(Collectors.toList());
+                .toList();
+
+        topServicesCache.put(limit,
+                new CachedTopServices(services, System.currentTimeMillis() + TOP_SERVICES_CACHE_TTL_MILLIS));
+        return services;
+    }
+
+    // Nightly drift correction for the incremental counters
+    @Scheduled(cron = "0 30 3 * * *", zone = "${application.default-timezone:UTC}")
+    @Transactional
+    public void rebuildProviderServiceStats() {
+        int rows = providerServiceStatsRepository.rebuildAll();
+        topServicesCache.clear();
+        log.info("Rebuilt provider service stats for {} provider services", rows);
     }
 
     private RecentUserResponse mapToRecentUserResponse(User user, LocalDateTime lastBookingDate, Long totalBookings) {
@@ -90,9 +119,9 @@ public class StatisticService {
                 .build();
     }
 
-    private TopProviderServiceResponse mapToTopProviderServiceResponse(Object[] result) {
-        ProviderService ps = (ProviderService) result[0];
-        Long totalBookings = ((Number) result[1]).longValue();
+    private TopProviderServiceResponse mapToTopProviderServiceResponse(ProviderServiceStats stats) {
+        ProviderService ps = stats.getProviderService();
+        Long totalBookings = stats.getTotalBookings();
 
         return TopProviderServiceResponse.builder()
                 .id(ps.getId())
@@ -110,4 +139,6 @@ public class StatisticService {
                 .build();
     }
 
-}
\ No newline at end of file
+    private record CachedTopServices(List<TopProviderServiceResponse> services, long expiresAt) {
+    }
+}
@@ -1,7 +1,6 @@
 package petitus.petcareplus.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
@@ -18,7 +17,6 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import petitus.petcareplus.dto.request.auth.ResendEmailVerificationRequest;
 import petitus.petcareplus.dto.request.auth.UpdateUserRequest;
-import petitus.petcareplus.event.UserEmailVerificationSendEvent;
 import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.exceptions.ResourceNotFoundException;
 import petitus.petcareplus.model.EmailVerificationToken;
@@ -30,10 +28,12 @@ import petitus.petcareplus.model.spec.criteria.UserCriteria;
 import petitus.petcareplus.repository.UserRepository;
 import petitus.petcareplus.security.jwt.JwtUserDetails;
 import petitus.petcareplus.utils.PageRequestBuilder;
+import petitus.petcareplus.utils.enums.OutboxEventType;
 
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -49,10 +49,12 @@ public class UserService implements UserDetailsService {
 
     private final EmailVerificationTokenService emailVerificationTokenService;
 
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     private final RoleService roleService;
 
+    private final ProviderSearchService providerSearchService;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username)
@@ -139,6 +141,7 @@ public class UserService implements UserDetailsService {
         }
 
         userRepository.save(user);
+        providerSearchService.refreshProvider(user.getId());
 
         if (isRequiredEmailVerification) {
             emailVerificationEventPublisher(user);
@@ -147,6 +150,7 @@ public class UserService implements UserDetailsService {
         return user;
     }
 
+    @Transactional
     public void resendEmailVerificationMail(ResendEmailVerificationRequest request) {
         if (!rateLimitService.canResendVerification(request.getEmail())) {
             throw new BadRequestException(messageSourceService.get("resend_email_verification_rate_limit"));
@@ -220,7 +224,8 @@ public class UserService implements UserDetailsService {
 
     protected void emailVerificationEventPublisher(User user) {
         EmailVerificationToken emailVerificationToken = emailVerificationTokenService.create(user);
-        eventPublisher.publishEvent(new UserEmailVerificationSendEvent(this, emailVerificationToken));
+        outboxService.publish(OutboxEventType.EMAIL_VERIFICATION_REQUESTED, user.getId(),
+                Map.of("tokenId", emailVerificationToken.getId()));
     }
 
     public boolean cancelUnverifiedRegistration(String token) {
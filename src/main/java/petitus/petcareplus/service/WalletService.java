@@ -1,38 +1,65 @@
 package petitus.petcareplus.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import petitus.petcareplus.dto.response.wallet.WalletResponse;
+import petitus.petcareplus.dto.response.wallet.WalletStatementResponse;
+import petitus.petcareplus.dto.response.wallet.WalletTransactionPageResponse;
 import petitus.petcareplus.dto.response.wallet.WalletTransactionResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.exceptions.DataExistedException;
 import petitus.petcareplus.exceptions.ResourceNotFoundException;
 import petitus.petcareplus.model.Booking;
 import petitus.petcareplus.model.wallet.Wallet;
+import petitus.petcareplus.model.wallet.WalletStatement;
 import petitus.petcareplus.model.wallet.WalletTransaction;
 import petitus.petcareplus.repository.BookingRepository;
 import petitus.petcareplus.repository.WalletRepository;
+import petitus.petcareplus.repository.WalletStatementRepository;
 import petitus.petcareplus.repository.WalletTransactionRepository;
+import petitus.petcareplus.utils.KeysetCursor;
 import petitus.petcareplus.utils.enums.TransactionStatus;
 import petitus.petcareplus.utils.enums.TransactionType;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WalletService {
 
         private final WalletRepository walletRepository;
         private final WalletTransactionRepository walletTransactionRepository;
+        private final WalletStatementRepository walletStatementRepository;
         private final UserService userService;
         // private final PaymentRepository paymentRepository;
         private final BookingRepository bookingRepository;
         private final MessageSourceService messageSourceService;
 
+        /**
+         * One ledger entry for {@link #postTransactions(List)}.
+         */
+        public record LedgerPosting(UUID walletId, BigDecimal amount, BigDecimal balanceDelta,
+                        BigDecimal pendingDelta, TransactionType type, TransactionStatus status,
+                        String description) {
+        }
+
         public Wallet getWalletByUserId(UUID userId) {
                 return walletRepository.findByUserId(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -82,9 +109,121 @@ public class WalletService {
                                 .map(this::mapToWalletTransactionResponse);
         }
 
+        /**
+         * Keyset page of the wallet's ledger, newest first. Pass the previous page's
+         * {@code nextCursor} to continue; cost does not grow with the wallet's history.
+         */
+        public WalletTransactionPageResponse getWalletTransactionPage(UUID userId, String cursor, int limit) {
+                Wallet wallet = walletRepository.findByUserId(userId)
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                messageSourceService.get("wallet_not_found")));
+
+                KeysetCursor before;
+                try {
+                        before = KeysetCursor.decode(cursor);
+                } catch (IllegalArgumentException e) {
+                        throw new BadRequestException(messageSourceService.get("invalid_wallet_cursor"));
+                }
+
+                List<WalletTransaction> transactions = walletTransactionRepository.findPageBefore(wallet.getId(),
+                                before.createdAt(), before.id(), limit + 1);
+
+                boolean hasMore = transactions.size() > limit;
+                if (hasMore) {
+                        transactions = transactions.subList(0, limit);
+                }
+
+                String nextCursor = null;
+                if (hasMore) {
+                        WalletTransaction last = transactions.get(transactions.size() - 1);
+                        nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+                }
+
+                return WalletTransactionPageResponse.builder()
+                                .items(transactions.stream().map(this::mapToWalletTransactionResponse).toList())
+                                .nextCursor(nextCursor)
+                                .hasMore(hasMore)
+                                .build();
+        }
+
+        /**
+         * Statement for one month. Closed months come from the snapshot row when it exists; the current
+         * month (or a month missed by the snapshot job) is summarized from the ledger range.
+         */
+        public WalletStatementResponse getMonthlyStatement(UUID userId, YearMonth month) {
+                if (month.isAfter(YearMonth.now())) {
+                        throw new BadRequestException(messageSourceService.get("invalid_statement_period"));
+                }
+
+                Wallet wallet = walletRepository.findByUserId(userId)
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                messageSourceService.get("wallet_not_found")));
+
+                LocalDate periodStart = month.atDay(1);
+                LocalDate periodEnd = month.atEndOfMonth();
+
+                if (month.isBefore(YearMonth.now())) {
+                        Optional<WalletStatement> snapshot = walletStatementRepository
+                                        .findByWalletIdAndPeriodStart(wallet.getId(), periodStart);
+                        if (snapshot.isPresent()) {
+                                WalletStatement statement = snapshot.get();
+                                return WalletStatementResponse.builder()
+                                                .periodStart(periodStart)
+                                                .periodEnd(periodEnd)
+                                                .openingBalance(statement.getOpeningBalance())
+                                                .closingBalance(statement.getClosingBalance())
+                                                .totalCredits(statement.getTotalCredits())
+                                                .totalDebits(statement.getTotalDebits())
+                                                .transactionCount(statement.getTransactionCount())
+                                                .snapshot(true)
+                                                .build();
+                        }
+                }
+
+                LocalDateTime from = periodStart.atStartOfDay();
+                LocalDateTime to = periodStart.plusMonths(1).atStartOfDay();
+                Object[] summary = walletTransactionRepository.summarizePeriod(wallet.getId(), from, to).get(0);
+                BigDecimal closingBalance = walletTransactionRepository.findBalanceBefore(wallet.getId(), to)
+                                .orElse(BigDecimal.ZERO);
+
+                return WalletStatementResponse.builder()
+                                .periodStart(periodStart)
+                                .periodEnd(periodEnd)
+                                .openingBalance(closingBalance.subtract((BigDecimal) summary[2]))
+                                .closingBalance(closingBalance)
+                                .totalCredits((BigDecimal) summary[0])
+                                .totalDebits((BigDecimal) summary[1])
+                                .transactionCount((Long) summary[3])
+                                .snapshot(false)
+                                .build();
+        }
+
+        // Snapshot last month's statements early on the 1st
+        @Scheduled(cron = "0 15 1 1 * *", zone = "${application.default-timezone:UTC}")
         @Transactional
-        public WalletTransaction createWalletTransaction(UUID userId, BigDecimal amount, TransactionType type,
-                        TransactionStatus status, String description, UUID bookingId) {
+        public void snapshotLastMonthStatements() {
+                YearMonth lastMonth = YearMonth.now().minusMonths(1);
+                LocalDate periodStart = lastMonth.atDay(1);
+
+                int created = walletStatementRepository.snapshotPeriod(periodStart, periodStart.atStartOfDay(),
+                                periodStart.plusMonths(1).atStartOfDay());
+
+                log.info("Created {} wallet statement snapshots for {}", created, lastMonth);
+        }
+
+        /**
+         * Post a ledger entry and apply it to the wallet atomically. The balance update is a single
+         * conditional UPDATE, so concurrent postings never lose updates and a posting that would make
+         * the available or pending balance negative is rejected.
+         *
+         * @param amount       amount shown to the user for this entry
+         * @param balanceDelta change to the available balance
+         * @param pendingDelta change to the held balance
+         */
+        @Transactional
+        public WalletTransaction postTransaction(UUID userId, BigDecimal amount, BigDecimal balanceDelta,
+                        BigDecimal pendingDelta, TransactionType type, TransactionStatus status, String description,
+                        UUID bookingId) {
 
                 // Check if wallet exists for the user
                 Wallet wallet = walletRepository.findByUserId(userId)
@@ -99,34 +238,97 @@ public class WalletService {
                                                         messageSourceService.get("booking_not_found")));
                 }
 
+                if (walletRepository.applyDelta(wallet.getId(), balanceDelta, pendingDelta) == 0) {
+                        throw new BadRequestException(messageSourceService.get("insufficient_wallet_balance"));
+                }
+
+                // The row stays locked by the update until commit, so these are exactly this entry's balances
+                Object[] balances = walletRepository.findBalances(wallet.getId()).get(0);
+
                 WalletTransaction transaction = WalletTransaction.builder()
                                 .wallet(wallet)
                                 .amount(amount)
+                                .balanceDelta(balanceDelta)
+                                .pendingDelta(pendingDelta)
+                                .balanceAfter((BigDecimal) balances[0])
+                                .pendingBalanceAfter((BigDecimal) balances[1])
                                 .type(type)
                                 .booking(booking)
                                 .status(status)
                                 .description(description)
                                 .build();
 
-                walletTransactionRepository.save(transaction);
-
-                return transaction;
+                return walletTransactionRepository.save(transaction);
         }
 
-        // Update wallet
+        /**
+         * Post many ledger entries at once. Deltas are summed per wallet and applied with one
+         * conditional UPDATE each, then the entries are inserted in a JDBC batch with running balances
+         * worked out from the final row values. Fails as a whole if any wallet would go negative.
+         */
         @Transactional
-        public void updateWallet(Wallet wallet) {
-                // Check if wallet exists
-                Wallet existingWallet = walletRepository.findById(wallet.getId())
+        public List<WalletTransaction> postTransactions(List<LedgerPosting> postings) {
+                if (postings.isEmpty()) {
+                        return List.of();
+                }
+
+                // Wallet rows are locked in id order, so concurrent batches cannot deadlock on each other
+                Map<UUID, BigDecimal[]> totals = new TreeMap<>();
+                for (LedgerPosting posting : postings) {
+                        BigDecimal[] total = totals.computeIfAbsent(posting.walletId(),
+                                        id -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+                        total[0] = total[0].add(posting.balanceDelta());
+                        total[1] = total[1].add(posting.pendingDelta());
+                }
+
+                for (Map.Entry<UUID, BigDecimal[]> entry : totals.entrySet()) {
+                        if (walletRepository.applyDelta(entry.getKey(), entry.getValue()[0], entry.getValue()[1]) == 0) {
+                                throw new BadRequestException(messageSourceService.get("insufficient_wallet_balance"));
+                        }
+                }
+
+                // Start each wallet from its balances before this batch and roll forward entry by entry
+                Map<UUID, BigDecimal[]> running = new HashMap<>();
+                for (Object[] row : walletRepository.findBalancesByIds(totals.keySet())) {
+                        BigDecimal[] total = totals.get((UUID) row[0]);
+                        running.put((UUID) row[0], new BigDecimal[] {
+                                        ((BigDecimal) row[1]).subtract(total[0]),
+                                        ((BigDecimal) row[2]).subtract(total[1]) });
+                }
+
+                List<WalletTransaction> transactions = new ArrayList<>(postings.size());
+                for (LedgerPosting posting : postings) {
+                        BigDecimal[] balances = running.get(posting.walletId());
+                        balances[0] = balances[0].add(posting.balanceDelta());
+                        balances[1] = balances[1].add(posting.pendingDelta());
+
+                        transactions.add(WalletTransaction.builder()
+                                        .wallet(walletRepository.getReferenceById(posting.walletId()))
+                                        .amount(posting.amount())
+                                        .balanceDelta(posting.balanceDelta())
+                                        .pendingDelta(posting.pendingDelta())
+                                        .balanceAfter(balances[0])
+                                        .pendingBalanceAfter(balances[1])
+                                        .type(posting.type())
+                                        .status(posting.status())
+                                        .description(posting.description())
+                                        .build());
+                }
+
+                return walletTransactionRepository.saveAll(transactions);
+        }
+
+        /**
+         * Whether the stored balances match the sum of the wallet's ledger entries.
+         */
+        public boolean isConsistentWithLedger(UUID walletId) {
+                Wallet wallet = walletRepository.findById(walletId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 messageSourceService.get("wallet_not_found")));
+                Object[] totals = walletTransactionRepository.sumDeltasByWalletId(walletId).get(0);
 
-                // Update fields
-                existingWallet.setBalance(wallet.getBalance());
-                existingWallet.setPendingBalance(wallet.getPendingBalance());
-                existingWallet.setUpdatedAt(wallet.getUpdatedAt());
-
-                walletRepository.save(existingWallet);
+                return wallet.getBalance().compareTo((BigDecimal) totals[0]) == 0
+                                && wallet.getPendingBalance().compareTo((BigDecimal) totals[1]) == 0;
         }
 
         private WalletResponse mapToWalletResponse(Wallet wallet) {
@@ -148,6 +350,7 @@ public class WalletService {
                                 .description(transaction.getDescription())
                                 .createdAt(transaction.getCreatedAt())
                                 .bookingId(transaction.getBooking() != null ? transaction.getBooking().getId() : null)
+                                .balanceAfter(transaction.getBalanceAfter())
                                 .build();
         }
 }
@@ -13,7 +13,6 @@ import petitus.petcareplus.dto.request.chat.TypingEvent;
 import petitus.petcareplus.dto.response.chat.ChatMessageResponse;
 import petitus.petcareplus.dto.response.chat.ReadReceiptResponse;
 import petitus.petcareplus.dto.response.chat.UserPresenceResponse;
-import petitus.petcareplus.event.ImageUploadCompletedEvent;
 import petitus.petcareplus.event.ImageUploadErrorEvent;
 
 import java.util.List;
@@ -273,11 +272,6 @@ public class WebSocketService {
         }
     }
 
-    @EventListener
-    public void handleImageUploadCompleted(ImageUploadCompletedEvent event) {
-        sendImageUploadCompleted(event.getImageUploadResponse());
-    }
-
     @EventListener
     public void handleImageUploadError(ImageUploadErrorEvent event) {
         sendImageUploadError(event.getUserId(), event.getErrorMessage());
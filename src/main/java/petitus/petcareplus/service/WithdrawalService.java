@@ -1,5 +1,6 @@
 package petitus.petcareplus.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -7,10 +8,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import petitus.petcareplus.configuration.WalletConfig;
 import petitus.petcareplus.dto.request.wallet.WithdrawalRequest;
+import petitus.petcareplus.dto.response.wallet.BulkWithdrawalItemResponse;
+import petitus.petcareplus.dto.response.wallet.BulkWithdrawalResponse;
 import petitus.petcareplus.dto.response.wallet.WithdrawalResponse;
 import petitus.petcareplus.exceptions.BadRequestException;
 import petitus.petcareplus.exceptions.ResourceNotFoundException;
@@ -20,15 +25,25 @@ import petitus.petcareplus.model.spec.criteria.PaginationCriteria;
 import petitus.petcareplus.model.spec.criteria.WithdrawalCriteria;
 import petitus.petcareplus.model.wallet.Wallet;
 import petitus.petcareplus.model.wallet.Withdrawal;
+import petitus.petcareplus.repository.WithdrawalLimitCounterRepository;
 import petitus.petcareplus.repository.WithdrawalRepository;
 import petitus.petcareplus.utils.PageRequestBuilder;
 import petitus.petcareplus.utils.enums.TransactionStatus;
 import petitus.petcareplus.utils.enums.TransactionType;
+import petitus.petcareplus.utils.enums.WithdrawalLimitPeriod;
 import petitus.petcareplus.utils.enums.WithdrawalStatus;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,9 +51,20 @@ import java.util.UUID;
 public class WithdrawalService {
 
     private final WithdrawalRepository withdrawalRepository;
+    private final WithdrawalLimitCounterRepository withdrawalLimitCounterRepository;
     private final WalletService walletService;
     private final UserService userService;
     private final WalletConfig walletConfig;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int BULK_CHUNK_SIZE = 100;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Transactional
     public WithdrawalResponse createWithdrawalRequest(UUID providerId, WithdrawalRequest request) {
@@ -57,16 +83,11 @@ public class WithdrawalService {
         BigDecimal fee = calculateWithdrawalFee(request.getAmount());
         BigDecimal netAmount = request.getAmount().subtract(fee);
 
-        // 4. Validate balance
-        if (wallet.getBalance().compareTo(request.getAmount()) < 0) {
-            throw new BadRequestException("Insufficient balance for withdrawal");
-        }
-
-        // 5. Check daily/monthly limits
-        validateWithdrawalLimits(providerId, request.getAmount());
+        // 4. Check and reserve daily/monthly limits
+        reserveWithdrawalLimits(providerId, request.getAmount());
 
         try {
-            // 6. Create withdrawal record
+            // 5. Create withdrawal record
             Withdrawal withdrawal = Withdrawal.builder()
                     .wallet(wallet)
                     .provider(provider)
@@ -82,21 +103,19 @@ public class WithdrawalService {
 
             withdrawal = withdrawalRepository.save(withdrawal);
 
-            // 7. Hold the amount in wallet (move from balance to pending)
-            wallet.setBalance(wallet.getBalance().subtract(request.getAmount()));
-            wallet.setPendingBalance(wallet.getPendingBalance().add(request.getAmount()));
-            walletService.updateWallet(wallet);
-
-            // 8. Create wallet transaction
-            walletService.createWalletTransaction(
+            // 6. Hold the amount in wallet (move from balance to pending); rejected atomically
+            // when the balance is insufficient
+            walletService.postTransaction(
                     providerId,
                     request.getAmount().negate(), // Negative amount for withdrawal
+                    request.getAmount().negate(),
+                    request.getAmount(),
                     TransactionType.WITHDRAWAL,
                     TransactionStatus.PENDING,
                     "Withdrawal request: " + withdrawal.getId(),
                     null);
 
-            // 9. Send notification
+            // 7. Send notification
             // notificationService.sendWithdrawalRequestNotification(provider, withdrawal);
 
             log.info("Withdrawal request created: {} for provider: {}", withdrawal.getId(), providerId);
@@ -148,30 +167,58 @@ public class WithdrawalService {
             throw new BadRequestException("Only pending withdrawals can be rejected");
         }
 
-        // Return money to wallet
-        Wallet wallet = withdrawal.getWallet();
-        wallet.setBalance(wallet.getBalance().add(withdrawal.getAmount()));
-        wallet.setPendingBalance(wallet.getPendingBalance().subtract(withdrawal.getAmount()));
-        walletService.updateWallet(wallet);
-
         // Update withdrawal status
         withdrawal.setStatus(WithdrawalStatus.REJECTED);
         withdrawal.setRejectionReason(rejectionReason);
         withdrawal.setProcessedAt(LocalDateTime.now());
         withdrawal.setProcessedBy(userService.getUser().getFullName());
 
-        withdrawal = withdrawalRepository.save(withdrawal);
+        withdrawal = withdrawalRepository.saveAndFlush(withdrawal);
 
-        // Update wallet transaction
-        walletService.createWalletTransaction(
+        refundWithdrawal(withdrawal, "Withdrawal rejected: ");
+
+        return mapToWithdrawalResponse(withdrawal);
+    }
+
+    /**
+     * Mark an approved withdrawal whose bank transfer did not go through as FAILED and give the money
+     * back, like a rejection.
+     */
+    @Transactional
+    public WithdrawalResponse failWithdrawal(UUID withdrawalId, String failureReason) {
+        Withdrawal withdrawal = getWithdrawalById(withdrawalId);
+
+        if (withdrawal.getStatus() != WithdrawalStatus.APPROVED
+                && withdrawal.getStatus() != WithdrawalStatus.PROCESSING) {
+            throw new BadRequestException("Only approved or processing withdrawals can be marked as failed");
+        }
+
+        withdrawal.setStatus(WithdrawalStatus.FAILED);
+        withdrawal.setAdminNote(failureReason);
+        withdrawal.setProcessedAt(LocalDateTime.now());
+        withdrawal.setProcessedBy(userService.getUser().getFullName());
+
+        withdrawal = withdrawalRepository.saveAndFlush(withdrawal);
+
+        refundWithdrawal(withdrawal, "Withdrawal failed: ");
+
+        return mapToWithdrawalResponse(withdrawal);
+    }
+
+    private void refundWithdrawal(Withdrawal withdrawal, String descriptionPrefix) {
+        // Amounts that were never paid out no longer count towards the limits
+        releaseWithdrawalLimits(withdrawal);
+
+        // Return money to wallet (move from pending back to balance)
+        walletService.postTransaction(
                 withdrawal.getProvider().getId(),
                 withdrawal.getAmount(), // Positive amount (refund)
+                withdrawal.getAmount(),
+                withdrawal.getAmount().negate(),
                 TransactionType.SYSTEM_ADJUSTMENT,
                 TransactionStatus.COMPLETED,
-                "Withdrawal rejected: " + withdrawal.getId(),
+                descriptionPrefix + withdrawal.getId(),
                 null);
-
-        return mapToWithdrawalResponse(withdrawal);
     }
 
     public BigDecimal calculateWithdrawalFee(BigDecimal amount) {
@@ -188,48 +235,60 @@ public class WithdrawalService {
         return fee;
     }
 
-    private void validateWithdrawalLimits(UUID providerId, BigDecimal amount) {
-        // Daily limit: 10,000,000 VND
-        BigDecimal dailyLimit = new BigDecimal("10000000");
-        BigDecimal todayTotal = withdrawalRepository.getTodayWithdrawalTotal(providerId);
+    /**
+     * Atomically add the amount to today's and this month's counters, failing if either limit would
+     * be exceeded. Runs in the caller's transaction, so a failed request releases nothing by hand.
+     */
+    private void reserveWithdrawalLimits(UUID providerId, BigDecimal amount) {
+        LocalDate today = LocalDate.now();
 
-        if (todayTotal.add(amount).compareTo(dailyLimit) > 0) {
+        if (withdrawalLimitCounterRepository.reserve(providerId, WithdrawalLimitPeriod.DAY.name(), today, amount,
+                walletConfig.getDailyLimit()) == 0) {
             throw new BadRequestException("Daily withdrawal limit exceeded");
         }
 
-        // Monthly limit: 100,000,000 VND
-        BigDecimal monthlyLimit = new BigDecimal("100000000");
-        BigDecimal monthTotal = withdrawalRepository.getMonthWithdrawalTotal(providerId);
-
-        if (monthTotal.add(amount).compareTo(monthlyLimit) > 0) {
+        if (withdrawalLimitCounterRepository.reserve(providerId, WithdrawalLimitPeriod.MONTH.name(),
+                today.withDayOfMonth(1), amount, walletConfig.getMonthlyLimit()) == 0) {
             throw new BadRequestException("Monthly withdrawal limit exceeded");
         }
     }
 
+    private void releaseWithdrawalLimits(Withdrawal withdrawal) {
+        LocalDate requestedOn = withdrawal.getCreatedAt().toLocalDate();
+        UUID providerId = withdrawal.getProvider().getId();
+
+        withdrawalLimitCounterRepository.release(providerId, WithdrawalLimitPeriod.DAY.name(), requestedOn,
+                withdrawal.getAmount());
+        withdrawalLimitCounterRepository.release(providerId, WithdrawalLimitPeriod.MONTH.name(),
+                requestedOn.withDayOfMonth(1), withdrawal.getAmount());
+    }
+
     @Transactional
     public WithdrawalResponse completeWithdrawal(UUID withdrawalId, String transactionNote) {
         Withdrawal withdrawal = getWithdrawalById(withdrawalId);
 
+        if (withdrawal.getStatus() != WithdrawalStatus.PENDING
+                && withdrawal.getStatus() != WithdrawalStatus.APPROVED) {
+            throw new BadRequestException("Only pending or approved withdrawals can be completed");
+        }
+
         withdrawal.setStatus(WithdrawalStatus.COMPLETED);
         withdrawal.setAdminNote(transactionNote);
         withdrawal.setTransactionRef("TXN" + System.currentTimeMillis());
 
-        // Remove from pending balance
-        Wallet wallet = withdrawal.getWallet();
-        wallet.setPendingBalance(wallet.getPendingBalance().subtract(withdrawal.getAmount()));
-        walletService.updateWallet(wallet);
+        withdrawal = withdrawalRepository.saveAndFlush(withdrawal);
 
-        // Update wallet transaction
-        walletService.createWalletTransaction(
+        // Remove from pending balance
+        walletService.postTransaction(
                 withdrawal.getProvider().getId(),
                 withdrawal.getAmount().negate(),
+                BigDecimal.ZERO,
+                withdrawal.getAmount().negate(),
                 TransactionType.WITHDRAWAL,
                 TransactionStatus.COMPLETED,
                 "Withdrawal completed: " + withdrawal.getId(),
                 null);
 
-        withdrawal = withdrawalRepository.save(withdrawal);
-
         // Send success notification
         // notificationService.sendWithdrawalCompletedNotification(withdrawal.getProvider(),
         // withdrawal);
@@ -239,6 +298,141 @@ public class WithdrawalService {
         return mapToWithdrawalResponse(withdrawal);
     }
 
+    /**
+     * Approve many withdrawals. Each chunk is locked, validated and updated with a single statement
+     * in its own transaction; ineligible ids are reported without failing the rest.
+     */
+    public BulkWithdrawalResponse bulkApproveWithdrawals(List<UUID> withdrawalIds, String adminNote) {
+        String processedBy = userService.getUser().getFullName();
+
+        return processInChunks(withdrawalIds, chunk -> {
+            Map<UUID, BulkWithdrawalItemResponse> results = new LinkedHashMap<>();
+            List<UUID> eligible = lockEligible(chunk, results, "Only pending withdrawals can be approved",
+                    WithdrawalStatus.PENDING);
+
+            if (!eligible.isEmpty()) {
+                withdrawalRepository.approveAll(eligible, adminNote, processedBy, LocalDateTime.now());
+                eligible.forEach(id -> results.put(id, succeeded(id, WithdrawalStatus.APPROVED, null)));
+            }
+
+            return results;
+        });
+    }
+
+    /**
+     * Complete many withdrawals. Per chunk the withdrawals are updated with one statement and the
+     * pending balance is released through one batched ledger posting, so a chunk commits or fails as a
+     * whole while ineligible ids are reported individually.
+     */
+    public BulkWithdrawalResponse bulkCompleteWithdrawals(List<UUID> withdrawalIds, String transactionNote) {
+        String processedBy = userService.getUser().getFullName();
+
+        return processInChunks(withdrawalIds, chunk -> {
+            Map<UUID, BulkWithdrawalItemResponse> results = new LinkedHashMap<>();
+            Map<UUID, Withdrawal> withdrawals = withdrawalRepository.findAllByIdForUpdate(chunk).stream()
+                    .collect(Collectors.toMap(Withdrawal::getId, Function.identity()));
+            List<UUID> eligible = filterEligible(chunk, withdrawals, results,
+                    "Only pending or approved withdrawals can be completed",
+                    WithdrawalStatus.PENDING, WithdrawalStatus.APPROVED);
+
+            if (!eligible.isEmpty()) {
+                // Read what the ledger needs before the bulk update clears the persistence context
+                List<WalletService.LedgerPosting> postings = eligible.stream()
+                        .map(withdrawals::get)
+                        .map(withdrawal -> new WalletService.LedgerPosting(
+                                withdrawal.getWallet().getId(),
+                                withdrawal.getAmount().negate(),
+                                BigDecimal.ZERO,
+                                withdrawal.getAmount().negate(),
+                                TransactionType.WITHDRAWAL,
+                                TransactionStatus.COMPLETED,
+                                "Withdrawal completed: " + withdrawal.getId()))
+                        .toList();
+
+                String batchRef = "TXN" + System.currentTimeMillis();
+                withdrawalRepository.completeAll(eligible, transactionNote, processedBy, batchRef);
+                walletService.postTransactions(postings);
+
+                eligible.forEach(id -> results.put(id, succeeded(id, WithdrawalStatus.COMPLETED,
+                        batchRef + "-" + id.toString().replace("-", "").substring(0, 8).toUpperCase())));
+            }
+
+            return results;
+        });
+    }
+
+    private BulkWithdrawalResponse processInChunks(List<UUID> withdrawalIds,
+            Function<List<UUID>, Map<UUID, BulkWithdrawalItemResponse>> chunkAction) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(withdrawalIds));
+        List<BulkWithdrawalItemResponse> results = new ArrayList<>(ids.size());
+
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+
+            try {
+                results.addAll(transactionTemplate.execute(status -> chunkAction.apply(chunk)).values());
+            } catch (RuntimeException e) {
+                log.error("Bulk withdrawal chunk failed: {}", e.getMessage());
+                chunk.forEach(id -> results.add(failed(id, null, e.getMessage())));
+            }
+        }
+
+        int succeeded = (int) results.stream().filter(BulkWithdrawalItemResponse::isSuccess).count();
+
+        log.info("Bulk withdrawal processed: {} succeeded, {} failed", succeeded, results.size() - succeeded);
+
+        return BulkWithdrawalResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private List<UUID> lockEligible(List<UUID> chunk, Map<UUID, BulkWithdrawalItemResponse> results,
+            String ineligibleMessage, WithdrawalStatus... allowed) {
+        Map<UUID, Withdrawal> withdrawals = withdrawalRepository.findAllByIdForUpdate(chunk).stream()
+                .collect(Collectors.toMap(Withdrawal::getId, Function.identity()));
+        return filterEligible(chunk, withdrawals, results, ineligibleMessage, allowed);
+    }
+
+    // Records a failure for missing or wrong-status ids (keeping request order) and returns the rest
+    private List<UUID> filterEligible(List<UUID> chunk, Map<UUID, Withdrawal> withdrawals,
+            Map<UUID, BulkWithdrawalItemResponse> results, String ineligibleMessage, WithdrawalStatus... allowed) {
+        List<UUID> eligible = new ArrayList<>();
+
+        for (UUID id : chunk) {
+            Withdrawal withdrawal = withdrawals.get(id);
+            if (withdrawal == null) {
+                results.put(id, failed(id, null, "Withdrawal not found: " + id));
+            } else if (!List.of(allowed).contains(withdrawal.getStatus())) {
+                results.put(id, failed(id, withdrawal.getStatus(), ineligibleMessage));
+            } else {
+                results.put(id, null);
+                eligible.add(id);
+            }
+        }
+
+        return eligible;
+    }
+
+    private BulkWithdrawalItemResponse succeeded(UUID id, WithdrawalStatus status, String transactionRef) {
+        return BulkWithdrawalItemResponse.builder()
+                .withdrawalId(id)
+                .success(true)
+                .status(status)
+                .transactionRef(transactionRef)
+                .build();
+    }
+
+    private BulkWithdrawalItemResponse failed(UUID id, WithdrawalStatus status, String message) {
+        return BulkWithdrawalItemResponse.builder()
+                .withdrawalId(id)
+                .success(false)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
     private Withdrawal getWithdrawalById(UUID withdrawalId) {
         return withdrawalRepository.findById(withdrawalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Withdrawal not found: " + withdrawalId));
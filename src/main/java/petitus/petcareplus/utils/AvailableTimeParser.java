@@ -0,0 +1,112 @@
+package petitus.petcareplus.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns a provider's {@code availableTime} JSON into weekly windows. Keys are weekday names
+ * ("monday" or "mon", any case); other keys are ignored. A value is a range "HH:mm-HH:mm", an object
+ * {"start": "HH:mm", "end": "HH:mm"}, or a list of either. An end of "24:00" closes the day. A window
+ * ending before it starts runs past midnight and is split across the two days.
+ */
+public final class AvailableTimeParser {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public record Window(int weekday, int startMinute, int endMinute) {
+    }
+
+    private AvailableTimeParser() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if a weekday entry holds something that is not a valid range
+     */
+    public static List<Window> parse(Map<String, Object> availableTime) {
+        List<Window> windows = new ArrayList<>();
+        if (availableTime == null) {
+            return windows;
+        }
+
+        for (Map.Entry<String, Object> entry : availableTime.entrySet()) {
+            DayOfWeek day = parseWeekday(entry.getKey());
+            if (day != null && entry.getValue() != null) {
+                addRanges(windows, day, entry.getValue());
+            }
+        }
+
+        return windows;
+    }
+
+    // ISO weekday for "monday"/"mon" (any case), or null
+    public static DayOfWeek parseWeekday(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().equals(name) || (name.length() == 3 && day.name().startsWith(name))) {
+                return day;
+            }
+        }
+        return null;
+    }
+
+    private static void addRanges(List<Window> windows, DayOfWeek day, Object value) {
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                addRanges(windows, day, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            addRange(windows, day, String.valueOf(map.get("start")), String.valueOf(map.get("end")));
+        } else if (value instanceof String range && range.contains("-")) {
+            String[] parts = range.split("-", 2);
+            addRange(windows, day, parts[0], parts[1]);
+        } else {
+            throw new IllegalArgumentException("Invalid availability for " + day + ": " + value);
+        }
+    }
+
+    private static void addRange(List<Window> windows, DayOfWeek day, String start, String end) {
+        int startMinute = parseMinute(start, false);
+        int endMinute = parseMinute(end, true);
+
+        // An "00:00" end closes the same day
+        if (endMinute == 0 && startMinute > 0) {
+            endMinute = MINUTES_PER_DAY;
+        }
+
+        if (startMinute < endMinute) {
+            windows.add(new Window(day.getValue(), startMinute, endMinute));
+        } else if (startMinute > endMinute) {
+            windows.add(new Window(day.getValue(), startMinute, MINUTES_PER_DAY));
+            windows.add(new Window(day.plus(1).getValue(), 0, endMinute));
+        } else {
+            throw new IllegalArgumentException("Empty availability window on " + day);
+        }
+    }
+
+    // "24:00" is only valid as an end time
+    private static int parseMinute(String value, boolean end) {
+        String time = value == null ? "" : value.trim();
+        if ("24:00".equals(time)) {
+            if (!end) {
+                throw new IllegalArgumentException("Invalid start time: " + value);
+            }
+            return MINUTES_PER_DAY;
+        }
+
+        try {
+            LocalTime parsed = LocalTime.parse(time.length() == 4 ? "0" + time : time);
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time: " + value);
+        }
+    }
+}
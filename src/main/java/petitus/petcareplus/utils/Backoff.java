@@ -0,0 +1,18 @@
+package petitus.petcareplus.utils;
+
+import java.time.Duration;
+
+public final class Backoff {
+
+    private Backoff() {
+    }
+
+    /**
+     * Delay before retry number {@code attempt} (1-based): {@code base} doubled per attempt, capped at
+     * {@code max}.
+     */
+    public static Duration exponential(int attempt, Duration base, Duration max) {
+        Duration delay = base.multipliedBy(1L << Math.min(Math.max(attempt - 1, 0), 20));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+}
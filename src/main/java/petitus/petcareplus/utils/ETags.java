@@ -0,0 +1,23 @@
+package petitus.petcareplus.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong, quoted ETag built from the first 128 bits of the SHA-256 of {@code content}.
+     */
+    public static String of(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package petitus.petcareplus.utils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and radius covering, so proximity searches can prune with prefix range scans
+ * on a plain B-tree index instead of a spatial extension.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final char[] BASE32 = ALPHABET.toCharArray();
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between 1 and " + MAX_PRECISION);
+        }
+
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+
+        return hash.toString();
+    }
+
+    /**
+     * Geohash prefixes (at most four) whose cells together contain every point within
+     * {@code radiusKm} of the given point. Picks the finest precision whose cell is at least as large
+     * as the search box, so the box's corners land in every cell it touches. Returns a single empty
+     * prefix (match everything) when the radius is too large to prune.
+     */
+    public static List<String> coveringCells(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double lonDelta = radiusKm / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+
+        int precision = 0;
+        for (int candidate = MAX_PRECISION; candidate >= 1; candidate--) {
+            int lonBits = (candidate * 5 + 1) / 2;
+            int latBits = candidate * 5 / 2;
+            if (360.0 / (1L << lonBits) >= 2 * lonDelta && 180.0 / (1L << latBits) >= 2 * latDelta) {
+                precision = candidate;
+                break;
+            }
+        }
+
+        if (precision == 0) {
+            return List.of("");
+        }
+
+        double south = Math.max(latitude - latDelta, -90);
+        double north = Math.min(latitude + latDelta, 89.999999);
+        double west = wrapLongitude(longitude - lonDelta);
+        double east = wrapLongitude(longitude + lonDelta);
+
+        Set<String> cells = new LinkedHashSet<>();
+        cells.add(encode(south, west, precision));
+        cells.add(encode(south, east, precision));
+        cells.add(encode(north, west, precision));
+        cells.add(encode(north, east, precision));
+
+        return List.copyOf(cells);
+    }
+
+    /**
+     * The cell {@code hash} followed by its (up to) eight neighbours at the same precision, so a search
+     * around a point near a cell edge also reaches the adjacent cells. Rows beyond the poles are skipped.
+     */
+    public static List<String> withNeighbours(String hash) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        boolean evenBit = true;
+        for (char c : hash.toCharArray()) {
+            int value = ALPHABET.indexOf(c);
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if ((value & mask) != 0) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if ((value & mask) != 0) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+
+        double height = maxLat - minLat;
+        double width = maxLon - minLon;
+        double centerLat = (minLat + maxLat) / 2;
+        double centerLon = (minLon + maxLon) / 2;
+
+        Set<String> cells = new LinkedHashSet<>();
+        cells.add(hash);
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            double latitude = centerLat + dLat * height;
+            if (latitude < -90 || latitude > 90) {
+                continue;
+            }
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                cells.add(encode(latitude, wrapLongitude(centerLon + dLon * width), hash.length()));
+            }
+        }
+
+        return List.copyOf(cells);
+    }
+
+    // Exclusive upper bound of all hashes starting with prefix, for "hash >= prefix AND hash < upper"
+    public static String upperBound(String prefix) {
+        return prefix + "~";
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
@@ -0,0 +1,39 @@
+package petitus.petcareplus.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque (createdAt, id) position in a newest-first keyset page.
+ */
+public record KeysetCursor(LocalDateTime createdAt, UUID id) {
+
+    // Sorts after every real (created_at, id), so the first page starts here
+    public static final KeysetCursor FIRST_PAGE = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0),
+            new UUID(-1L, -1L));
+
+    /**
+     * Parse a cursor handed out by {@link #encode()}; a missing one means the first page.
+     *
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed keyset cursor", e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package petitus.petcareplus.utils;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style order code generator sized for PayOS, which only accepts order codes up to
+ * 2^53 - 1. Layout (53 bits): 38 bits of 10 ms ticks since {@link #EPOCH}, 5 bits node id,
+ * 4 bits per-tick sequence and 6 random bits, so neighbouring codes cannot be enumerated.
+ *
+ * <p>Lock-free: the last (tick, sequence) pair lives in one {@link AtomicLong} updated by CAS.
+ * When a tick's sequence is exhausted or the clock moves backwards, the generator keeps
+ * counting from the last issued value, so codes stay unique and strictly increasing per node.
+ */
+public final class OrderCodeGenerator {
+
+    public static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private static final long TICK_MILLIS = 10;
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 4;
+    private static final int RANDOM_BITS = 6;
+
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << 38) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // timestamp << SEQUENCE_BITS | sequence of the last issued code
+    private final AtomicLong lastState = new AtomicLong(0);
+
+    public OrderCodeGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public OrderCodeGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long nextOrderCode() {
+        while (true) {
+            long last = lastState.get();
+            long now = ((clock.getAsLong() - EPOCH) / TICK_MILLIS) << SEQUENCE_BITS;
+
+            // A later tick starts at sequence 0; otherwise take the next value after the last one,
+            // which rolls over into the following tick when the sequence is exhausted
+            long next = now > last ? now : last + 1;
+
+            if ((next >>> SEQUENCE_BITS) > MAX_TIMESTAMP) {
+                throw new IllegalStateException("Order code timestamp overflow");
+            }
+
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS + RANDOM_BITS))
+                        | (nodeId << (SEQUENCE_BITS + RANDOM_BITS))
+                        | (sequence << RANDOM_BITS)
+                        | RANDOM.nextInt(1 << RANDOM_BITS);
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package petitus.petcareplus.utils.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
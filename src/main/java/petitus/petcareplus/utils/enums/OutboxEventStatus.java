@@ -0,0 +1,7 @@
+package petitus.petcareplus.utils.enums;
+
+public enum OutboxEventStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
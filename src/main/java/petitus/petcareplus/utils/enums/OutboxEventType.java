@@ -0,0 +1,10 @@
+package petitus.petcareplus.utils.enums;
+
+public enum OutboxEventType {
+    CHAT_MESSAGE_SENT,
+    IMAGE_UPLOAD_COMPLETED,
+    BOOKING_STATUS_CHANGED,
+    PAYMENT_STATUS_CHANGED,
+    EMAIL_VERIFICATION_REQUESTED,
+    PASSWORD_RESET_REQUESTED
+}
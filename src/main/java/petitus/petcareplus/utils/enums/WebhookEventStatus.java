@@ -0,0 +1,7 @@
+package petitus.petcareplus.utils.enums;
+
+public enum WebhookEventStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
@@ -0,0 +1,36 @@
+-- Monotonic change sequence used by the provider calendar sync feed
+CREATE SEQUENCE IF NOT EXISTS booking_change_seq;
+
+ALTER TABLE bookings
+ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+
+-- Backfill existing rows in update order
+UPDATE bookings b
+SET change_seq = s.seq
+FROM (
+    SELECT id, nextval('booking_change_seq') AS seq
+    FROM (SELECT id FROM bookings ORDER BY updated_at, id) ordered
+) s
+WHERE b.id = s.id;
+
+ALTER TABLE bookings
+ALTER COLUMN change_seq SET DEFAULT nextval('booking_change_seq');
+
+ALTER TABLE bookings
+ALTER COLUMN change_seq SET NOT NULL;
+
+-- Bump the sequence on every update so clients pick up the change
+CREATE OR REPLACE FUNCTION bookings_bump_change_seq() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('booking_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_bookings_change_seq ON bookings;
+CREATE TRIGGER trg_bookings_change_seq
+BEFORE UPDATE ON bookings
+FOR EACH ROW EXECUTE FUNCTION bookings_bump_change_seq();
+
+-- Index for the sync feed
+CREATE INDEX IF NOT EXISTS idx_bookings_provider_change_seq ON bookings(provider_id, change_seq);
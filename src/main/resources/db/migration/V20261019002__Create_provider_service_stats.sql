@@ -0,0 +1,26 @@
+-- Pre-aggregated booking counters per provider service
+CREATE TABLE IF NOT EXISTS provider_service_stats (
+    provider_service_id UUID PRIMARY KEY REFERENCES provider_services(id),
+    total_bookings BIGINT NOT NULL DEFAULT 0,
+    completed_bookings BIGINT NOT NULL DEFAULT 0,
+    cancelled_bookings BIGINT NOT NULL DEFAULT 0,
+    revenue NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Index for the top-N read
+CREATE INDEX IF NOT EXISTS idx_provider_service_stats_total_bookings
+ON provider_service_stats(total_bookings DESC);
+
+-- Backfill from existing bookings
+INSERT INTO provider_service_stats (provider_service_id, total_bookings, completed_bookings,
+        cancelled_bookings, revenue, updated_at)
+SELECT b.provider_service_id,
+        COUNT(*) FILTER (WHERE b.status <> 'CANCELLED' AND b.deleted_at IS NULL),
+        COUNT(*) FILTER (WHERE b.status = 'COMPLETED' AND b.deleted_at IS NULL),
+        COUNT(*) FILTER (WHERE b.status = 'CANCELLED'),
+        COALESCE(SUM(b.total_price) FILTER (WHERE b.status = 'COMPLETED' AND b.deleted_at IS NULL), 0),
+        NOW()
+FROM bookings b
+GROUP BY b.provider_service_id
+ON CONFLICT (provider_service_id) DO NOTHING;
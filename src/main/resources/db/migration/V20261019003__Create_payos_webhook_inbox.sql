@@ -0,0 +1,22 @@
+-- Durable inbox for verified PayOS webhooks
+CREATE TABLE IF NOT EXISTS payos_webhook_inbox (
+    id UUID PRIMARY KEY,
+    order_code VARCHAR(255) NOT NULL,
+    code VARCHAR(255) NOT NULL,
+    amount INTEGER NOT NULL,
+    description VARCHAR(255),
+    transaction_date_time VARCHAR(255),
+    payload JSONB,
+    status VARCHAR(255) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    result VARCHAR(255),
+    processed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    deleted_at TIMESTAMP,
+    CONSTRAINT uk_payos_webhook_inbox_order_code_code UNIQUE (order_code, code)
+);
+
+-- Index for the worker poll
+CREATE INDEX IF NOT EXISTS idx_payos_webhook_inbox_status_created_at
+ON payos_webhook_inbox(status, created_at);
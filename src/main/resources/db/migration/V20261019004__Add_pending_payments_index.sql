@@ -0,0 +1,4 @@
+-- Keyset scan of stale PENDING payments for the PayOS reconciler
+CREATE INDEX IF NOT EXISTS idx_payments_pending_created_at
+    ON payments (created_at, id)
+    WHERE status = 'PENDING' AND deleted_at IS NULL;
@@ -0,0 +1,18 @@
+-- Order codes are generated per node by OrderCodeGenerator; enforce uniqueness in the database too
+
+-- Older codes could collide. Per order code keep the completed payment, else the newest one; the
+-- others get a distinct code, and those still pending are failed since their PayOS link is shared
+WITH ranked AS (
+    SELECT id, ROW_NUMBER() OVER (
+               PARTITION BY order_code
+               ORDER BY (status = 'COMPLETED') DESC, created_at DESC, id) AS rank
+    FROM payments
+)
+UPDATE payments p
+SET order_code = 'DUP-' || p.id,
+    status = CASE WHEN p.status = 'PENDING' THEN 'FAILED' ELSE p.status END,
+    updated_at = NOW()
+FROM ranked r
+WHERE r.id = p.id AND r.rank > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payments_order_code ON payments (order_code);
@@ -0,0 +1,15 @@
+-- Payments by booking (booking detail, pending check)
+CREATE INDEX IF NOT EXISTS idx_payments_booking_id ON payments (booking_id);
+
+-- At most one PENDING payment per booking. PayOSPaymentService inserts with ON CONFLICT DO NOTHING
+-- against this index instead of querying for pending payments first. Older duplicates are failed
+-- first so the index can be built.
+UPDATE payments p SET status = 'FAILED', updated_at = NOW()
+WHERE p.status = 'PENDING'
+  AND EXISTS (SELECT 1 FROM payments newer
+              WHERE newer.booking_id = p.booking_id AND newer.status = 'PENDING'
+                AND (newer.created_at, newer.id) > (p.created_at, p.id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payments_booking_pending
+    ON payments (booking_id)
+    WHERE status = 'PENDING';
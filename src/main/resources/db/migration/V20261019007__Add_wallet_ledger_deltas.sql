@@ -0,0 +1,22 @@
+-- Optimistic versions for wallets and withdrawals
+ALTER TABLE wallet ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE withdrawals ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Ledger legs: each entry records its effect on the available and held balances
+ALTER TABLE wallet_transactions ADD COLUMN IF NOT EXISTS balance_delta NUMERIC(38, 2) NOT NULL DEFAULT 0;
+ALTER TABLE wallet_transactions ADD COLUMN IF NOT EXISTS pending_delta NUMERIC(38, 2) NOT NULL DEFAULT 0;
+
+-- Backfill from the way entries were written before the ledger columns existed
+UPDATE wallet_transactions SET balance_delta = amount
+WHERE type IN ('SERVICE_PROVIDER_EARNING', 'DEPOSIT');
+
+UPDATE wallet_transactions SET balance_delta = amount, pending_delta = -amount
+WHERE type = 'WITHDRAWAL' AND status = 'PENDING';
+
+UPDATE wallet_transactions SET pending_delta = amount
+WHERE type = 'WITHDRAWAL' AND status = 'COMPLETED';
+
+UPDATE wallet_transactions SET balance_delta = amount, pending_delta = -amount
+WHERE type = 'SYSTEM_ADJUSTMENT' AND description LIKE 'Withdrawal rejected:%';
+
+CREATE INDEX IF NOT EXISTS idx_wallet_transactions_wallet_id ON wallet_transactions (wallet_id);
@@ -0,0 +1,34 @@
+-- Running balances per ledger entry, backfilled in posting order
+ALTER TABLE wallet_transactions ADD COLUMN IF NOT EXISTS balance_after NUMERIC(38, 2) NOT NULL DEFAULT 0;
+ALTER TABLE wallet_transactions ADD COLUMN IF NOT EXISTS pending_balance_after NUMERIC(38, 2) NOT NULL DEFAULT 0;
+
+UPDATE wallet_transactions t
+SET balance_after = r.balance_after,
+    pending_balance_after = r.pending_balance_after
+FROM (
+    SELECT id,
+           SUM(balance_delta) OVER (PARTITION BY wallet_id ORDER BY created_at, id) AS balance_after,
+           SUM(pending_delta) OVER (PARTITION BY wallet_id ORDER BY created_at, id) AS pending_balance_after
+    FROM wallet_transactions
+) r
+WHERE t.id = r.id;
+
+-- Keyset paging and period ranges per wallet (replaces the plain wallet_id index)
+CREATE INDEX IF NOT EXISTS idx_wallet_transactions_wallet_created
+    ON wallet_transactions (wallet_id, created_at, id);
+DROP INDEX IF EXISTS idx_wallet_transactions_wallet_id;
+
+CREATE TABLE IF NOT EXISTS wallet_statements (
+    id                UUID PRIMARY KEY,
+    wallet_id         UUID           NOT NULL REFERENCES wallet (id),
+    period_start      DATE           NOT NULL,
+    opening_balance   NUMERIC(38, 2) NOT NULL,
+    closing_balance   NUMERIC(38, 2) NOT NULL,
+    total_credits     NUMERIC(38, 2) NOT NULL,
+    total_debits      NUMERIC(38, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    created_at        TIMESTAMP      NOT NULL,
+    updated_at        TIMESTAMP      NOT NULL,
+    deleted_at        TIMESTAMP,
+    CONSTRAINT ux_wallet_statements_wallet_period UNIQUE (wallet_id, period_start)
+);
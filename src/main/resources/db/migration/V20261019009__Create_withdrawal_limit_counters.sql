@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS withdrawal_limit_counters (
+    provider_id  UUID           NOT NULL,
+    period_type  VARCHAR(10)    NOT NULL,
+    period_start DATE           NOT NULL,
+    total        NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (provider_id, period_type, period_start)
+);
+
+-- Seed from withdrawals that still count towards the limits
+INSERT INTO withdrawal_limit_counters (provider_id, period_type, period_start, total)
+SELECT provider_id, 'DAY', CAST(created_at AS date), SUM(amount)
+FROM withdrawals
+WHERE status NOT IN ('REJECTED', 'FAILED')
+GROUP BY provider_id, CAST(created_at AS date)
+ON CONFLICT DO NOTHING;
+
+INSERT INTO withdrawal_limit_counters (provider_id, period_type, period_start, total)
+SELECT provider_id, 'MONTH', CAST(date_trunc('month', created_at) AS date), SUM(amount)
+FROM withdrawals
+WHERE status NOT IN ('REJECTED', 'FAILED')
+GROUP BY provider_id, CAST(date_trunc('month', created_at) AS date)
+ON CONFLICT DO NOTHING;
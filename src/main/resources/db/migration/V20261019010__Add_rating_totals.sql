@@ -0,0 +1,23 @@
+ALTER TABLE service_provider_profiles ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE service_provider_profiles ADD COLUMN IF NOT EXISTS rating_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE provider_services ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE provider_services ADD COLUMN IF NOT EXISTS rating_count BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from non-deleted reviews
+UPDATE provider_services ps
+SET rating_sum = t.rating_sum, rating_count = t.rating_count
+FROM (SELECT provider_service_id, SUM(rating) AS rating_sum, COUNT(*) AS rating_count
+      FROM service_reviews
+      WHERE deleted_at IS NULL
+      GROUP BY provider_service_id) t
+WHERE ps.id = t.provider_service_id;
+
+UPDATE service_provider_profiles spp
+SET rating_sum = t.rating_sum,
+    rating_count = t.rating_count,
+    rating = CASE WHEN t.rating_count > 0 THEN CAST(t.rating_sum AS double precision) / t.rating_count ELSE 0 END
+FROM (SELECT p.id AS profile_id, SUM(ps.rating_sum) AS rating_sum, SUM(ps.rating_count) AS rating_count
+      FROM profiles p
+      JOIN provider_services ps ON ps.provider_id = p.user_id
+      GROUP BY p.id) t
+WHERE spp.profile_id = t.profile_id;
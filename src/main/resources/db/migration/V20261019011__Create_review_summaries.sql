@@ -0,0 +1,50 @@
+CREATE TABLE IF NOT EXISTS review_summaries (
+    scope             VARCHAR(20) NOT NULL,
+    subject_id        UUID        NOT NULL,
+    review_count      BIGINT      NOT NULL,
+    rating_sum        BIGINT      NOT NULL,
+    star_1            BIGINT      NOT NULL,
+    star_2            BIGINT      NOT NULL,
+    star_3            BIGINT      NOT NULL,
+    star_4            BIGINT      NOT NULL,
+    star_5            BIGINT      NOT NULL,
+    latest_review_ids JSONB       NOT NULL,
+    updated_at        TIMESTAMP   NOT NULL,
+    PRIMARY KEY (scope, subject_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_service_reviews_provider_service_created_at
+    ON service_reviews (provider_service_id, created_at);
+
+-- Backfill from non-deleted reviews
+INSERT INTO review_summaries (scope, subject_id, review_count, rating_sum,
+                              star_1, star_2, star_3, star_4, star_5, latest_review_ids, updated_at)
+SELECT t.scope, t.subject_id, COUNT(*), SUM(t.rating),
+       COUNT(*) FILTER (WHERE t.rating = 1),
+       COUNT(*) FILTER (WHERE t.rating = 2),
+       COUNT(*) FILTER (WHERE t.rating = 3),
+       COUNT(*) FILTER (WHERE t.rating = 4),
+       COUNT(*) FILTER (WHERE t.rating = 5),
+       '[]'::jsonb, NOW()
+FROM (SELECT 'PROVIDER_SERVICE' AS scope, sr.provider_service_id AS subject_id, sr.rating, sr.id, sr.created_at
+      FROM service_reviews sr
+      WHERE sr.deleted_at IS NULL
+      UNION ALL
+      SELECT 'PROVIDER', ps.provider_id, sr.rating, sr.id, sr.created_at
+      FROM service_reviews sr
+      JOIN provider_services ps ON ps.id = sr.provider_service_id
+      WHERE sr.deleted_at IS NULL) t
+GROUP BY t.scope, t.subject_id
+ON CONFLICT DO NOTHING;
+
+UPDATE review_summaries rs
+SET latest_review_ids = COALESCE((
+    SELECT jsonb_agg(r.id ORDER BY r.created_at DESC)
+    FROM (SELECT sr.id, sr.created_at
+          FROM service_reviews sr
+          JOIN provider_services ps ON ps.id = sr.provider_service_id
+          WHERE sr.deleted_at IS NULL
+            AND ((rs.scope = 'PROVIDER_SERVICE' AND sr.provider_service_id = rs.subject_id)
+              OR (rs.scope = 'PROVIDER' AND ps.provider_id = rs.subject_id))
+          ORDER BY sr.created_at DESC
+          LIMIT 5) r), '[]'::jsonb);
@@ -0,0 +1,32 @@
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE IF NOT EXISTS provider_search_documents (
+    provider_service_id UUID      PRIMARY KEY,
+    provider_id         UUID      NOT NULL,
+    document            TSVECTOR  NOT NULL,
+    search_text         TEXT      NOT NULL,
+    updated_at          TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_provider_search_documents_provider_id
+    ON provider_search_documents (provider_id);
+CREATE INDEX IF NOT EXISTS idx_provider_search_documents_document
+    ON provider_search_documents USING GIN (document);
+CREATE INDEX IF NOT EXISTS idx_provider_search_documents_search_text
+    ON provider_search_documents USING GIN (search_text gin_trgm_ops);
+
+-- Backfill
+INSERT INTO provider_search_documents (provider_service_id, provider_id, document, search_text, updated_at)
+SELECT ps.id, ps.provider_id,
+       setweight(to_tsvector('simple', unaccent(concat_ws(' ', spp.business_name, u.last_name, u.name, ds.name))), 'A')
+           || setweight(to_tsvector('simple', unaccent(COALESCE(spp.business_address, ''))), 'B')
+           || setweight(to_tsvector('simple', unaccent(COALESCE(spp.business_bio, ''))), 'C'),
+       lower(unaccent(concat_ws(' ', spp.business_name, u.last_name, u.name, ds.name))),
+       NOW()
+FROM provider_services ps
+JOIN users u ON u.id = ps.provider_id
+JOIN services ds ON ds.id = ps.service_id
+LEFT JOIN profiles p ON p.user_id = ps.provider_id
+LEFT JOIN service_provider_profiles spp ON spp.profile_id = p.id
+ON CONFLICT (provider_service_id) DO NOTHING;
@@ -0,0 +1,7 @@
+ALTER TABLE service_provider_profiles ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE service_provider_profiles ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+-- C collation keeps every hash with a given prefix in one contiguous B-tree range
+ALTER TABLE service_provider_profiles ADD COLUMN IF NOT EXISTS geohash VARCHAR(12) COLLATE "C";
+
+CREATE INDEX IF NOT EXISTS idx_service_provider_profiles_geohash
+    ON service_provider_profiles (geohash);
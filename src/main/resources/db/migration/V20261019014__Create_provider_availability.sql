@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS provider_availability (
+    id                          UUID    PRIMARY KEY,
+    service_provider_profile_id UUID    NOT NULL REFERENCES service_provider_profiles (id),
+    weekday                     INTEGER NOT NULL,
+    start_minute                INTEGER NOT NULL,
+    end_minute                  INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_provider_availability_window
+    ON provider_availability (weekday, start_minute, end_minute);
+CREATE INDEX IF NOT EXISTS idx_provider_availability_profile
+    ON provider_availability (service_provider_profile_id);
+
+-- Rows are backfilled from service_provider_profiles.available_time by the application on startup
@@ -0,0 +1,9 @@
+ALTER TABLE provider_services ADD COLUMN IF NOT EXISTS rating DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+UPDATE provider_services
+SET rating = CAST(rating_sum AS double precision) / rating_count
+WHERE rating_count > 0;
+
+-- Listing sorts; the id tie-breaker keeps page boundaries stable
+CREATE INDEX IF NOT EXISTS idx_provider_services_rating ON provider_services (rating DESC, id);
+CREATE INDEX IF NOT EXISTS idx_provider_services_custom_price ON provider_services (custom_price, id);
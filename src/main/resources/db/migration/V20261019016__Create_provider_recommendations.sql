@@ -0,0 +1,24 @@
+-- Provider acceptance time, the response-time ranking signal
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS accepted_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_provider_service_created_at ON bookings (provider_service_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_bookings_change_seq ON bookings (change_seq);
+CREATE INDEX IF NOT EXISTS idx_service_reviews_updated_at ON service_reviews (updated_at);
+
+CREATE TABLE IF NOT EXISTS provider_recommendations (
+    provider_service_id UUID PRIMARY KEY,
+    provider_id UUID NOT NULL,
+    service_id UUID NOT NULL,
+    area VARCHAR(4) COLLATE "C",
+    score DOUBLE PRECISION NOT NULL,
+    booking_score DOUBLE PRECISION NOT NULL,
+    cancellation_rate DOUBLE PRECISION NOT NULL,
+    avg_response_minutes DOUBLE PRECISION,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_provider_recommendations_score ON provider_recommendations (score DESC);
+CREATE INDEX IF NOT EXISTS idx_provider_recommendations_service_score ON provider_recommendations (service_id, score DESC);
+CREATE INDEX IF NOT EXISTS idx_provider_recommendations_area_score ON provider_recommendations (area, score DESC);
+CREATE INDEX IF NOT EXISTS idx_provider_recommendations_area_service_score
+    ON provider_recommendations (area, service_id, score DESC);
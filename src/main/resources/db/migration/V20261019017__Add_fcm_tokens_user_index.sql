@@ -0,0 +1,2 @@
+-- Batched token lookup for queued pushes
+CREATE INDEX IF NOT EXISTS idx_fcm_tokens_user_id ON fcm_tokens (user_id);
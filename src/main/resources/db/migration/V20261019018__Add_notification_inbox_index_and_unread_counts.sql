@@ -0,0 +1,17 @@
+-- Inbox keyset pages: newest first per recipient, live rows only
+DROP INDEX IF EXISTS idx_notification_receiver_created_at;
+CREATE INDEX idx_notification_receiver_created_at
+    ON notification (user_id_receive, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS notification_unread_counts (
+    user_id UUID PRIMARY KEY,
+    unread_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO notification_unread_counts (user_id, unread_count, updated_at)
+SELECT user_id_receive, COUNT(*) FILTER (WHERE is_read = false AND deleted_at IS NULL), NOW()
+FROM notification
+GROUP BY user_id_receive
+ON CONFLICT (user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count, updated_at = NOW();
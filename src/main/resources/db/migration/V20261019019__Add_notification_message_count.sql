@@ -0,0 +1,2 @@
+-- Chat notifications are collapsed per (recipient, sender); message_count tracks unread messages in the row
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS message_count INTEGER NOT NULL DEFAULT 1;
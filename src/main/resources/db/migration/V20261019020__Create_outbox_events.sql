@@ -0,0 +1,18 @@
+-- Side effects recorded in the transaction of the business change, delivered by OutboxDispatcher
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY,
+    type VARCHAR(255) NOT NULL,
+    aggregate_id UUID,
+    payload JSONB,
+    status VARCHAR(255) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(255),
+    processed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_status_next_attempt_at
+    ON outbox_events (status, next_attempt_at);
@@ -0,0 +1,19 @@
+-- The sync feed pages by writer transaction, bounded by the snapshot xmin, because change_seq
+-- values are drawn before commit and do not follow commit order
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS change_xid xid8;
+
+-- Existing rows were written by long finished transactions
+UPDATE bookings SET change_xid = '1'::xid8 WHERE change_xid IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+ALTER TABLE bookings ALTER COLUMN change_xid SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION bookings_bump_change_seq() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('booking_change_seq');
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_provider_change_xid ON bookings (provider_id, change_xid, change_seq);
@@ -0,0 +1,4 @@
+-- Failed webhook events are retried with exponential backoff instead of on every poll
+ALTER TABLE payos_webhook_inbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW();
+
+CREATE INDEX IF NOT EXISTS idx_payos_webhook_inbox_status_next_attempt_at ON payos_webhook_inbox (status, next_attempt_at);
@@ -0,0 +1,5 @@
+-- Outbox events already applied to notifications, so a retried event is a no-op
+CREATE TABLE IF NOT EXISTS notification_event_receipts (
+    event_id UUID PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,120 @@
+-- Schema that ddl-auto=update cannot create, applied on every startup after Hibernate. Keep each
+-- statement idempotent and mirror it in a db/migration script for Flyway deployments.
+
+-- At most one PENDING payment per booking; older duplicates are failed before the index is built
+UPDATE payments p SET status = 'FAILED', updated_at = NOW()
+WHERE p.status = 'PENDING'
+  AND EXISTS (SELECT 1 FROM payments newer
+              WHERE newer.booking_id = p.booking_id AND newer.status = 'PENDING'
+                AND (newer.created_at, newer.id) > (p.created_at, p.id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payments_booking_pending
+    ON payments (booking_id)
+    WHERE status = 'PENDING';
+
+-- Accent-insensitive search: unaccent for Vietnamese diacritics, pg_trgm for fuzzy name matching
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_provider_search_documents_document
+    ON provider_search_documents USING GIN (document);
+CREATE INDEX IF NOT EXISTS idx_provider_search_documents_search_text
+    ON provider_search_documents USING GIN (search_text gin_trgm_ops);
+
+-- Documents for provider services that have none yet; the nightly rebuild refreshes the rest
+INSERT INTO provider_search_documents (provider_service_id, provider_id, document, search_text, updated_at)
+SELECT ps.id, ps.provider_id,
+       setweight(to_tsvector('simple', unaccent(concat_ws(' ', spp.business_name, u.last_name, u.name, ds.name))), 'A')
+           || setweight(to_tsvector('simple', unaccent(COALESCE(spp.business_address, ''))), 'B')
+           || setweight(to_tsvector('simple', unaccent(COALESCE(spp.business_bio, ''))), 'C'),
+       lower(unaccent(concat_ws(' ', spp.business_name, u.last_name, u.name, ds.name))),
+       NOW()
+FROM provider_services ps
+JOIN users u ON u.id = ps.provider_id
+JOIN services ds ON ds.id = ps.service_id
+LEFT JOIN profiles p ON p.user_id = ps.provider_id
+LEFT JOIN service_provider_profiles spp ON spp.profile_id = p.id
+ON CONFLICT (provider_service_id) DO NOTHING;
+
+-- Provider sync feed (V20261019001, V20261019021): change_seq from a sequence, bumped with change_xid on
+-- every update. Only rows that predate the column are backfilled, in update order.
+CREATE SEQUENCE IF NOT EXISTS booking_change_seq;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+
+UPDATE bookings b
+SET change_seq = s.seq
+FROM (
+    SELECT id, nextval('booking_change_seq') AS seq
+    FROM (SELECT id FROM bookings WHERE change_seq IS NULL ORDER BY updated_at, id) ordered
+) s
+WHERE b.id = s.id;
+
+ALTER TABLE bookings ALTER COLUMN change_seq SET DEFAULT nextval('booking_change_seq');
+ALTER TABLE bookings ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION bookings_bump_change_seq() RETURNS TRIGGER AS '
+BEGIN
+    NEW.change_seq := nextval(''booking_change_seq'');
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+' LANGUAGE plpgsql;
+
+-- Created only when missing, so a restart never leaves a window without the trigger
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = ''trg_bookings_change_seq''
+                   AND tgrelid = ''bookings''::regclass) THEN
+        CREATE TRIGGER trg_bookings_change_seq
+            BEFORE UPDATE ON bookings
+            FOR EACH ROW EXECUTE FUNCTION bookings_bump_change_seq();
+    END IF;
+END;
+';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_provider_change_seq ON bookings (provider_id, change_seq);
+
+-- One-off data backfills; a row here means the backfill of that name has run
+CREATE TABLE IF NOT EXISTS schema_backfills (
+    name       VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP    NOT NULL
+);
+
+-- Running balances of ledger entries that predate balance_after (V20261019008). Claiming the marker and
+-- the backfill are one statement, so it runs exactly once.
+WITH claimed AS (
+    INSERT INTO schema_backfills (name, applied_at)
+    VALUES ('wallet_transactions_balance_after', NOW())
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+UPDATE wallet_transactions t
+SET balance_after = r.balance_after,
+    pending_balance_after = r.pending_balance_after
+FROM (
+    SELECT id,
+           SUM(balance_delta) OVER (PARTITION BY wallet_id ORDER BY created_at, id) AS balance_after,
+           SUM(pending_delta) OVER (PARTITION BY wallet_id ORDER BY created_at, id) AS pending_balance_after
+    FROM wallet_transactions
+) r
+WHERE t.id = r.id
+  AND EXISTS (SELECT 1 FROM claimed);
+
+-- Withdrawal limit counters (V20261019009) for the current day and month, from withdrawals that still
+-- count towards the limits; existing counters are left alone
+INSERT INTO withdrawal_limit_counters (provider_id, period_type, period_start, total)
+SELECT provider_id, 'DAY', CAST(created_at AS date), SUM(amount)
+FROM withdrawals
+WHERE status NOT IN ('REJECTED', 'FAILED')
+  AND created_at >= CURRENT_DATE
+GROUP BY provider_id, CAST(created_at AS date)
+ON CONFLICT DO NOTHING;
+
+INSERT INTO withdrawal_limit_counters (provider_id, period_type, period_start, total)
+SELECT provider_id, 'MONTH', CAST(date_trunc('month', created_at) AS date), SUM(amount)
+FROM withdrawals
+WHERE status NOT IN ('REJECTED', 'FAILED')
+  AND created_at >= date_trunc('month', CURRENT_DATE)
+GROUP BY provider_id, CAST(date_trunc('month', created_at) AS date)
+ON CONFLICT DO NOTHING;
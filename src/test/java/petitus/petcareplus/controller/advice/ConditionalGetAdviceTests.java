@@ -0,0 +1,110 @@
+package petitus.petcareplus.controller.advice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import petitus.petcareplus.controller.annotation.ConditionalGet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConditionalGetAdviceTests {
+
+    private static final List<Map<String, Object>> ITEMS = List.of(Map.of("id", 1, "name", "Grooming"));
+    private static final Map<String, Object> BODY = Map.of("items", ITEMS);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ItemsController controller = new ItemsController();
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new ConditionalGetAdvice(objectMapper))
+            .build();
+
+    @Test
+    void firstRequestGetsBodyAndETag() throws Exception {
+        mockMvc.perform(get("/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().json(objectMapper.writeValueAsString(BODY), JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void matchingIfNoneMatchGets304WithoutBody() throws Exception {
+        String etag = currentETag();
+
+        mockMvc.perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void weakAndListedTagsMatch() throws Exception {
+        String etag = currentETag();
+
+        mockMvc.perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void staleIfNoneMatchGetsFreshBody() throws Exception {
+        mockMvc.perform(get("/items").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(BODY), JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void bodyIsSerializedOnce() throws Exception {
+        controller.serializations.set(0);
+
+        mockMvc.perform(get("/items")).andExpect(status().isOk());
+
+        assertEquals(1, controller.serializations.get());
+    }
+
+    private String currentETag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/items")).andReturn();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @RestController
+    static class ItemsController {
+
+        private final AtomicInteger serializations = new AtomicInteger();
+
+        @GetMapping("/items")
+        @ConditionalGet
+        public ResponseEntity<Catalog> items() {
+            return ResponseEntity.ok(new Catalog(serializations));
+        }
+    }
+
+    // Counts how often Jackson walks the body
+    static class Catalog {
+
+        private final AtomicInteger serializations;
+
+        Catalog(AtomicInteger serializations) {
+            this.serializations = serializations;
+        }
+
+        public List<Map<String, Object>> getItems() {
+            serializations.incrementAndGet();
+            return ITEMS;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package petitus.petcareplus.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import petitus.petcareplus.dto.response.review.ServiceReviewResponse;
+import petitus.petcareplus.model.ServiceReview;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class ServiceReviewRepositoryImplTests {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ServiceReviewRepositoryImpl repository = new ServiceReviewRepositoryImpl();
+
+    private final CriteriaBuilder builder = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+    private final Specification<ServiceReview> specification = (root, query, builder) -> null;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        when(entityManager.getCriteriaBuilder()).thenReturn(builder);
+
+        TypedQuery<Tuple> selectQuery = mock(TypedQuery.class);
+        TypedQuery<Long> countQuery = mock(TypedQuery.class);
+        doReturn(selectQuery).doReturn(countQuery).when(entityManager).createQuery(any(CriteriaQuery.class));
+        when(selectQuery.setFirstResult(anyInt())).thenReturn(selectQuery);
+        when(selectQuery.setMaxResults(anyInt())).thenReturn(selectQuery);
+        List<Tuple> rows = List.of(row(), row(), row());
+        when(selectQuery.getResultList()).thenReturn(rows);
+        when(countQuery.getSingleResult()).thenReturn(3L);
+    }
+
+    @Test
+    void pageCostsOneSelectAndOneCount() {
+        Page<ServiceReviewResponse> page = repository.findAllAsResponses(specification, PageRequest.of(0, 20));
+
+        assertEquals(3, page.getContent().size());
+        assertEquals(3, page.getTotalElements());
+        assertEquals("Nguyen An", page.getContent().get(0).getUserName());
+        // Every row comes from the projection; nothing is loaded or queried per row
+        verify(entityManager, times(2)).getCriteriaBuilder();
+        verify(entityManager, times(2)).createQuery(any(CriteriaQuery.class));
+        verifyNoMoreInteractions(entityManager);
+    }
+
+    @Test
+    void rowsAreOrderedByIdLast() {
+        repository.findAllAsResponses(specification, PageRequest.of(0, 20));
+
+        Path<Object> id = builder.createTupleQuery().from(ServiceReview.class).get("id");
+        verify(builder).asc(id);
+    }
+
+    private Tuple row() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", UUID.randomUUID());
+        values.put("userId", UUID.randomUUID());
+        values.put("userLastName", "Nguyen");
+        values.put("userFirstName", "An");
+        values.put("providerId", UUID.randomUUID());
+        values.put("providerLastName", "Tran");
+        values.put("providerFirstName", "Binh");
+        values.put("serviceName", "Grooming");
+        values.put("rating", 4);
+
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get(anyString(), any())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return tuple;
+    }
+}
@@ -0,0 +1,120 @@
+package petitus.petcareplus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import petitus.petcareplus.exceptions.DataExistedException;
+import petitus.petcareplus.exceptions.UnprocessableEntityException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTests {
+
+    private final Map<String, String> store = new HashMap<>();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final IdempotencyService idempotencyService = new IdempotencyService(redisTemplate, new ObjectMapper(),
+            mock(MessageSourceService.class));
+
+    private final UUID ownerId = UUID.randomUUID();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    record Body(String value) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(inv -> store.get(inv.getArgument(0, String.class)));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(inv -> store.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+        doAnswer(inv -> store.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        // Release (lock) and complete (lock, response, ttl) scripts: compare-and-set on the lock value
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(inv -> {
+            String key = inv.<List<String>>getArgument(1).get(0);
+            Object[] args = inv.getRawArguments().length > 2 ? (Object[]) inv.getRawArguments()[2] : new Object[0];
+            if (!args[0].equals(store.get(key))) {
+                return 0L;
+            }
+            if (args.length == 1) {
+                store.remove(key);
+            } else {
+                store.put(key, (String) args[1]);
+            }
+            return 1L;
+        });
+    }
+
+    @Test
+    void replaysTheFirstResponseForTheSameRequest() {
+        String first = execute("key-1", new Body("a"));
+        String second = execute("key-1", new Body("a"));
+
+        assertEquals("response-1", first);
+        assertEquals("response-1", second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void rejectsTheSameKeyWithADifferentBody() {
+        execute("key-1", new Body("a"));
+
+        assertThrows(UnprocessableEntityException.class, () -> execute("key-1", new Body("b")));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void rejectsADuplicateWhileTheFirstRequestIsRunning() {
+        assertThrows(DataExistedException.class, () -> idempotencyService.execute("scope", ownerId, "key-1",
+                new Body("a"), String.class, () -> execute("key-1", new Body("a"))));
+    }
+
+    @Test
+    void releasesTheKeyWhenTheActionFails() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("scope", ownerId, "key-1",
+                new Body("a"), String.class, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertTrue(store.isEmpty());
+        assertEquals("response-1", execute("key-1", new Body("a")));
+    }
+
+    @Test
+    void doesNotReleaseALockTakenOverByARetry() {
+        // The first request outlives its lock and a retry takes the key over before the failure
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("scope", ownerId, "key-1",
+                new Body("a"), String.class, () -> {
+                    store.replaceAll((key, value) -> value + "-retry");
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals(1, store.size());
+        assertTrue(store.values().iterator().next().endsWith("-retry"));
+    }
+
+    private String execute(String key, Body body) {
+        return idempotencyService.execute("scope", ownerId, key, body, String.class,
+                () -> "response-" + calls.incrementAndGet());
+    }
+}
@@ -0,0 +1,107 @@
+package petitus.petcareplus.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import petitus.petcareplus.repository.NotificationEventReceiptRepository;
+import petitus.petcareplus.repository.NotificationRepository;
+import petitus.petcareplus.repository.NotificationUnreadCountRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTests {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationUnreadCountRepository unreadCountRepository = mock(NotificationUnreadCountRepository.class);
+    private final NotificationEventReceiptRepository receiptRepository = mock(NotificationEventReceiptRepository.class);
+    private final NotificationService notificationService = new NotificationService(notificationRepository,
+            unreadCountRepository, receiptRepository, mock(UserService.class), mock(MessageSourceService.class));
+
+    private final UUID recipientId = UUID.randomUUID();
+    private final UUID senderId = UUID.randomUUID();
+
+    @Test
+    void batchIsOneUpsertWithOneRowPerSender() {
+        UUID firstMessage = UUID.randomUUID();
+        UUID lastMessage = UUID.randomUUID();
+        when(notificationRepository.upsertChatNotifications(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        notificationService.recordChatActivity(List.of(
+                new NotificationService.ChatActivity(recipientId, senderId, firstMessage, 1),
+                new NotificationService.ChatActivity(recipientId, senderId, lastMessage, 2)));
+
+        ArgumentCaptor<UUID[]> lastMessageIds = ArgumentCaptor.forClass(UUID[].class);
+        ArgumentCaptor<Integer[]> counts = ArgumentCaptor.forClass(Integer[].class);
+        verify(notificationRepository).upsertChatNotifications(any(), any(), any(), lastMessageIds.capture(),
+                counts.capture());
+        assertArrayEquals(new UUID[] { lastMessage }, lastMessageIds.getValue());
+        assertArrayEquals(new Integer[] { 3 }, counts.getValue());
+    }
+
+    @Test
+    void onlyRowsThatBecameUnreadAddToTheCounter() {
+        UUID otherSender = UUID.randomUUID();
+        List<Object[]> becameUnread = List.<Object[]>of(new Object[] { recipientId, 1L });
+        when(notificationRepository.upsertChatNotifications(any(), any(), any(), any(), any()))
+                .thenReturn(becameUnread);
+
+        // One of the two rows was already unread, so the upsert reports a single new unread row
+        notificationService.recordChatActivity(List.of(
+                new NotificationService.ChatActivity(recipientId, senderId, UUID.randomUUID(), 1),
+                new NotificationService.ChatActivity(recipientId, otherSender, UUID.randomUUID(), 1)));
+
+        verify(unreadCountRepository).incrementAll(new UUID[] { recipientId }, new Long[] { 1L });
+    }
+
+    @Test
+    void alreadyUnreadRowsLeaveTheCounterAlone() {
+        when(notificationRepository.upsertChatNotifications(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        notificationService.recordChatActivity(List.of(
+                new NotificationService.ChatActivity(recipientId, senderId, UUID.randomUUID(), 1)));
+
+        verify(unreadCountRepository, never()).incrementAll(any(), any());
+    }
+
+    @Test
+    void retriedEventWritesNothing() {
+        UUID eventId = UUID.randomUUID();
+        when(receiptRepository.insertAllIfAbsent(any())).thenReturn(List.of());
+
+        notificationService.recordChatActivityForEvents(Map.of(eventId,
+                new NotificationService.ChatActivity(recipientId, senderId, UUID.randomUUID(), 1)));
+
+        verify(notificationRepository, never()).upsertChatNotifications(any(), any(), any(), any(), any());
+        verify(unreadCountRepository, never()).incrementAll(any(), any());
+    }
+
+    @Test
+    void batchWritesOnlyTheEventsItClaimed() {
+        UUID claimedEvent = UUID.randomUUID();
+        UUID retriedEvent = UUID.randomUUID();
+        UUID claimedMessage = UUID.randomUUID();
+        when(receiptRepository.insertAllIfAbsent(any())).thenReturn(List.of(claimedEvent));
+        when(notificationRepository.upsertChatNotifications(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        Map<UUID, NotificationService.ChatActivity> activities = new LinkedHashMap<>();
+        activities.put(claimedEvent, new NotificationService.ChatActivity(recipientId, senderId, claimedMessage, 1));
+        activities.put(retriedEvent, new NotificationService.ChatActivity(recipientId, senderId, UUID.randomUUID(), 1));
+        notificationService.recordChatActivityForEvents(activities);
+
+        ArgumentCaptor<UUID[]> lastMessageIds = ArgumentCaptor.forClass(UUID[].class);
+        ArgumentCaptor<Integer[]> counts = ArgumentCaptor.forClass(Integer[].class);
+        verify(notificationRepository).upsertChatNotifications(any(), any(), any(), lastMessageIds.capture(),
+                counts.capture());
+        assertArrayEquals(new UUID[] { claimedMessage }, lastMessageIds.getValue());
+        assertArrayEquals(new Integer[] { 1 }, counts.getValue());
+    }
+}
@@ -0,0 +1,171 @@
+package petitus.petcareplus.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import petitus.petcareplus.event.OutboxEventHandler;
+import petitus.petcareplus.model.OutboxEvent;
+import petitus.petcareplus.repository.OutboxEventRepository;
+import petitus.petcareplus.utils.enums.OutboxEventStatus;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTests {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final RecordingHandler handler = new RecordingHandler();
+    private final OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository, List.of(handler),
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        dispatcher.init();
+    }
+
+    @Test
+    void deliversClaimedEventsAndMarksThemProcessed() {
+        OutboxEvent event = event(0);
+        when(outboxEventRepository.lockDueEvents(any(), anyInt())).thenReturn(List.of(event));
+
+        dispatcher.dispatch();
+
+        assertEquals(List.of(event.getId()), handler.handled);
+        verify(outboxEventRepository).lease(eq(List.of(event.getId())), any());
+        verify(outboxEventRepository).markProcessed(eq(event.getId()), any());
+    }
+
+    @Test
+    void reschedulesFailedEventsWithBackoff() {
+        handler.failing = true;
+        OutboxEvent event = event(2);
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.deliver(event);
+
+        verify(outboxEventRepository, never()).markProcessed(any(), any());
+        verify(outboxEventRepository).reschedule(eq(event.getId()), eq(OutboxEventStatus.PENDING),
+                argThat(next -> !next.isBefore(before.plusSeconds(20))),
+                eq("handler failed"));
+    }
+
+    @Test
+    void parksEventsThatExhaustedTheirAttempts() {
+        handler.failing = true;
+        OutboxEvent event = event(OutboxDispatcher.MAX_ATTEMPTS - 1);
+
+        dispatcher.deliver(event);
+
+        verify(outboxEventRepository).reschedule(eq(event.getId()), eq(OutboxEventStatus.FAILED), any(),
+                anyString());
+    }
+
+    @Test
+    void batchedHandlerGetsTheWholeBatchInOneCall() {
+        handler.batched = true;
+        OutboxEvent first = event(0);
+        OutboxEvent second = event(0);
+        when(outboxEventRepository.lockDueEvents(any(), anyInt())).thenReturn(List.of(first, second));
+
+        dispatcher.dispatch();
+
+        assertEquals(List.of(List.of(first.getId(), second.getId())), handler.handledBatches);
+        verify(outboxEventRepository).markAllProcessed(eq(List.of(first.getId(), second.getId())), any());
+    }
+
+    @Test
+    void failedBatchReschedulesEachEvent() {
+        handler.batched = true;
+        handler.failing = true;
+        OutboxEvent first = event(0);
+        OutboxEvent second = event(3);
+
+        dispatcher.deliverAll(handler, List.of(first, second));
+
+        verify(outboxEventRepository, never()).markAllProcessed(any(), any());
+        verify(outboxEventRepository).reschedule(eq(first.getId()), eq(OutboxEventStatus.PENDING), any(),
+                eq("handler failed"));
+        verify(outboxEventRepository).reschedule(eq(second.getId()), eq(OutboxEventStatus.PENDING), any(),
+                eq("handler failed"));
+    }
+
+    @Test
+    void backoffDoublesUpToOneHour() {
+        assertEquals(Duration.ofSeconds(5), OutboxDispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(40), OutboxDispatcher.backoff(4));
+        assertEquals(Duration.ofHours(1), OutboxDispatcher.backoff(30));
+    }
+
+    @Test
+    void rejectsTwoHandlersForOneType() {
+        OutboxDispatcher duplicate = new OutboxDispatcher(outboxEventRepository,
+                List.of(handler, new RecordingHandler()), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, duplicate::init);
+    }
+
+    private OutboxEvent event(int attempts) {
+        OutboxEvent event = OutboxEvent.builder()
+                .type(OutboxEventType.CHAT_MESSAGE_SENT)
+                .payload(Map.of("messageId", UUID.randomUUID().toString()))
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        event.setId(UUID.randomUUID());
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    private static class RecordingHandler implements OutboxEventHandler {
+        private final List<UUID> handled = new ArrayList<>();
+        private final List<List<UUID>> handledBatches = new ArrayList<>();
+        private boolean failing;
+        private boolean batched;
+
+        @Override
+        public Set<OutboxEventType> types() {
+            return Set.of(OutboxEventType.CHAT_MESSAGE_SENT);
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (failing) {
+                throw new IllegalStateException("handler failed");
+            }
+            handled.add(event.getId());
+        }
+
+        @Override
+        public boolean batched() {
+            return batched;
+        }
+
+        @Override
+        public void handleAll(List<OutboxEvent> events) {
+            if (failing) {
+                throw new IllegalStateException("handler failed");
+            }
+            handledBatches.add(events.stream().map(OutboxEvent::getId).toList());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package petitus.petcareplus.service;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import vn.payos.PayOS;
+import vn.payos.exception.PayOSException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PayOSClientTests {
+
+    private final PayOS payOS = mock(PayOS.class);
+    private final PayOSClient payOSClient = new PayOSClient(payOS,
+            CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                    .slidingWindowSize(4)
+                    .minimumNumberOfCalls(4)
+                    .build()),
+            ThreadPoolBulkheadRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), mock(MessageSourceService.class));
+
+    @Test
+    void rejectedRequestsDoNotOpenTheCircuit() throws Exception {
+        payOSClient.init();
+        when(payOS.getPaymentLinkInformation(anyLong())).thenThrow(new PayOSException("101", "Order not found"));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalStateException.class, () -> payOSClient.getPaymentLinkInformation(1L));
+        }
+
+        assertTrue(payOSClient.isAvailable());
+    }
+
+    @Test
+    void serverErrorsOpenTheCircuit() throws Exception {
+        payOSClient.init();
+        when(payOS.getPaymentLinkInformation(anyLong()))
+                .thenThrow(new PayOSException("INTERNAL_SERVER_ERROR", "Bad gateway"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> payOSClient.getPaymentLinkInformation(1L));
+        }
+
+        assertFalse(payOSClient.isAvailable());
+    }
+}
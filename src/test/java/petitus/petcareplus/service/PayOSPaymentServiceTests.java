@@ -0,0 +1,132 @@
+package petitus.petcareplus.service;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import petitus.petcareplus.configuration.LocalPayOS;
+import petitus.petcareplus.configuration.PayOSConfig;
+import petitus.petcareplus.dto.request.payment.CreatePayOSPaymentRequest;
+import petitus.petcareplus.exceptions.ServiceUnavailableException;
+import petitus.petcareplus.model.Booking;
+import petitus.petcareplus.model.Payment;
+import petitus.petcareplus.model.User;
+import petitus.petcareplus.repository.BookingRepository;
+import petitus.petcareplus.repository.PaymentRepository;
+import petitus.petcareplus.utils.OrderCodeGenerator;
+import petitus.petcareplus.utils.enums.PaymentMethod;
+import petitus.petcareplus.utils.enums.PaymentStatus;
+import vn.payos.PayOS;
+import vn.payos.type.PaymentLinkData;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PayOSPaymentServiceTests {
+
+    private static final long ORDER_CODE = 2001L;
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final OrderCodeGenerator orderCodeGenerator = mock(OrderCodeGenerator.class);
+    private final PayOSConfig payOSConfig = mock(PayOSConfig.class);
+
+    @Test
+    void timeoutLeavesPaymentPendingWhileLinkCannotBeCancelled() throws Exception {
+        // The stub answers after 300 ms, past the 100 ms time limit, and still creates the link;
+        // the cancel attempt times out the same way
+        LocalPayOS payOS = new LocalPayOS("client", "key", "checksum", "PENDING", 300);
+        Payment payment = reservedPayment();
+        PayOSPaymentService service = service(payOS);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.createPayOSPayment(request(payment)));
+
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        Thread.sleep(400);
+        assertEquals(150000, payOS.getPaymentLinkInformation(ORDER_CODE).getAmount());
+    }
+
+    @Test
+    void timeoutCancelsLinkBeforeFailingPayment() throws Exception {
+        PayOS payOS = mock(PayOS.class);
+        when(payOS.createPaymentLink(any())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return null;
+        });
+        when(payOS.cancelPaymentLink(anyLong(), anyString()))
+                .thenReturn(PaymentLinkData.builder().id("link").orderCode(ORDER_CODE).amount(150000)
+                        .amountPaid(0).amountRemaining(150000).status("CANCELLED").createdAt("").build());
+        Payment payment = reservedPayment();
+        PayOSPaymentService service = service(payOS);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.createPayOSPayment(request(payment)));
+
+        verify(payOS).cancelPaymentLink(eq(ORDER_CODE), anyString());
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+    }
+
+    private PayOSPaymentService service(PayOS payOS) {
+        TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(100))
+                .cancelRunningFuture(false)
+                .build());
+        ThreadPoolBulkheadRegistry bulkheadRegistry = ThreadPoolBulkheadRegistry.of(ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(4)
+                .maxThreadPoolSize(4)
+                .build());
+        PayOSClient payOSClient = new PayOSClient(payOS, CircuitBreakerRegistry.ofDefaults(), bulkheadRegistry,
+                timeLimiterRegistry, mock(MessageSourceService.class));
+        payOSClient.init();
+
+        PayOSPaymentService service = new PayOSPaymentService(paymentRepository, bookingRepository,
+                mock(MessageSourceService.class), payOSConfig, payOSClient, mock(PaymentStatusService.class),
+                userService, orderCodeGenerator, mock(PlatformTransactionManager.class), mock(OutboxService.class));
+        service.init();
+        return service;
+    }
+
+    private Payment reservedPayment() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Booking booking = Booking.builder().user(user).build();
+        booking.setId(UUID.randomUUID());
+
+        Payment payment = Payment.builder().booking(booking).amount(BigDecimal.valueOf(150000))
+                .paymentMethod(PaymentMethod.PAYOS).orderCode(String.valueOf(ORDER_CODE)).build();
+        payment.setId(UUID.randomUUID());
+
+        when(userService.getCurrentUserId()).thenReturn(user.getId());
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(orderCodeGenerator.nextOrderCode()).thenReturn(ORDER_CODE);
+        when(paymentRepository.insertPendingIfAbsent(any(), eq(booking.getId()), any(), any(), any(), any()))
+                .thenReturn(Optional.of(payment.getId()));
+        when(paymentRepository.findById(payment.getId())).thenReturn(Optional.of(payment));
+        when(payOSConfig.getCancelUrl()).thenReturn("http://localhost/cancel");
+        when(payOSConfig.getReturnUrl()).thenReturn("http://localhost/return");
+        return payment;
+    }
+
+    private CreatePayOSPaymentRequest request(Payment payment) {
+        CreatePayOSPaymentRequest request = new CreatePayOSPaymentRequest();
+        request.setBookingId(payment.getBooking().getId());
+        request.setAmount(payment.getAmount());
+        request.setDescription("Booking");
+        return request;
+    }
+}
@@ -0,0 +1,180 @@
+package petitus.petcareplus.service;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import petitus.petcareplus.configuration.LocalPayOS;
+import petitus.petcareplus.configuration.PayOSConfig;
+import petitus.petcareplus.dto.response.payment.PaymentReconciliationResponse;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.model.Booking;
+import petitus.petcareplus.model.Payment;
+import petitus.petcareplus.model.User;
+import petitus.petcareplus.repository.BookingRepository;
+import petitus.petcareplus.repository.PaymentRepository;
+import petitus.petcareplus.utils.OrderCodeGenerator;
+import petitus.petcareplus.utils.enums.OutboxEventType;
+import petitus.petcareplus.utils.enums.PaymentMethod;
+import petitus.petcareplus.utils.enums.PaymentStatus;
+import vn.payos.exception.PayOSException;
+import vn.payos.type.PaymentData;
+import vn.payos.type.PaymentLinkData;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentReconciliationServiceTests {
+
+    private final Set<Long> unknownOrderCodes = new HashSet<>();
+    // PayOS answers "order not found" for links it never created
+    private final LocalPayOS payOS = new LocalPayOS("client", "key", "checksum", "PENDING", 0) {
+        @Override
+        public PaymentLinkData getPaymentLinkInformation(Long orderCode) throws Exception {
+            if (unknownOrderCodes.contains(orderCode)) {
+                throw new PayOSException("101", "Order not found");
+            }
+            return super.getPaymentLinkInformation(orderCode);
+        }
+    };
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final AdvisoryLockService advisoryLockService = mock(AdvisoryLockService.class);
+    private final Map<UUID, Payment> lockedRows = new HashMap<>();
+    private final List<Payment> stalePayments = new ArrayList<>();
+
+    private PaymentReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        PayOSClient payOSClient = new PayOSClient(payOS, CircuitBreakerRegistry.ofDefaults(),
+                ThreadPoolBulkheadRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(),
+                mock(MessageSourceService.class));
+        payOSClient.init();
+
+        PayOSPaymentService payOSPaymentService = new PayOSPaymentService(paymentRepository,
+                mock(BookingRepository.class), mock(MessageSourceService.class), mock(PayOSConfig.class),
+                payOSClient, mock(PaymentStatusService.class), mock(UserService.class),
+                mock(OrderCodeGenerator.class), mock(PlatformTransactionManager.class), outboxService);
+
+        reconciliationService = new PaymentReconciliationService(paymentRepository, payOSPaymentService,
+                payOSClient, mock(MessageSourceService.class), new SimpleMeterRegistry(), advisoryLockService);
+        ReflectionTestUtils.setField(reconciliationService, "concurrency", 2);
+        ReflectionTestUtils.setField(reconciliationService, "requestsPerSecond", 1000);
+        reconciliationService.init();
+
+        when(paymentRepository.findStalePendingPayments(eq(PaymentMethod.PAYOS.name()), any(), any(), any(),
+                anyInt())).thenReturn(stalePayments);
+        when(paymentRepository.findByIdForUpdate(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(lockedRows.get(invocation.<UUID>getArgument(0))));
+        when(advisoryLockService.runExclusively(anyString(), any())).thenAnswer(
+                invocation -> Optional.ofNullable(invocation.<Supplier<?>>getArgument(1).get()));
+    }
+
+    @Test
+    void settlesFinishedLinksAndLeavesOpenOnesPending() throws Exception {
+        Payment paid = stalePayment(1001L, "PAID");
+        Payment cancelled = stalePayment(1002L, "CANCELLED");
+        Payment open = stalePayment(1003L, "PENDING");
+
+        PaymentReconciliationResponse report = reconciliationService.reconcileNow();
+
+        assertEquals(3, report.getScanned());
+        assertEquals(1, report.getCompleted());
+        assertEquals(1, report.getCancelled());
+        assertEquals(1, report.getStillPending());
+        assertEquals(0, report.getErrors());
+        assertEquals(PaymentStatus.COMPLETED, paid.getStatus());
+        assertEquals(PaymentStatus.COMPLETED, paid.getBooking().getPaymentStatus());
+        assertEquals(PaymentStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(PaymentStatus.PENDING, open.getStatus());
+        verify(outboxService, times(2)).publish(eq(OutboxEventType.PAYMENT_STATUS_CHANGED), any(), any());
+    }
+
+    @Test
+    void skipsPaymentsSettledByAWebhookAfterTheFetch() throws Exception {
+        Payment payment = stalePayment(1004L, "PAID");
+
+        // The webhook committed first; the locked row is no longer pending
+        Payment settled = Payment.builder().booking(payment.getBooking()).amount(payment.getAmount())
+                .paymentMethod(PaymentMethod.PAYOS).orderCode(payment.getOrderCode())
+                .status(PaymentStatus.FAILED).build();
+        settled.setId(payment.getId());
+        lockedRows.put(payment.getId(), settled);
+
+        PaymentReconciliationResponse report = reconciliationService.reconcileNow();
+
+        assertEquals(0, report.getCompleted());
+        assertEquals(PaymentStatus.FAILED, settled.getStatus());
+        verify(outboxService, never()).publish(any(), any(), any());
+    }
+
+    @Test
+    void failsPaymentsWhoseLinkPayOSNeverCreated() throws Exception {
+        // Link creation timed out and the cancel could not reach PayOS either
+        Payment orphaned = stalePayment(1005L, "PENDING");
+        unknownOrderCodes.add(1005L);
+
+        PaymentReconciliationResponse report = reconciliationService.reconcileNow();
+
+        assertEquals(1, report.getFailed());
+        assertEquals(0, report.getErrors());
+        assertEquals(PaymentStatus.FAILED, orphaned.getStatus());
+        verify(outboxService).publish(eq(OutboxEventType.PAYMENT_STATUS_CHANGED), any(), any());
+    }
+
+    @Test
+    void rejectsOnDemandRunWhileAnotherNodeHoldsTheLock() {
+        doReturn(Optional.empty()).when(advisoryLockService).runExclusively(anyString(), any());
+
+        assertThrows(BadRequestException.class, () -> reconciliationService.reconcileNow());
+        verify(paymentRepository, never()).findStalePendingPayments(any(), any(), any(), any(), anyInt());
+    }
+
+    private Payment stalePayment(long orderCode, String payOSStatus) throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        User provider = new User();
+        provider.setId(UUID.randomUUID());
+        Booking booking = Booking.builder().user(user).provider(provider).build();
+        booking.setId(UUID.randomUUID());
+
+        Payment payment = Payment.builder().booking(booking).amount(BigDecimal.valueOf(150000))
+                .paymentMethod(PaymentMethod.PAYOS).orderCode(String.valueOf(orderCode)).build();
+        payment.setId(UUID.randomUUID());
+
+        payOS.createPaymentLink(PaymentData.builder().orderCode(orderCode).amount(150000)
+                .description("Booking").items(List.of()).cancelUrl("http://localhost/cancel")
+                .returnUrl("http://localhost/return").build());
+        payOS.setStatus(orderCode, payOSStatus);
+
+        stalePayments.add(payment);
+        lockedRows.put(payment.getId(), payment);
+        return payment;
+    }
+}
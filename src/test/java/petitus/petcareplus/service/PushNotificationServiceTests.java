@@ -0,0 +1,107 @@
+package petitus.petcareplus.service;
+
+import org.junit.jupiter.api.Test;
+import petitus.petcareplus.model.FcmToken;
+import petitus.petcareplus.repository.FcmTokenRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PushNotificationServiceTests {
+
+    private final FakePushSender pushSender = new FakePushSender();
+    private final FcmTokenRepository fcmTokenRepository = mock(FcmTokenRepository.class);
+    private final PushNotificationService pushNotificationService = new PushNotificationService(pushSender,
+            fcmTokenRepository);
+
+    private final UUID recipientId = UUID.randomUUID();
+
+    @Test
+    void sendsWithTheCollapseKey() {
+        givenTokens(List.of("token-1"));
+
+        pushNotificationService.send(recipientId, "chat:sender", "Title", "body", Map.of());
+
+        assertEquals(List.of("chat:sender"), pushSender.sent.stream().map(Sent::collapseKey).toList());
+    }
+
+    @Test
+    void splitsTokensIntoMulticastBatches() {
+        givenTokens(IntStream.range(0, 1_200).mapToObj(i -> "token-" + i).toList());
+
+        pushNotificationService.send(recipientId, "sender", "Title", "body", Map.of());
+
+        List<Integer> batchSizes = pushSender.sent.stream().map(sent -> sent.tokens().size()).sorted().toList();
+        assertEquals(List.of(200, 500, 500), batchSizes);
+    }
+
+    @Test
+    void deletesTokensReportedAsUnregistered() {
+        givenTokens(List.of("live", "stale"));
+        pushSender.unregistered.add("stale");
+
+        pushNotificationService.send(recipientId, "sender", "Title", "body", Map.of());
+
+        verify(fcmTokenRepository).deleteByTokenIn(List.of("stale"));
+    }
+
+    @Test
+    void skipsRecipientsWithoutTokens() {
+        givenTokens(List.of());
+
+        pushNotificationService.send(recipientId, "sender", "Title", "body", Map.of());
+
+        assertEquals(0, pushSender.sent.size());
+        verify(fcmTokenRepository, never()).deleteByTokenIn(any());
+    }
+
+    @Test
+    void rejectedPushFailsTheSend() {
+        givenTokens(List.of("token-1"));
+        pushSender.rejecting = true;
+
+        // Propagates to the outbox handler, so the event is retried rather than marked processed
+        assertThrows(IllegalStateException.class,
+                () -> pushNotificationService.send(recipientId, "sender", "Title", "body", Map.of()));
+    }
+
+    private void givenTokens(List<String> tokens) {
+        when(fcmTokenRepository.findByUserId(recipientId)).thenReturn(tokens.stream()
+                .map(token -> FcmToken.builder().userId(recipientId).token(token).build())
+                .toList());
+    }
+
+    private record Sent(List<String> tokens, String collapseKey, String title, String body,
+            Map<String, String> data) {
+    }
+
+    // Stands in for Firebase: records each multicast and reports configured tokens as unregistered
+    private static class FakePushSender implements PushSender {
+        private final List<Sent> sent = new ArrayList<>();
+        private final Set<String> unregistered = new HashSet<>();
+        private boolean rejecting;
+
+        @Override
+        public List<String> sendMulticast(List<String> tokens, String collapseKey, String title, String body,
+                Map<String, String> data) {
+            if (rejecting) {
+                throw new IllegalStateException("FCM unavailable");
+            }
+            sent.add(new Sent(List.copyOf(tokens), collapseKey, title, body, data));
+            return tokens.stream().filter(unregistered::contains).toList();
+        }
+    }
+}
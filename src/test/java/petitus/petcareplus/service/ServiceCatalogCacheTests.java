@@ -0,0 +1,74 @@
+package petitus.petcareplus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import petitus.petcareplus.dto.response.service.ServiceResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServiceCatalogCacheTests {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final ServiceCatalogCache cache = new ServiceCatalogCache(redisTemplate,
+            mock(RedisMessageListenerContainer.class), new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void missedInvalidationIsPickedUpByTheVersionCheck() {
+        when(valueOperations.get(anyString())).thenReturn("1");
+        cache.checkVersion();
+        cache.get(this::load);
+
+        // Another node wrote, but its pub/sub message never arrived
+        when(valueOperations.get(anyString())).thenReturn("2");
+        cache.get(this::load);
+        assertEquals(1, loads.get());
+
+        cache.checkVersion();
+        cache.get(this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void unchangedVersionKeepsTheSnapshot() {
+        when(valueOperations.get(anyString())).thenReturn("1");
+        cache.checkVersion();
+        cache.get(this::load);
+
+        cache.checkVersion();
+        cache.get(this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void writesBumpTheVersion() {
+        cache.invalidateAfterCommit();
+
+        verify(valueOperations).increment("service_catalog:version");
+        verify(redisTemplate).convertAndSend(anyString(), anyString());
+    }
+
+    private List<ServiceResponse> load() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+}
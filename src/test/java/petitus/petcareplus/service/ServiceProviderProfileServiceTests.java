@@ -0,0 +1,111 @@
+package petitus.petcareplus.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import petitus.petcareplus.dto.request.profile.ServiceProviderProfileRequest;
+import petitus.petcareplus.model.User;
+import petitus.petcareplus.model.profile.Profile;
+import petitus.petcareplus.model.profile.ProviderAvailability;
+import petitus.petcareplus.model.profile.ServiceProviderProfile;
+import petitus.petcareplus.repository.ProfileRepository;
+import petitus.petcareplus.repository.ProviderAvailabilityRepository;
+import petitus.petcareplus.repository.ServiceProviderProfileRepository;
+import petitus.petcareplus.repository.UserRepository;
+import petitus.petcareplus.utils.AvailableTimeParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServiceProviderProfileServiceTests {
+
+    private final ServiceProviderProfileRepository serviceProviderProfileRepository =
+            mock(ServiceProviderProfileRepository.class);
+    private final ProfileRepository profileRepository = mock(ProfileRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final ProviderAvailabilityRepository providerAvailabilityRepository =
+            mock(ProviderAvailabilityRepository.class);
+    private final AdvisoryLockService advisoryLockService = mock(AdvisoryLockService.class);
+    private final ServiceProviderProfileService serviceProviderProfileService = new ServiceProviderProfileService(
+            serviceProviderProfileRepository, profileRepository, mock(UserRepository.class), userService,
+            mock(RoleService.class), mock(MessageSourceService.class), mock(ProviderSearchService.class),
+            providerAvailabilityRepository, advisoryLockService, mock(PlatformTransactionManager.class));
+
+    private ServiceProviderProfile serviceProviderProfile;
+
+    @BeforeEach
+    void setUp() {
+        serviceProviderProfileService.init();
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        serviceProviderProfile = ServiceProviderProfile.builder().latitude(10.7769).longitude(106.7009)
+                .geohash("w3gv2").build();
+        serviceProviderProfile.setId(UUID.randomUUID());
+        Profile profile = Profile.builder().user(user).serviceProviderProfile(serviceProviderProfile).build();
+
+        when(userService.getUser()).thenReturn(user);
+        when(profileRepository.findByUserId(user.getId())).thenReturn(profile);
+    }
+
+    @Test
+    void updateWithoutCoordinatesKeepsLocation() {
+        serviceProviderProfileService.updateServiceProviderProfile(new ServiceProviderProfileRequest());
+
+        assertEquals(10.7769, serviceProviderProfile.getLatitude());
+        assertEquals(106.7009, serviceProviderProfile.getLongitude());
+        assertEquals("w3gv2", serviceProviderProfile.getGeohash());
+    }
+
+    @Test
+    void explicitClearRemovesLocation() {
+        ServiceProviderProfileRequest request = new ServiceProviderProfileRequest();
+        request.setClearLocation(true);
+
+        serviceProviderProfileService.updateServiceProviderProfile(request);
+
+        assertNull(serviceProviderProfile.getLatitude());
+        assertNull(serviceProviderProfile.getLongitude());
+        assertNull(serviceProviderProfile.getGeohash());
+    }
+
+    @Test
+    void backfillRunsUnderTheAdvisoryLock() {
+        serviceProviderProfile.setAvailableTime(Map.of("monday", "00:00-24:00"));
+        when(serviceProviderProfileRepository.findAllByAvailableTimeIsNotNull())
+                .thenReturn(List.of(serviceProviderProfile));
+        when(advisoryLockService.runExclusively(anyString(), any())).thenAnswer(
+                invocation -> Optional.ofNullable(invocation.<Supplier<?>>getArgument(1).get()));
+
+        serviceProviderProfileService.backfillAvailability();
+
+        ArgumentCaptor<List<ProviderAvailability>> windows = ArgumentCaptor.captor();
+        verify(providerAvailabilityRepository).saveAll(windows.capture());
+        assertEquals(1, windows.getValue().size());
+        assertEquals(0, windows.getValue().get(0).getStartMinute());
+        assertEquals(AvailableTimeParser.MINUTES_PER_DAY, windows.getValue().get(0).getEndMinute());
+    }
+
+    @Test
+    void backfillIsSkippedWhileAnotherNodeHoldsTheLock() {
+        when(advisoryLockService.runExclusively(anyString(), any())).thenReturn(Optional.empty());
+
+        serviceProviderProfileService.backfillAvailability();
+
+        verify(serviceProviderProfileRepository, never()).findAllByAvailableTimeIsNotNull();
+        verify(providerAvailabilityRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,98 @@
+package petitus.petcareplus.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import petitus.petcareplus.dto.request.review.ServiceReviewUpdateRequest;
+import petitus.petcareplus.model.DefaultService;
+import petitus.petcareplus.model.ProviderService;
+import petitus.petcareplus.model.Role;
+import petitus.petcareplus.model.ServiceReview;
+import petitus.petcareplus.model.User;
+import petitus.petcareplus.repository.BookingRepository;
+import petitus.petcareplus.repository.ProviderServiceRepository;
+import petitus.petcareplus.repository.ServiceProviderProfileRepository;
+import petitus.petcareplus.repository.ServiceReviewRepository;
+import petitus.petcareplus.repository.UserRepository;
+import petitus.petcareplus.utils.Constants;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServiceReviewServiceTests {
+
+    private final ServiceReviewRepository serviceReviewRepository = mock(ServiceReviewRepository.class);
+    private final ProviderServiceRepository providerServiceRepository = mock(ProviderServiceRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final ServiceProviderProfileRepository profileRepository = mock(ServiceProviderProfileRepository.class);
+    private final ReviewSummaryService reviewSummaryService = mock(ReviewSummaryService.class);
+    private final ServiceReviewService serviceReviewService = new ServiceReviewService(serviceReviewRepository,
+            mock(BookingRepository.class), providerServiceRepository, userRepository, userService,
+            profileRepository, mock(MessageSourceService.class), reviewSummaryService);
+
+    private ServiceReview review;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setId(UUID.randomUUID());
+        author.setRole(new Role(Constants.RoleEnum.USER));
+        User provider = new User();
+        provider.setId(UUID.randomUUID());
+        DefaultService service = new DefaultService();
+        service.setId(UUID.randomUUID());
+        ProviderService providerService = ProviderService.builder().id(UUID.randomUUID()).provider(provider)
+                .service(service).build();
+
+        review = ServiceReview.builder().id(UUID.randomUUID()).user(author).providerService(providerService)
+                .rating(3).comment("Okay").build();
+
+        when(userService.getCurrentUserId()).thenReturn(author.getId());
+        when(userRepository.findById(author.getId())).thenReturn(Optional.of(author));
+        when(serviceReviewRepository.findByIdForUpdate(review.getId())).thenReturn(Optional.of(review));
+        when(serviceReviewRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void updateTakesRatingChangeFromLockedReview() {
+        ServiceReviewUpdateRequest request = new ServiceReviewUpdateRequest();
+        request.setRating(5);
+
+        serviceReviewService.updateReview(review.getId(), request);
+
+        UUID providerServiceId = review.getProviderService().getId();
+        UUID providerId = review.getProviderService().getProvider().getId();
+        InOrder inOrder = inOrder(reviewSummaryService, providerServiceRepository, profileRepository);
+        inOrder.verify(reviewSummaryService).applyReviewChange(review.getProviderService(), 3, 5);
+        inOrder.verify(providerServiceRepository).copyRatingFromSummary(providerServiceId);
+        inOrder.verify(profileRepository).copyRatingFromSummary(providerId);
+        verify(serviceReviewRepository, never()).findById(any());
+    }
+
+    @Test
+    void deleteRemovesLockedRatingOnce() {
+        serviceReviewService.deleteReview(review.getId());
+
+        verify(reviewSummaryService).applyReviewChange(review.getProviderService(), 3, null);
+        verify(providerServiceRepository).copyRatingFromSummary(review.getProviderService().getId());
+        verify(serviceReviewRepository, never()).findById(any());
+    }
+
+    @Test
+    void reconciliationCopiesTotalsFromRebuiltSummaries() {
+        serviceReviewService.reconcileRatings();
+
+        InOrder inOrder = inOrder(reviewSummaryService, providerServiceRepository, profileRepository);
+        inOrder.verify(reviewSummaryService).rebuildAll();
+        inOrder.verify(providerServiceRepository).reconcileRatings();
+        inOrder.verify(profileRepository).reconcileRatings();
+    }
+}
@@ -0,0 +1,152 @@
+package petitus.petcareplus.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.model.wallet.Wallet;
+import petitus.petcareplus.model.wallet.WalletTransaction;
+import petitus.petcareplus.repository.BookingRepository;
+import petitus.petcareplus.repository.WalletRepository;
+import petitus.petcareplus.repository.WalletStatementRepository;
+import petitus.petcareplus.repository.WalletTransactionRepository;
+import petitus.petcareplus.utils.enums.TransactionStatus;
+import petitus.petcareplus.utils.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WalletServiceTests {
+
+    private final WalletRepository walletRepository = mock(WalletRepository.class);
+    private final WalletTransactionRepository walletTransactionRepository = mock(WalletTransactionRepository.class);
+    private final WalletService walletService = new WalletService(walletRepository, walletTransactionRepository,
+            mock(WalletStatementRepository.class), mock(UserService.class), mock(BookingRepository.class),
+            mock(MessageSourceService.class));
+
+    // Committed ledger entries, summed like sumDeltasByWalletId
+    private final Queue<WalletTransaction> ledger = new ConcurrentLinkedQueue<>();
+
+    private Wallet wallet;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        wallet = Wallet.builder().balance(BigDecimal.valueOf(1000)).pendingBalance(BigDecimal.ZERO).build();
+        wallet.setId(UUID.randomUUID());
+        ledger.add(WalletTransaction.builder().wallet(wallet).amount(wallet.getBalance())
+                .balanceDelta(wallet.getBalance()).pendingDelta(BigDecimal.ZERO).build());
+
+        when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.findById(wallet.getId())).thenReturn(Optional.of(wallet));
+        // Same guard as the conditional UPDATE: applied atomically, rejected when a balance would go negative
+        when(walletRepository.applyDelta(eq(wallet.getId()), any(), any())).thenAnswer(invocation -> {
+            synchronized (wallet) {
+                BigDecimal balance = wallet.getBalance().add(invocation.getArgument(1));
+                BigDecimal pending = wallet.getPendingBalance().add(invocation.getArgument(2));
+                if (balance.signum() < 0 || pending.signum() < 0) {
+                    return 0;
+                }
+                wallet.setBalance(balance);
+                wallet.setPendingBalance(pending);
+                return 1;
+            }
+        });
+        when(walletRepository.findBalances(wallet.getId())).thenAnswer(invocation -> {
+            synchronized (wallet) {
+                return List.<Object[]>of(new Object[] { wallet.getBalance(), wallet.getPendingBalance() });
+            }
+        });
+        when(walletTransactionRepository.save(any())).thenAnswer(invocation -> {
+            ledger.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(walletTransactionRepository.sumDeltasByWalletId(wallet.getId())).thenAnswer(invocation -> List.<Object[]>of(
+                new Object[] {
+                        ledger.stream().map(WalletTransaction::getBalanceDelta).reduce(BigDecimal.ZERO, BigDecimal::add),
+                        ledger.stream().map(WalletTransaction::getPendingDelta).reduce(BigDecimal.ZERO, BigDecimal::add) }));
+    }
+
+    @Test
+    void concurrentPostingsKeepBalancesConsistentWithLedger() throws InterruptedException {
+        int threads = 16;
+        int perThread = 500;
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < perThread; j++) {
+                    // Withdrawals outweigh deposits, so the wallet keeps running into its floor
+                    boolean deposit = ThreadLocalRandom.current().nextInt(3) == 0;
+                    BigDecimal delta = BigDecimal.valueOf(deposit ? 5 : -3);
+                    try {
+                        walletService.postTransaction(userId, delta.abs(), delta, BigDecimal.ZERO,
+                                deposit ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL,
+                                TransactionStatus.COMPLETED, "stress", null);
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertTrue(rejected.get() > 0);
+        assertEquals(threads * perThread - rejected.get() + 1, ledger.size());
+        assertTrue(wallet.getBalance().signum() >= 0);
+        assertTrue(walletService.isConsistentWithLedger(wallet.getId()));
+    }
+
+    @Test
+    void batchPostingLocksWalletsInIdOrder() {
+        UUID lowId = new UUID(0L, 1L);
+        UUID highId = new UUID(0L, 2L);
+        when(walletRepository.applyDelta(any(), any(), any())).thenReturn(1);
+        when(walletRepository.findBalancesByIds(any())).thenReturn(List.of(
+                new Object[] { lowId, BigDecimal.TEN, BigDecimal.ZERO },
+                new Object[] { highId, BigDecimal.TEN, BigDecimal.ZERO }));
+        when(walletTransactionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Posting order is the reverse of the id order
+        walletService.postTransactions(List.of(posting(highId), posting(lowId), posting(highId)));
+
+        InOrder inOrder = inOrder(walletRepository);
+        inOrder.verify(walletRepository).applyDelta(eq(lowId), any(), any());
+        inOrder.verify(walletRepository).applyDelta(eq(highId), any(), any());
+    }
+
+    private WalletService.LedgerPosting posting(UUID walletId) {
+        return new WalletService.LedgerPosting(walletId, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ZERO,
+                TransactionType.SERVICE_PROVIDER_EARNING, TransactionStatus.COMPLETED, "batch");
+    }
+}
@@ -0,0 +1,147 @@
+package petitus.petcareplus.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import petitus.petcareplus.configuration.WalletConfig;
+import petitus.petcareplus.dto.request.wallet.WithdrawalRequest;
+import petitus.petcareplus.exceptions.BadRequestException;
+import petitus.petcareplus.model.Role;
+import petitus.petcareplus.model.User;
+import petitus.petcareplus.model.wallet.Withdrawal;
+import petitus.petcareplus.repository.WithdrawalLimitCounterRepository;
+import petitus.petcareplus.repository.WithdrawalRepository;
+import petitus.petcareplus.utils.Constants;
+import petitus.petcareplus.utils.enums.WithdrawalLimitPeriod;
+import petitus.petcareplus.utils.enums.WithdrawalStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WithdrawalServiceTests {
+
+    private static final BigDecimal AMOUNT = BigDecimal.valueOf(500_000);
+
+    private final WithdrawalRepository withdrawalRepository = mock(WithdrawalRepository.class);
+    private final WithdrawalLimitCounterRepository counterRepository = mock(WithdrawalLimitCounterRepository.class);
+    private final WalletService walletService = mock(WalletService.class);
+    private final UserService userService = mock(UserService.class);
+    private final WalletConfig walletConfig = new WalletConfig();
+    private final WithdrawalService withdrawalService = new WithdrawalService(withdrawalRepository,
+            counterRepository, walletService, userService, walletConfig, mock(PlatformTransactionManager.class));
+
+    private User provider;
+
+    @BeforeEach
+    void setUp() {
+        walletConfig.setFeeRate(new BigDecimal("0.01"));
+        walletConfig.setMinFee(BigDecimal.valueOf(1_000));
+        walletConfig.setMaxFee(BigDecimal.valueOf(50_000));
+        walletConfig.setDailyLimit(BigDecimal.valueOf(10_000_000));
+        walletConfig.setMonthlyLimit(BigDecimal.valueOf(100_000_000));
+
+        provider = new User();
+        provider.setId(UUID.randomUUID());
+        provider.setRole(new Role(Constants.RoleEnum.SERVICE_PROVIDER));
+        when(userService.getUser()).thenReturn(provider);
+        when(withdrawalRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(withdrawalRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void reservesDailyAndMonthlyLimits() {
+        when(counterRepository.reserve(any(), anyString(), any(), any(), any())).thenReturn(1);
+
+        withdrawalService.createWithdrawalRequest(provider.getId(), request());
+
+        LocalDate today = LocalDate.now();
+        verify(counterRepository).reserve(provider.getId(), WithdrawalLimitPeriod.DAY.name(), today, AMOUNT,
+                walletConfig.getDailyLimit());
+        verify(counterRepository).reserve(provider.getId(), WithdrawalLimitPeriod.MONTH.name(),
+                today.withDayOfMonth(1), AMOUNT, walletConfig.getMonthlyLimit());
+    }
+
+    @Test
+    void rejectsRequestOverTheMonthlyLimit() {
+        when(counterRepository.reserve(any(), eq(WithdrawalLimitPeriod.DAY.name()), any(), any(), any()))
+                .thenReturn(1);
+        when(counterRepository.reserve(any(), eq(WithdrawalLimitPeriod.MONTH.name()), any(), any(), any()))
+                .thenReturn(0);
+
+        assertThrows(BadRequestException.class,
+                () -> withdrawalService.createWithdrawalRequest(provider.getId(), request()));
+
+        verify(withdrawalRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectionReleasesLimitsOfTheRequestDate() {
+        Withdrawal withdrawal = withdrawal(WithdrawalStatus.PENDING);
+
+        withdrawalService.rejectWithdrawal(withdrawal.getId(), "Wrong account");
+
+        assertEquals(WithdrawalStatus.REJECTED, withdrawal.getStatus());
+        verifyReleased(withdrawal);
+    }
+
+    @Test
+    void failedTransferReleasesLimitsAndRefunds() {
+        Withdrawal withdrawal = withdrawal(WithdrawalStatus.APPROVED);
+
+        withdrawalService.failWithdrawal(withdrawal.getId(), "Bank transfer bounced");
+
+        assertEquals(WithdrawalStatus.FAILED, withdrawal.getStatus());
+        verifyReleased(withdrawal);
+        verify(walletService).postTransaction(eq(provider.getId()), eq(AMOUNT), eq(AMOUNT), eq(AMOUNT.negate()),
+                any(), any(), anyString(), any());
+    }
+
+    @Test
+    void onlyApprovedWithdrawalsCanFail() {
+        Withdrawal withdrawal = withdrawal(WithdrawalStatus.PENDING);
+
+        assertThrows(BadRequestException.class,
+                () -> withdrawalService.failWithdrawal(withdrawal.getId(), "Bank transfer bounced"));
+
+        verify(counterRepository, never()).release(any(), anyString(), any(), any());
+    }
+
+    private void verifyReleased(Withdrawal withdrawal) {
+        LocalDate requestedOn = withdrawal.getCreatedAt().toLocalDate();
+        verify(counterRepository).release(provider.getId(), WithdrawalLimitPeriod.DAY.name(), requestedOn, AMOUNT);
+        verify(counterRepository).release(provider.getId(), WithdrawalLimitPeriod.MONTH.name(),
+                requestedOn.withDayOfMonth(1), AMOUNT);
+    }
+
+    private Withdrawal withdrawal(WithdrawalStatus status) {
+        Withdrawal withdrawal = Withdrawal.builder().provider(provider).amount(AMOUNT).status(status).build();
+        withdrawal.setId(UUID.randomUUID());
+        // Requested last month, so the counters of that day and month are released
+        withdrawal.setCreatedAt(LocalDateTime.now().minusMonths(1));
+        when(withdrawalRepository.findById(withdrawal.getId())).thenReturn(Optional.of(withdrawal));
+        return withdrawal;
+    }
+
+    private WithdrawalRequest request() {
+        WithdrawalRequest request = new WithdrawalRequest();
+        request.setAmount(AMOUNT);
+        request.setBankCode("VCB");
+        request.setBankName("Vietcombank");
+        request.setAccountNumber("0123456789");
+        request.setAccountHolderName("NGUYEN VAN A");
+        return request;
+    }
+}
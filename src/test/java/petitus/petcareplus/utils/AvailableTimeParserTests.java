@@ -0,0 +1,44 @@
+package petitus.petcareplus.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AvailableTimeParserTests {
+
+    private static final int MONDAY = DayOfWeek.MONDAY.getValue();
+    private static final int TUESDAY = DayOfWeek.TUESDAY.getValue();
+
+    @Test
+    void fullDayEndsAtMidnight() {
+        assertEquals(List.of(new AvailableTimeParser.Window(MONDAY, 0, AvailableTimeParser.MINUTES_PER_DAY)),
+                AvailableTimeParser.parse(Map.of("monday", "00:00-24:00")));
+    }
+
+    @Test
+    void eveningUntilMidnightStaysOnTheSameDay() {
+        assertEquals(List.of(new AvailableTimeParser.Window(MONDAY, 18 * 60, AvailableTimeParser.MINUTES_PER_DAY)),
+                AvailableTimeParser.parse(Map.of("mon", Map.of("start", "18:00", "end", "00:00"))));
+    }
+
+    @Test
+    void overnightWindowIsSplitAcrossDays() {
+        assertEquals(List.of(
+                new AvailableTimeParser.Window(MONDAY, 22 * 60, AvailableTimeParser.MINUTES_PER_DAY),
+                new AvailableTimeParser.Window(TUESDAY, 0, 6 * 60)),
+                AvailableTimeParser.parse(Map.of("Monday", "22:00-06:00")));
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> AvailableTimeParser.parse(Map.of("monday", "24:00-08:00")));
+        assertThrows(IllegalArgumentException.class, () -> AvailableTimeParser.parse(Map.of("monday", "09:00-09:00")));
+        assertThrows(IllegalArgumentException.class, () -> AvailableTimeParser.parse(Map.of("monday", "9am-5pm")));
+        assertThrows(IllegalArgumentException.class, () -> AvailableTimeParser.parse(Map.of("monday", 8)));
+    }
+}
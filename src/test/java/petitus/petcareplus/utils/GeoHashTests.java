@@ -0,0 +1,80 @@
+package petitus.petcareplus.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoHashTests {
+
+    @Test
+    void encodesKnownPoints() {
+        assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void coveringCellsContainEveryPointWithinRadius() {
+        Random random = new Random(42);
+        double radiusKm = 5;
+
+        for (int i = 0; i < 2_000; i++) {
+            // Around Ho Chi Minh City
+            double latitude = 10.7 + random.nextDouble() * 0.2;
+            double longitude = 106.6 + random.nextDouble() * 0.2;
+            List<String> cells = GeoHash.coveringCells(latitude, longitude, radiusKm);
+
+            assertTrue(cells.size() <= 4);
+
+            double bearing = random.nextDouble() * 2 * Math.PI;
+            double distanceKm = random.nextDouble() * radiusKm;
+            double pointLat = latitude + distanceKm * Math.cos(bearing) / 111.32;
+            double pointLon = longitude
+                    + distanceKm * Math.sin(bearing) / (111.32 * Math.cos(Math.toRadians(latitude)));
+            String pointHash = GeoHash.encode(pointLat, pointLon, GeoHash.MAX_PRECISION);
+
+            assertTrue(cells.stream().anyMatch(pointHash::startsWith),
+                    "Point " + pointHash + " not covered by " + cells);
+        }
+    }
+
+    @Test
+    void upperBoundSortsAfterEveryHashWithPrefix() {
+        String prefix = GeoHash.encode(10.77, 106.70, 5);
+        String hash = GeoHash.encode(10.77, 106.70, GeoHash.MAX_PRECISION);
+
+        assertTrue(hash.compareTo(prefix) >= 0);
+        assertTrue(hash.compareTo(GeoHash.upperBound(prefix)) < 0);
+    }
+
+    @Test
+    void neighboursCoverPointsJustAcrossEveryEdge() {
+        String cell = GeoHash.encode(10.77, 106.70, 4);
+        List<String> cells = GeoHash.withNeighbours(cell);
+
+        assertEquals(9, cells.size());
+        assertEquals(cell, cells.get(0));
+        // A precision-4 cell is about 0.18 degrees high and 0.35 degrees wide
+        for (double dLat = -0.2; dLat <= 0.2; dLat += 0.1) {
+            for (double dLon = -0.4; dLon <= 0.4; dLon += 0.2) {
+                String point = GeoHash.encode(10.77 + dLat, 106.70 + dLon, 4);
+                assertTrue(cells.contains(point), point + " not in " + cells);
+            }
+        }
+    }
+
+    @Test
+    void neighboursStopAtThePole() {
+        assertEquals(6, GeoHash.withNeighbours(GeoHash.encode(89.99, 0, 4)).size());
+    }
+
+    @Test
+    void rejectsInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(0, 0, 13));
+    }
+}
@@ -0,0 +1,30 @@
+package petitus.petcareplus.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTests {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123_000), UUID.randomUUID());
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void missingCursorStartsAtTheFirstPage() {
+        assertEquals(KeysetCursor.FIRST_PAGE, KeysetCursor.decode(null));
+        assertEquals(KeysetCursor.FIRST_PAGE, KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,97 @@
+package petitus.petcareplus.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderCodeGeneratorTests {
+
+    private static final long PAYOS_MAX_ORDER_CODE = 9007199254740991L;
+
+    @Test
+    void concurrentCallersNeverCollide() throws InterruptedException {
+        OrderCodeGenerator generator = new OrderCodeGenerator(3);
+        int threads = 16;
+        int perThread = 50_000;
+        Set<Long> codes = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < perThread; j++) {
+                    codes.add(generator.nextOrderCode());
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(threads * perThread, codes.size());
+        assertTrue(codes.stream().allMatch(code -> code > 0 && code <= PAYOS_MAX_ORDER_CODE));
+    }
+
+    @Test
+    void staysMonotonicWhenClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(OrderCodeGenerator.EPOCH + 1_000);
+        OrderCodeGenerator generator = new OrderCodeGenerator(0, clock::get);
+
+        long previous = generator.nextOrderCode();
+        clock.addAndGet(-500);
+        for (int i = 0; i < 1_000; i++) {
+            long next = generator.nextOrderCode();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nodesProduceDistinctCodes() {
+        AtomicLong clock = new AtomicLong(OrderCodeGenerator.EPOCH + 42);
+        OrderCodeGenerator first = new OrderCodeGenerator(1, clock::get);
+        OrderCodeGenerator second = new OrderCodeGenerator(2, clock::get);
+
+        assertNotEquals(first.nextOrderCode(), second.nextOrderCode());
+    }
+
+    @Test
+    void consecutiveCodesAreNotEnumerable() {
+        AtomicLong clock = new AtomicLong(OrderCodeGenerator.EPOCH + 42);
+        OrderCodeGenerator generator = new OrderCodeGenerator(0, clock::get);
+
+        Set<Long> gaps = new HashSet<>();
+        long previous = generator.nextOrderCode();
+        for (int i = 0; i < 100; i++) {
+            long next = generator.nextOrderCode();
+            gaps.add(next - previous);
+            previous = next;
+        }
+
+        assertTrue(gaps.size() > 1);
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderCodeGenerator(OrderCodeGenerator.MAX_NODE_ID + 1));
+    }
+}